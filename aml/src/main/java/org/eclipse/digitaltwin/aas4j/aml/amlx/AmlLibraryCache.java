@@ -0,0 +1,148 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.aml.amlx;
+
+import java.io.ByteArrayInputStream;
+import java.lang.invoke.MethodHandles;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import org.dom4j.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.digitaltwin.aas4j.aml.transform.AmlTransformer;
+import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
+import org.eclipse.digitaltwin.aas4j.exceptions.UnableToReadXmlException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.MapMaker;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+/**
+ * Cache of parsed AML library documents, e.g. role class or system unit class libraries, which are
+ * shipped unchanged in many amlx packages. Libraries are identified by the SHA-256 hash of their
+ * content, so an identical library is parsed only once regardless of its name or the package it is
+ * contained in. The cache is bounded by the summed size of the cached library files, the least
+ * recently used libraries are evicted first.
+ * <p>
+ * Cached documents are shared between all packages and threads and must not be modified.
+ * <p>
+ * The libraries of a package are registered for its root AML document, so they can be resolved by
+ * the <code>@amlLibrary</code> expression during the transformation of that document.
+ */
+public class AmlLibraryCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    /**
+     * Default bound of the summed size of all cached library files in bytes
+     */
+    public static final long DEFAULT_MAXIMUM_BYTES = 256L * 1024 * 1024;
+
+    private static final AmlLibraryCache INSTANCE = new AmlLibraryCache(DEFAULT_MAXIMUM_BYTES);
+
+    private static final ConcurrentMap<Document, Map<String, Document>> LIBRARIES_BY_ROOT_DOCUMENT = new MapMaker()
+        .weakKeys().makeMap();
+
+    private final Cache<HashCode, Library> libraries;
+    private final AmlTransformer amlTransformer = new AmlTransformer();
+
+    /**
+     * @param maximumBytes maximum summed size of the cached library files in bytes
+     */
+    public AmlLibraryCache(long maximumBytes) {
+        this.libraries = CacheBuilder.newBuilder()
+            .maximumWeight(maximumBytes)
+            .<HashCode, Library>weigher((hash, library) -> library.size)
+            .recordStats()
+            .build();
+    }
+
+    public static AmlLibraryCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the parsed library, it is parsed only if no library with the same content is cached.
+     *
+     * @param content The content of the library file
+     * @return The shared parsed library document
+     * @throws TransformationException If the library can not be parsed
+     */
+    public Document getLibrary(byte[] content) throws TransformationException {
+        HashCode hash = Hashing.sha256().hashBytes(content);
+        try {
+            return libraries.get(hash, () -> {
+                LOGGER.debug("Parsing AML library {}", hash);
+                return new Library(amlTransformer.readXmlDocument(new ByteArrayInputStream(content)), content.length);
+            }).document;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TransformationException) {
+                throw (TransformationException) e.getCause();
+            }
+            throw new UnableToReadXmlException("Unable to load AML library " + hash, e.getCause());
+        }
+    }
+
+    /**
+     * @return number of cached libraries
+     */
+    public long size() {
+        return libraries.size();
+    }
+
+    /**
+     * @return hit, miss and eviction statistics of this cache
+     */
+    public CacheStats getStats() {
+        return libraries.stats();
+    }
+
+    /**
+     * Removes all cached libraries.
+     */
+    public void invalidateAll() {
+        libraries.invalidateAll();
+    }
+
+    /**
+     * Makes libraries resolvable for the transformation of a root AML document. The registration is
+     * released as soon as the root document is no longer referenced.
+     *
+     * @param rootDocument The root AML document of an amlx package
+     * @param librariesByPath The libraries of the package by their path within the AMLX, for example
+     *        "/lib/RoleClassLib.aml"
+     */
+    public static void register(Document rootDocument, Map<String, Document> librariesByPath) {
+        LIBRARIES_BY_ROOT_DOCUMENT.put(rootDocument, Collections.unmodifiableMap(librariesByPath));
+        LOGGER.debug("Registered {} AML libraries", librariesByPath.size());
+    }
+
+    /**
+     * @param rootDocument The root AML document of an amlx package
+     * @return The registered libraries by their path within the AMLX, empty if there are none
+     */
+    public static Map<String, Document> getLibraries(Document rootDocument) {
+        return LIBRARIES_BY_ROOT_DOCUMENT.getOrDefault(rootDocument, Collections.emptyMap());
+    }
+
+    private static final class Library {
+
+        private final Document document;
+        private final int size;
+
+        private Library(Document document, int size) {
+            this.document = document;
+            this.size = size;
+        }
+    }
+}
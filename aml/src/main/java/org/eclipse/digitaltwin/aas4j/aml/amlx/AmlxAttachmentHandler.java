@@ -0,0 +1,32 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.aml.amlx;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Receives the files of an amlx stream which are not the root AML document, see
+ * {@link AmlxStreamReader}.
+ */
+@FunctionalInterface
+public interface AmlxAttachmentHandler {
+
+    /**
+     * Handler which skips all attachments without reading them into memory.
+     */
+    AmlxAttachmentHandler SKIP = (pathInAmlx, content) -> {};
+
+    /**
+     * Called once per file in the order of the zip entries. The content is only readable during the
+     * call, it must neither be kept nor closed.
+     *
+     * @param pathInAmlx The path within the AMLX, for example "/files/document.pdf"
+     * @param content The content of the file
+     * @throws IOException If the content can not be read or stored
+     */
+    void handle(String pathInAmlx, InputStream content) throws IOException;
+}
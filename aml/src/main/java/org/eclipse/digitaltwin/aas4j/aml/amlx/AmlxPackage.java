@@ -0,0 +1,220 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.aml.amlx;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageRelationship;
+import org.dom4j.Document;
+
+import org.eclipse.digitaltwin.aas4j.aml.transform.AmlTransformer;
+import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
+import org.eclipse.digitaltwin.aas4j.exceptions.UnableToReadXmlException;
+
+public class AmlxPackage implements Closeable {
+
+    /**
+     * The amlx file is an OPC (open packaging conventions) file
+     */
+    private final OPCPackage opcPackage;
+    /**
+     * Index of the parts and relationships, built once as the package is not modified
+     */
+    private final AmlxPackageIndex index;
+    private final List<AmlxPackagePart> listOfNonAmlFiles;
+    private Document rootAmlDocument;
+    private final File sourceFile;
+
+    public AmlxPackage(OPCPackage opcPackage) throws InvalidFormatException {
+        this(opcPackage, null);
+    }
+
+    /**
+     * @param opcPackage The opened amlx file
+     * @param rootAmlDocument The already parsed root .aml file, might be null if it has not been parsed
+     *        yet
+     */
+    public AmlxPackage(OPCPackage opcPackage, Document rootAmlDocument) throws InvalidFormatException {
+        this(opcPackage, rootAmlDocument, null);
+    }
+
+    /**
+     * @param opcPackage The opened amlx file
+     * @param rootAmlDocument The already parsed root .aml file, might be null if it has not been parsed
+     *        yet
+     * @param sourceFile The amlx file the package has been opened from, might be null if the package
+     *        has not been opened from a file
+     * @throws InvalidFormatException If the parts of the package can not be read
+     */
+    public AmlxPackage(OPCPackage opcPackage, Document rootAmlDocument, File sourceFile)
+        throws InvalidFormatException {
+        this(opcPackage, rootAmlDocument, sourceFile, AmlxPackageIndex.of(opcPackage));
+    }
+
+    /**
+     * @param index The index of the package, e.g. built for its validation
+     */
+    AmlxPackage(OPCPackage opcPackage, Document rootAmlDocument, File sourceFile, AmlxPackageIndex index) {
+        this.opcPackage = opcPackage;
+        this.rootAmlDocument = rootAmlDocument;
+        this.sourceFile = sourceFile;
+        this.index = index;
+        this.listOfNonAmlFiles = this.loadNonAmlFiles();
+    }
+
+    // @formatter:off
+    /**
+     * Searches the /_rels/.rels file for a list of files that are not any of the following types: .aml .xsd.
+     *
+     * For filtering, the relationship type URI in the .rels file is used. For example, consider a .amlx package with the following structure:
+     *
+     * <pre>
+     * _rels/.rels                  --&gt; Not returned
+     * root.aml                     --&gt; Not returned (this file can be retrieved by {@link #getRootAmlFile() getRootAmlFile}).
+     * CAEX_ClassModel_V.3.0.xsd    --&gt; Not returned
+     * files/document.pdf           --&gt; Returned
+     * files/textFile.txt           --&gt; Returned
+     * lib/amlLibrary.aml           --&gt; Not returned
+     * </pre>
+     *
+     * @return List of content files, e.g. PDF, CAD, Step5
+     */
+    // @formatter:off
+    public List<AmlxPackagePart> getNonAmlFiles() {
+        return this.listOfNonAmlFiles;
+    }
+
+    /**
+     * Gets the root .aml file as defined by the /_rels/.rels file
+     *
+     * @return The root element of the AMLX package
+     */
+    public AmlxPackagePart getRootAmlFile() {
+        PackagePart rootPart = opcPackage.getPartsByRelationshipType(AmlxRelationshipType.ROOT.getURI()).get(0);
+        return AmlxPackagePart.fromPackagePart(rootPart);
+    }
+
+    /**
+     * Gets the parsed root .aml file as defined by the /_rels/.rels file. The document is parsed only
+     * once, if the package has been read by {@link AmlxPackageReader} it is the document which has been
+     * validated.
+     *
+     * @return The parsed root element of the AMLX package
+     * @throws TransformationException If the root .aml file can not be read
+     */
+    public synchronized Document getRootAmlDocument() throws TransformationException {
+        if (rootAmlDocument == null) {
+            try (InputStream rootAmlStream = getRootAmlFile().getInputStream()) {
+                rootAmlDocument = new AmlTransformer().readXmlDocument(rootAmlStream);
+            } catch (IOException e) {
+                throw new UnableToReadXmlException("Unable to read the root AML document", e);
+            }
+        }
+        return rootAmlDocument;
+    }
+
+    /**
+     * Loads the AML libraries of this package, i.e. all .aml files except the root document, using the
+     * shared {@link AmlLibraryCache}, and registers them for the root AML document. During the
+     * transformation of the root document they can be resolved by the <code>@amlLibrary</code>
+     * expression.
+     *
+     * @return The parsed libraries by their path within the AMLX, for example "/lib/RoleClassLib.aml"
+     * @throws TransformationException If a library can not be read
+     */
+    public Map<String, Document> loadAmlLibraries() throws TransformationException {
+        return loadAmlLibraries(AmlLibraryCache.getInstance());
+    }
+
+    /**
+     * See {@link #loadAmlLibraries()}
+     *
+     * @param libraryCache The cache the libraries are loaded from
+     * @return The parsed libraries by their path within the AMLX
+     * @throws TransformationException If a library can not be read
+     */
+    public Map<String, Document> loadAmlLibraries(AmlLibraryCache libraryCache) throws TransformationException {
+        Map<String, Document> libraries = new LinkedHashMap<>();
+        try {
+            for (PackageRelationship relationship : index.getRelationships()) {
+                if (!isAmlLibrary(relationship)) {
+                    continue;
+                }
+                PackagePart libraryPart = index.getTargetPart(relationship);
+                if (libraryPart == null) {
+                    continue;
+                }
+                try (InputStream libraryStream = libraryPart.getInputStream()) {
+                    libraries.put(libraryPart.getPartName().getName(),
+                        libraryCache.getLibrary(libraryStream.readAllBytes()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UnableToReadXmlException("Unable to read the AML libraries", e);
+        }
+        AmlLibraryCache.register(getRootAmlDocument(), libraries);
+        return libraries;
+    }
+
+    private static boolean isAmlLibrary(PackageRelationship relationship) {
+        if (AmlxRelationshipType.LIBRARY.getURI().equals(relationship.getRelationshipType())) {
+            return true;
+        }
+        return !AmlxRelationshipType.ROOT.getURI().equals(relationship.getRelationshipType())
+            && relationship.getTargetURI().toString().toLowerCase(Locale.ROOT).endsWith(".aml");
+    }
+
+    /**
+     * @return The amlx file the package has been opened from, null if it has not been opened from a
+     *         file
+     */
+    public File getSourceFile() {
+        return sourceFile;
+    }
+
+    /**
+     * Closes the underlying amlx file without writing any changes back to it.
+     */
+    @Override
+    public void close() {
+        opcPackage.revert();
+    }
+
+    protected OPCPackage getOpcPackage() {
+        return opcPackage;
+    }
+
+    protected final List<AmlxPackagePart> loadNonAmlFiles() {
+        return index.getRelationships().stream()
+                .filter(relationship -> !AmlxRelationshipType.isAmlType(relationship.getRelationshipType()))
+                .map(this::getAmlxPackagePartByRelationship)
+                // relationships to missing parts are skipped
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    protected AmlxPackagePart getAmlxPackagePartByRelationship(PackageRelationship relationship) {
+        // We can't use opcPackage.getPart(relationship):
+        // That function only checks the relationship type and returns the first match
+        // Instead, check the complete URI
+        // Target URI example: "/files/document.pdf"
+        PackagePart part = index.getPart(relationship.getTargetURI().toString());
+        return part == null ? null : AmlxPackagePart.fromPackagePart(part);
+    }
+
+}
@@ -0,0 +1,101 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.aml.amlx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackageRelationship;
+import org.apache.poi.openxml4j.opc.PackagingURIHelper;
+
+/**
+ * Hash based index of the parts and package relationships of an AMLX package. Looking up the part
+ * of a relationship or the relationship of a part is done in constant time instead of scanning all
+ * parts or relationships of the package, which matters for packages with thousands of documents.
+ * <p>
+ * The index reflects the package at the time of its creation.
+ */
+class AmlxPackageIndex {
+
+    private final List<PackageRelationship> relationships;
+    private final Map<String, PackagePart> partsByName;
+    private final Set<String> relationshipTargets;
+
+    private AmlxPackageIndex(List<PackageRelationship> relationships, Map<String, PackagePart> partsByName,
+        Set<String> relationshipTargets) {
+        this.relationships = relationships;
+        this.partsByName = partsByName;
+        this.relationshipTargets = relationshipTargets;
+    }
+
+    /**
+     * Builds the index by reading all parts and package relationships once.
+     *
+     * @param opcPackage the opened AMLX package
+     * @return the index of the package
+     * @throws InvalidFormatException If the parts of the package can not be read
+     */
+    static AmlxPackageIndex of(OPCPackage opcPackage) throws InvalidFormatException {
+        List<PackagePart> parts = opcPackage.getParts();
+        Map<String, PackagePart> partsByName = new HashMap<>();
+        for (PackagePart part : parts) {
+            partsByName.putIfAbsent(part.getPartName().getName(), part);
+        }
+        List<PackageRelationship> relationships = new ArrayList<>();
+        Set<String> relationshipTargets = new HashSet<>();
+        for (PackageRelationship relationship : opcPackage.getRelationships()) {
+            relationships.add(relationship);
+            relationshipTargets.add(relationship.getTargetURI().toString());
+        }
+        return new AmlxPackageIndex(Collections.unmodifiableList(relationships), partsByName, relationshipTargets);
+    }
+
+    /**
+     * @return the package relationships as defined in /_rels/.rels in document order
+     */
+    List<PackageRelationship> getRelationships() {
+        return relationships;
+    }
+
+    /**
+     * @param partName name of the part, e.g. "/files/document.pdf"
+     * @return the part with the given name or null if there is none
+     */
+    PackagePart getPart(String partName) {
+        return partsByName.get(partName);
+    }
+
+    /**
+     * Resolves the target of a relationship to a part. The target URI is normalized to a part name the
+     * same way as done by {@link OPCPackage#getPart(PackageRelationship)}.
+     *
+     * @param relationship a package relationship
+     * @return the target part of the relationship or null if the part does not exist
+     */
+    PackagePart getTargetPart(PackageRelationship relationship) {
+        try {
+            return getPart(PackagingURIHelper.createPartName(relationship.getTargetURI()).getName());
+        } catch (InvalidFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param target target URI, e.g. "/files/document.pdf"
+     * @return true if at least one package relationship targets the given URI
+     */
+    boolean hasRelationshipTo(String target) {
+        return relationshipTargets.contains(target);
+    }
+}
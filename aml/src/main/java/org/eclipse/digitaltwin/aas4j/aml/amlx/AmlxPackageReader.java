@@ -40,18 +40,16 @@ public class AmlxPackageReader {
      * InputStream must be held in memory. For more information see OPCPackage.open(File) vs
      * OPCPackage.open(InputStream)
      *
+     * The root AML document is parsed only once during validation and is available by
+     * {@link AmlxPackage#getRootAmlDocument()}. The returned package has to be closed by the caller.
+     *
      * @param amlxFile
      * @return
      * @throws TransformationException If the AMLX file is invalid or something goes wrong while reading
      *         the file. Use .getCause() to get the root cause.
      */
     public AmlxPackage readAmlxPackage(File amlxFile) throws TransformationException {
-        OPCPackage opcPackage = amlxValidator.validateAmlx(amlxFile);
-        try {
-            return new AmlxPackage(opcPackage);
-        } catch (InvalidFormatException e) {
-            throw new ValidationException("There was a format error while reading the parts of the AMLX package", e);
-        }
+        return amlxValidator.validateAndReadAmlx(amlxFile);
     }
 
     public List<AmlxPackagePart> analyzeAmlx(File amlxFile) throws ValidationException {
@@ -0,0 +1,173 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.aml.amlx;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+
+import org.apache.commons.compress.archivers.EntryStreamOffsets;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.poi.openxml4j.opc.ZipPackagePart;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Writes the non-AML files of an {@link AmlxPackage} to a directory. Files are written
+ * concurrently, stored (uncompressed) zip entries are transferred directly from the amlx file to the
+ * target file using {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}
+ * without passing through the heap.
+ */
+public class AmlxPartExtractor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    /**
+     * Default number of files written at the same time. Writing is bound by I/O rather than CPU, so it
+     * is independent of the number of threads used for the transformation.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private final int parallelism;
+
+    public AmlxPartExtractor() {
+        this(DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * @param parallelism maximum number of files written at the same time
+     */
+    public AmlxPartExtractor(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Writes all non-AML files of the package to the target directory, keeping their path within the
+     * amlx file. Existing files are replaced.
+     *
+     * @param amlxPackage The package to extract
+     * @param targetDirectory The directory the files are written to
+     * @return The paths of the written files in the order of {@link AmlxPackage#getNonAmlFiles()},
+     *         null parts are skipped
+     * @throws IOException If a file can not be written or its path would be outside of the target
+     *         directory
+     */
+    public List<Path> extract(AmlxPackage amlxPackage, Path targetDirectory) throws IOException {
+        List<AmlxPackagePart> parts = amlxPackage.getNonAmlFiles().stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        List<Path> targets = new ArrayList<>(parts.size());
+        for (AmlxPackagePart part : parts) {
+            targets.add(resolveTarget(targetDirectory, part.getPathInAmlx()));
+        }
+        if (parts.isEmpty()) {
+            return targets;
+        }
+
+        FileChannel sourceChannel = amlxPackage.getSourceFile() == null ? null
+            : FileChannel.open(amlxPackage.getSourceFile().toPath(), StandardOpenOption.READ);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, parts.size()),
+            new ThreadFactoryBuilder().setNameFormat("amlx-extraction-%d").setDaemon(true).build());
+        try {
+            List<CompletableFuture<Void>> writes = new ArrayList<>(parts.size());
+            for (int i = 0; i < parts.size(); i++) {
+                AmlxPackagePart part = parts.get(i);
+                Path target = targets.get(i);
+                writes.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        write(part, target, sourceChannel);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        } finally {
+            executor.shutdownNow();
+            if (sourceChannel != null) {
+                sourceChannel.close();
+            }
+        }
+        return targets;
+    }
+
+    /**
+     * @param targetDirectory The directory the files are written to
+     * @param pathInAmlx The path within the AMLX, for example "/files/document.pdf"
+     * @return The path of the file within the target directory
+     * @throws IOException If the path would be outside of the target directory
+     */
+    static Path resolveTarget(Path targetDirectory, String pathInAmlx) throws IOException {
+        Path normalizedDirectory = targetDirectory.toAbsolutePath().normalize();
+        String relativePath = pathInAmlx.replaceFirst("^/+", "");
+        Path target = normalizedDirectory.resolve(relativePath).normalize();
+        if (relativePath.isEmpty() || !target.startsWith(normalizedDirectory)) {
+            throw new IOException("Path " + pathInAmlx + " is outside of " + targetDirectory);
+        }
+        return target;
+    }
+
+    private void write(AmlxPackagePart part, Path target, FileChannel sourceChannel) throws IOException {
+        LOGGER.info("Writing to: {}", target);
+        Files.createDirectories(target.getParent());
+        ZipArchiveEntry storedEntry = getStoredEntry(part);
+        if (sourceChannel != null && storedEntry != null) {
+            try (FileChannel targetChannel = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                long position = storedEntry.getDataOffset();
+                long remaining = storedEntry.getSize();
+                while (remaining > 0) {
+                    long transferred = sourceChannel.transferTo(position, remaining, targetChannel);
+                    if (transferred <= 0) {
+                        throw new IOException("Unexpected end of " + part.getPathInAmlx());
+                    }
+                    position += transferred;
+                    remaining -= transferred;
+                }
+            }
+        } else {
+            try (InputStream partStream = part.getInputStream()) {
+                Files.copy(partStream, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private static ZipArchiveEntry getStoredEntry(AmlxPackagePart part) {
+        if (!(part.getPackagePart() instanceof ZipPackagePart)) {
+            return null;
+        }
+        ZipArchiveEntry entry = ((ZipPackagePart) part.getPackagePart()).getZipArchive();
+        if (entry == null || entry.getMethod() != ZipEntry.STORED || entry.getSize() < 0
+            || entry.getDataOffset() == EntryStreamOffsets.OFFSET_UNKNOWN || !entry.isStreamContiguous()) {
+            return null;
+        }
+        return entry;
+    }
+}
@@ -0,0 +1,280 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.aml.amlx;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.xml.XMLConstants;
+
+import org.dom4j.Document;
+import org.dom4j.DocumentException;
+import org.dom4j.Element;
+import org.dom4j.io.SAXReader;
+import org.xml.sax.SAXException;
+
+import org.eclipse.digitaltwin.aas4j.aml.exceptions.amlx.AmlxInvalidRootAmlDocumentException;
+import org.eclipse.digitaltwin.aas4j.aml.exceptions.amlx.AmlxMultipleRootDocumentsDefinedException;
+import org.eclipse.digitaltwin.aas4j.aml.exceptions.amlx.AmlxNoRootDocumentDefinedException;
+import org.eclipse.digitaltwin.aas4j.aml.exceptions.amlx.AmlxPartNotFoundException;
+import org.eclipse.digitaltwin.aas4j.aml.exceptions.amlx.AmlxRelationshipNotFoundException;
+import org.eclipse.digitaltwin.aas4j.aml.exceptions.amlx.AmlxValidationException;
+import org.eclipse.digitaltwin.aas4j.aml.transform.AmlTransformer;
+import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
+import org.eclipse.digitaltwin.aas4j.exceptions.ValidationException;
+
+/**
+ * Reads an amlx package from a stream in a single pass over its zip entries, without opening it as
+ * {@link org.apache.poi.openxml4j.opc.OPCPackage}. Only the root AML document and the AML libraries
+ * are kept in memory, all other files are passed to an {@link AmlxAttachmentHandler} while the stream
+ * is read, which may skip or store them.
+ * <p>
+ * AML libraries, i.e. all .aml files except the root document and the targets of library
+ * relationships read after /_rels/.rels, are loaded through an {@link AmlLibraryCache} and registered
+ * for the root document like {@link AmlxPackage#loadAmlLibraries()} does. They are passed to the
+ * attachment handler as well.
+ * <p>
+ * The package is validated with the same rules as {@link AmlxValidator#validateAmlx(java.io.File)}
+ * once the end of the stream has been reached. AML files which appear before /_rels/.rels can not
+ * be identified as root document yet, so their content is buffered until the relationships are
+ * known.
+ */
+public class AmlxStreamReader {
+
+    private static final String PATH_TO_RELS = "/_rels/.rels";
+    private static final String PATH_TO_CONTENT_TYPES = "/[Content_Types].xml";
+    private static final String AML_EXTENSION = ".aml";
+    private static final String RELS_EXTENSION = ".rels";
+    private static final String RELS_DIRECTORY = "/_rels/";
+
+    private final AmlTransformer amlTransformer;
+    private final AmlLibraryCache libraryCache;
+
+    public AmlxStreamReader() {
+        this(new AmlTransformer());
+    }
+
+    public AmlxStreamReader(AmlTransformer amlTransformer) {
+        this(amlTransformer, AmlLibraryCache.getInstance());
+    }
+
+    public AmlxStreamReader(AmlTransformer amlTransformer, AmlLibraryCache libraryCache) {
+        this.amlTransformer = amlTransformer;
+        this.libraryCache = libraryCache;
+    }
+
+    /**
+     * Reads and validates an amlx package, the stream is read completely but not closed.
+     *
+     * @param amlxStream The amlx package
+     * @param attachmentHandler Receives all files except the root AML document, /_rels/.rels and
+     *        /[Content_Types].xml
+     * @return The validated root AML document with its AML libraries registered, which can be
+     *         transformed by
+     *         {@link AmlTransformer#transform(Document, org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification, Map)}
+     * @throws TransformationException If the package is invalid or can not be read
+     */
+    public Document readRootAmlDocument(InputStream amlxStream, AmlxAttachmentHandler attachmentHandler)
+        throws TransformationException {
+        ZipInputStream zipStream = new ZipInputStream(amlxStream);
+        Set<String> parts = new LinkedHashSet<>();
+        Map<String, byte[]> pendingAmlFiles = new LinkedHashMap<>();
+        List<Element> relationships = null;
+        String rootTarget = null;
+        Document rootDocument = null;
+        Map<String, Document> libraries = new LinkedHashMap<>();
+        try {
+            for (ZipEntry entry = zipStream.getNextEntry(); entry != null; entry = zipStream.getNextEntry()) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                String pathInAmlx = "/" + entry.getName().replaceFirst("^/+", "");
+                InputStream content = new UnclosableInputStream(zipStream);
+                if (PATH_TO_CONTENT_TYPES.equals(pathInAmlx) || isPartRelationships(pathInAmlx)) {
+                    // relationships of single parts are not parts of the package and are not needed
+                    continue;
+                }
+                if (PATH_TO_RELS.equals(pathInAmlx)) {
+                    relationships = readRelationships(content);
+                    rootTarget = findRootTarget(relationships);
+                    for (Map.Entry<String, byte[]> pendingAmlFile : pendingAmlFiles.entrySet()) {
+                        InputStream pendingContent = new ByteArrayInputStream(pendingAmlFile.getValue());
+                        if (pendingAmlFile.getKey().equals(rootTarget)) {
+                            rootDocument = readRootAmlFile(pendingAmlFile.getKey(), pendingContent);
+                        } else {
+                            libraries.put(pendingAmlFile.getKey(), libraryCache.getLibrary(pendingAmlFile.getValue()));
+                            attachmentHandler.handle(pendingAmlFile.getKey(), pendingContent);
+                        }
+                    }
+                    pendingAmlFiles.clear();
+                    continue;
+                }
+                parts.add(pathInAmlx);
+                if (relationships == null && pathInAmlx.toLowerCase(Locale.ROOT).endsWith(AML_EXTENSION)) {
+                    pendingAmlFiles.put(pathInAmlx, content.readAllBytes());
+                } else if (pathInAmlx.equals(rootTarget)) {
+                    rootDocument = readRootAmlFile(pathInAmlx, content);
+                } else if (isAmlLibrary(pathInAmlx, relationships)) {
+                    byte[] library = content.readAllBytes();
+                    libraries.put(pathInAmlx, libraryCache.getLibrary(library));
+                    attachmentHandler.handle(pathInAmlx, new ByteArrayInputStream(library));
+                } else {
+                    attachmentHandler.handle(pathInAmlx, content);
+                }
+            }
+        } catch (IOException e) {
+            throw new ValidationException("Unexpected issue occured while reading the AMLX stream.", e);
+        }
+        if (relationships == null) {
+            throw new AmlxNoRootDocumentDefinedException();
+        }
+        validate(parts, relationships, rootDocument);
+        AmlLibraryCache.register(rootDocument, libraries);
+        return rootDocument;
+    }
+
+    /**
+     * @return true for the relationships of a single part, e.g. "/files/_rels/document.pdf.rels"
+     */
+    private static boolean isPartRelationships(String pathInAmlx) {
+        return !PATH_TO_RELS.equals(pathInAmlx) && pathInAmlx.toLowerCase(Locale.ROOT).endsWith(RELS_EXTENSION)
+            && pathInAmlx.contains(RELS_DIRECTORY);
+    }
+
+    private static boolean isAmlLibrary(String pathInAmlx, List<Element> relationships) {
+        if (pathInAmlx.toLowerCase(Locale.ROOT).endsWith(AML_EXTENSION)) {
+            return true;
+        }
+        return relationships != null && relationships.stream()
+            .anyMatch(relationship -> AmlxRelationshipType.LIBRARY.getURI().equals(relationship.attributeValue("Type"))
+                && !isExternal(relationship) && pathInAmlx.equals(getTarget(relationship)));
+    }
+
+    private void validate(Set<String> parts, List<Element> relationships, Document rootDocument)
+        throws TransformationException {
+        Set<String> targets = new LinkedHashSet<>();
+        for (Element relationship : relationships) {
+            if (isExternal(relationship)) {
+                continue;
+            }
+            String target = getTarget(relationship);
+            // Check whether each document defined in /_rels/.rels exists
+            if (!parts.contains(target)) {
+                throw new AmlxPartNotFoundException(target);
+            }
+            targets.add(target);
+        }
+        // Check whether each file in the AMLX file is defined in /_rels/.rels
+        for (String part : parts) {
+            if (!targets.contains(part)) {
+                throw new AmlxRelationshipNotFoundException(part);
+            }
+        }
+        // Check that there is exactly one root document, which is valid AML
+        getRootTarget(relationships);
+        // Check that all external references in the root AML exist
+        for (String externalReference : AmlxValidator.getExternalReferences(rootDocument)) {
+            if (!targets.contains(normalizeTarget(externalReference))) {
+                throw new ValidationException(
+                    "Root AML contains an ExternalInterface with missing matching document: " + externalReference);
+            }
+        }
+    }
+
+    private String getRootTarget(List<Element> relationships) throws AmlxValidationException {
+        String rootTarget = null;
+        for (Element relationship : relationships) {
+            if (AmlxRelationshipType.ROOT.getURI().equals(relationship.attributeValue("Type"))) {
+                if (rootTarget != null) {
+                    throw new AmlxMultipleRootDocumentsDefinedException();
+                }
+                rootTarget = getTarget(relationship);
+            }
+        }
+        if (rootTarget == null) {
+            throw new AmlxNoRootDocumentDefinedException();
+        }
+        return rootTarget;
+    }
+
+    private String findRootTarget(List<Element> relationships) {
+        try {
+            return getRootTarget(relationships);
+        } catch (AmlxValidationException e) {
+            // reported by the validation at the end of the stream
+            return null;
+        }
+    }
+
+    private Document readRootAmlFile(String rootTarget, InputStream content) throws TransformationException {
+        try {
+            Document rootDocument = amlTransformer.readXmlDocument(content);
+            amlTransformer.validateDocument(rootDocument);
+            return rootDocument;
+        } catch (TransformationException exception) {
+            throw new AmlxInvalidRootAmlDocumentException(rootTarget, exception);
+        }
+    }
+
+    private List<Element> readRelationships(InputStream content) throws ValidationException {
+        try {
+            SAXReader reader = new SAXReader();
+            reader.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            reader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            return new ArrayList<>(reader.read(content).getRootElement().elements("Relationship"));
+        } catch (DocumentException | SAXException e) {
+            throw new ValidationException("Unable to read " + PATH_TO_RELS, e);
+        }
+    }
+
+    private static boolean isExternal(Element relationship) {
+        return "External".equals(relationship.attributeValue("TargetMode"));
+    }
+
+    private static String getTarget(Element relationship) {
+        return normalizeTarget(relationship.attributeValue("Target"));
+    }
+
+    /**
+     * Resolves a relationship target against the package root, e.g. "files/document.pdf" becomes
+     * "/files/document.pdf".
+     */
+    private static String normalizeTarget(String target) {
+        try {
+            return URI.create("/").resolve(target).normalize().getPath();
+        } catch (IllegalArgumentException e) {
+            // not a valid URI reference, e.g. unencoded spaces
+            return target.startsWith("/") ? target : "/" + target;
+        }
+    }
+
+    /**
+     * Protects the zip stream from being closed by the XML parser or an attachment handler.
+     */
+    private static class UnclosableInputStream extends FilterInputStream {
+
+        UnclosableInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+            // the entry is closed by ZipInputStream.getNextEntry
+        }
+    }
+}
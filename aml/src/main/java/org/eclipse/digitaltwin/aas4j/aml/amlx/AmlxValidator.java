@@ -14,7 +14,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
-import java.util.stream.StreamSupport;
 
 import org.apache.poi.openxml4j.exceptions.InvalidFormatException;
 import org.apache.poi.openxml4j.opc.OPCPackage;
@@ -36,7 +35,6 @@ import org.eclipse.digitaltwin.aas4j.exceptions.ValidationException;
 public class AmlxValidator {
 
     private final AmlTransformer amlTransformer;
-    private static final String PATH_TO_RELS = "/_rels/.rels";
 
     public AmlxValidator() {
         this(new AmlTransformer());
@@ -69,54 +67,70 @@ public class AmlxValidator {
      */
     // @formatter:on
     public OPCPackage validateAmlx(File amlxFile) throws TransformationException {
+        return validateAndReadAmlx(amlxFile).getOpcPackage();
+    }
+
+    /**
+     * Validates a .amlx file as described in {@link #validateAmlx(File)} and returns it as
+     * AmlxPackage. The package is opened only once and the root AML document is parsed only once, the
+     * parsed document is used for validation and is provided by {@link AmlxPackage#getRootAmlDocument()}
+     * for the transformation.
+     *
+     * @param amlxFile The AML input file to validate
+     * @throws TransformationException If the file is invalid or an IOException occurs
+     * @return The AmlxPackage if it is a valid AMLX file, it has to be closed by the caller
+     */
+    public AmlxPackage validateAndReadAmlx(File amlxFile) throws TransformationException {
+        OPCPackage opcPackage;
         try {
-            OPCPackage opcPackage = OPCPackage.open(amlxFile);
-            this.validateAmlx(opcPackage);
-            return opcPackage;
+            opcPackage = OPCPackage.open(amlxFile);
         } catch (InvalidFormatException e) {
             throw new AmlxValidationException(e.getMessage(), e);
         }
+        try {
+            // parts and relationships are indexed once, for the validation and the package
+            AmlxPackageIndex index = AmlxPackageIndex.of(opcPackage);
+            Document rootAmlDocument = this.validateAmlx(opcPackage, index);
+            return new AmlxPackage(opcPackage, rootAmlDocument, amlxFile, index);
+        } catch (InvalidFormatException e) {
+            opcPackage.revert();
+            throw new ValidationException("There was a format error while reading the parts of the AMLX package", e);
+        } catch (TransformationException | RuntimeException e) {
+            opcPackage.revert();
+            throw e;
+        }
     }
 
-    private void validateAmlx(OPCPackage opcPackage) throws TransformationException, InvalidFormatException {
+    private Document validateAmlx(OPCPackage opcPackage, AmlxPackageIndex index)
+        throws TransformationException, InvalidFormatException {
         try {
             // Check whether each document defined in /_rels/.rels exists
-            StreamSupport.stream(opcPackage.getRelationships().spliterator(), false)
-                .forEach(checkPackagePartExists(opcPackage));
+            index.getRelationships().forEach(checkPackagePartExists(index));
 
             // Check whether each file in the AMLX file (a .zip file) is defined in /_rels/.rels
             opcPackage.getParts().stream()
-                .forEach(checkRelationshipExists(opcPackage));
-
-            // Check that
-            // 1) The root document (and all other documents) exist
-            // 2) There is exactly one root document
-            PackageRelationship rootRelation = StreamSupport
-                .stream(opcPackage.getRelationships().spliterator(), false)
-                .peek(checkPackagePartExists(opcPackage))
+                .forEach(checkRelationshipExists(index));
+
+            // Check that there is exactly one root document
+            PackageRelationship rootRelation = index.getRelationships().stream()
                 .filter(relationship -> AmlxRelationshipType.ROOT.getURI().equals(relationship.getRelationshipType()))
                 .reduce(checkOnlyOneRootElementIsPresent())
                 .orElseThrow(AmlxNoRootDocumentDefinedException::new);
 
             String rootDocumentTarget = rootRelation.getTargetURI().toString();
-            PackagePart rootDocumentPart = opcPackage.getPart(rootRelation);
+            PackagePart rootDocumentPart = index.getTargetPart(rootRelation);
 
             // Check whether root document is valid AML
-            validateRootAmlFile(rootDocumentTarget, rootDocumentPart);
+            Document rootDocument = readRootAmlFile(rootDocumentTarget, rootDocumentPart);
 
             // Check that all external references in the root AML exist
-            for (String externalReference : getExternalReferences(rootDocumentTarget, rootDocumentPart)) {
-                boolean exists = false;
-                for (PackageRelationship rel : opcPackage.getRelationships()) {
-                    if (rel.getTargetURI().toString().equals(externalReference)) {
-                        exists = true;
-                    }
-                }
-                if (!exists) {
+            for (String externalReference : getExternalReferences(rootDocument)) {
+                if (!index.hasRelationshipTo(externalReference)) {
                     throw new ValidationException(
                         "Root AML contains an ExternalInterface with missing matching document: " + externalReference);
                 }
             }
+            return rootDocument;
         } catch (IOException ioException) {
             // May occur if amlx file is deleted during validation, for example
             throw new ValidationException("Unexpected issue occured during validation.", ioException);
@@ -128,29 +142,28 @@ public class AmlxValidator {
         }
     }
 
-    private void validateRootAmlFile(String rootDocumentTarget, PackagePart rootDocumentPart) throws TransformationException, IOException {
+    private Document readRootAmlFile(String rootDocumentTarget, PackagePart rootDocumentPart) throws TransformationException, IOException {
         try (InputStream rootDocument = rootDocumentPart.getInputStream()) {
             Document readXmlDocument = amlTransformer.readXmlDocument(rootDocument);
             amlTransformer.validateDocument(readXmlDocument);
+            return readXmlDocument;
         } catch (TransformationException exception) {
             throw new AmlxInvalidRootAmlDocumentException(rootDocumentTarget, exception);
         }
     }
 
-    private List<String> getExternalReferences(String rootDocumentTarget, PackagePart rootDocumentPart)
-        throws TransformationException, IOException {
-        try (InputStream rootDocument = rootDocumentPart.getInputStream()) {
-            Document document = this.amlTransformer.readXmlDocument(rootDocument);
-            Element root = document.getRootElement();
+    /**
+     * @param rootDocument The root AML document
+     * @return The local targets of all ExternalDataReference interfaces of the document
+     */
+    static List<String> getExternalReferences(Document rootDocument) {
+        Element root = rootDocument.getRootElement();
 
-            List<String> externalReferences = new ArrayList<>();
-            return getElementList(root, externalReferences);
-        } catch (TransformationException exception) {
-            throw new AmlxInvalidRootAmlDocumentException(rootDocumentTarget, exception);
-        }
+        List<String> externalReferences = new ArrayList<>();
+        return getElementList(root, externalReferences);
     }
 
-    private List<String> getElementList(Element element, List<String> elemList) {
+    private static List<String> getElementList(Element element, List<String> elemList) {
         List<Element> elements = element.elements();
         if (!elements.isEmpty()) {
             // Iterate over child elements
@@ -188,22 +201,22 @@ public class AmlxValidator {
         };
     }
 
-    private Consumer<PackageRelationship> checkPackagePartExists(OPCPackage opcPackage) {
+    private Consumer<PackageRelationship> checkPackagePartExists(AmlxPackageIndex index) {
         return relation -> {
-            if (opcPackage.getPart(relation) == null) {
+            if (index.getTargetPart(relation) == null) {
                 throw new IllegalStateException(new AmlxPartNotFoundException(relation.getTargetURI().getPath()));
             }
         };
     }
 
-    private Consumer<PackagePart> checkRelationshipExists(OPCPackage opcPackage) {
+    private Consumer<PackagePart> checkRelationshipExists(AmlxPackageIndex index) {
         return packagePart -> {
-            if (PATH_TO_RELS.equals(packagePart.getPartName().getName())) {
+            // the package relationships and the relationships of single parts are not referenced
+            if (packagePart.isRelationshipPart()) {
                 return;
             }
 
-            boolean exists = StreamSupport.stream(opcPackage.getRelationships().spliterator(), false)
-                .anyMatch(relationship -> relationship.getTargetURI().equals(packagePart.getPartName().getURI()));
+            boolean exists = index.hasRelationshipTo(packagePart.getPartName().getURI().toString());
             if (!exists) {
                 throw new IllegalStateException(new AmlxRelationshipNotFoundException(packagePart.getPartName().getURI().getPath()));
             }
@@ -29,16 +29,16 @@ public class AmlTransformer extends DocumentTransformer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-    private SchemaValidator amlValidator;
+    // created on first validation, transformations of already validated documents do not need it
+    private volatile SchemaValidator amlValidator;
 
     public AmlTransformer() {
         XPathHelper.getInstance().setNamespaceBinding("caex", "http://www.dke.de/CAEX");
-        this.amlValidator = new AmlSchemaValidator();
     }
 
     @Override
     public void validateDocument(Document document) throws TransformationException {
-        this.amlValidator.validate(document);
+        getSchemaValidator().validate(document);
     }
 
     @Override
@@ -56,7 +56,13 @@ public class AmlTransformer extends DocumentTransformer {
 
     @Override
     public SchemaValidator getSchemaValidator() {
-        return this.amlValidator;
+        SchemaValidator validator = this.amlValidator;
+        if (validator == null) {
+            // validators are stateless, so concurrent first calls may create one each
+            validator = new AmlSchemaValidator();
+            this.amlValidator = validator;
+        }
+        return validator;
     }
 
     @Override
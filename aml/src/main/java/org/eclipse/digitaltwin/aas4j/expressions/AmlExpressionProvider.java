@@ -0,0 +1,22 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.expressions;
+
+import java.util.List;
+
+/**
+ * Provides the AML specific expressions.
+ */
+public class AmlExpressionProvider implements ExpressionProvider {
+
+    @Override
+    public Expression createExpression(String symbol, List<Expression> args) {
+        if ("amlLibrary".equals(symbol)) {
+            return new AmlLibraryExpr(args);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,60 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.expressions;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.dom4j.Document;
+import org.dom4j.Node;
+
+import org.eclipse.digitaltwin.aas4j.aml.amlx.AmlLibraryCache;
+import org.eclipse.digitaltwin.aas4j.mapping.TransformationContext;
+import org.eclipse.digitaltwin.aas4j.transform.XPathHelper;
+
+/**
+ * Resolves an AML library of the amlx package which is transformed, see
+ * {@link org.eclipse.digitaltwin.aas4j.aml.amlx.AmlxPackage#loadAmlLibraries()}. The first argument
+ * is the path of the library within the AMLX, e.g. "/lib/RoleClassLib.aml". Without further
+ * arguments the library document is returned, otherwise the further arguments are evaluated as XPaths
+ * against the library document.
+ */
+public class AmlLibraryExpr implements Expression {
+
+    private final List<Expression> args;
+
+    public AmlLibraryExpr(List<Expression> args) {
+        this.args = args;
+    }
+
+    @Override
+    public List<Expression> getArguments() {
+        return args;
+    }
+
+    @Override
+    public List<Node> evaluate(TransformationContext ctx) {
+        if (!(ctx.getContextItem() instanceof Node) || args.isEmpty()) {
+            throw new IllegalArgumentException("Library path or no Node Context is given.");
+        }
+        String path = TransformationContext.evaluateNestedAsString(args.get(0), ctx);
+        Document rootDocument = ((Node) ctx.getContextItem()).getDocument();
+        Document library = AmlLibraryCache.getLibraries(rootDocument)
+            .get(path.startsWith("/") ? path : "/" + path);
+        if (library == null) {
+            throw new IllegalArgumentException("No AML library registered for path " + path);
+        }
+        if (args.size() == 1) {
+            return Collections.singletonList(library);
+        }
+        return args.subList(1, args.size()).stream()
+            .flatMap(arg -> XPathHelper.getInstance()
+                .getNodes(library, TransformationContext.evaluateNestedAsString(arg, ctx), ctx.getNamespaces())
+                .stream())
+            .collect(Collectors.toList());
+    }
+}
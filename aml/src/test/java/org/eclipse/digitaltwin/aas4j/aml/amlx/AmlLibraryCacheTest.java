@@ -0,0 +1,63 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.aml.amlx;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
+import org.junit.jupiter.api.Test;
+
+class AmlLibraryCacheTest {
+
+    private static final String LIBRARY = "<CAEXFile xmlns=\"http://www.dke.de/CAEX\" FileName=\"%s.aml\">"
+        + "<RoleClassLib Name=\"%s\"/></CAEXFile>";
+
+    @Test
+    void equalLibrariesAreParsedOnce() throws Exception {
+        AmlLibraryCache cache = new AmlLibraryCache(AmlLibraryCache.DEFAULT_MAXIMUM_BYTES);
+
+        Document first = cache.getLibrary(library("RoleLib"));
+        Document second = cache.getLibrary(library("RoleLib"));
+        Document other = cache.getLibrary(library("OtherRoleLib"));
+
+        assertThat(second).isSameInstanceAs(first);
+        assertThat(other).isNotSameInstanceAs(first);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getStats().hitCount()).isEqualTo(1);
+        assertThat(cache.getStats().missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void librariesAreEvictedBySize() throws Exception {
+        AmlLibraryCache cache = new AmlLibraryCache(10L * library("RoleLib00").length);
+
+        for (int i = 0; i < 50; i++) {
+            cache.getLibrary(library(String.format("RoleLib%02d", i)));
+        }
+
+        assertThat(cache.size()).isAtMost(10);
+        assertThat(cache.getStats().evictionCount()).isEqualTo(50 - cache.size());
+    }
+
+    @Test
+    void librariesAreRegisteredForRootDocument() throws Exception {
+        Document rootDocument = DocumentHelper.createDocument();
+        Document library = new AmlLibraryCache(AmlLibraryCache.DEFAULT_MAXIMUM_BYTES).getLibrary(library("RoleLib"));
+
+        AmlLibraryCache.register(rootDocument, Map.of("/lib/RoleLib.aml", library));
+
+        assertThat(AmlLibraryCache.getLibraries(rootDocument)).containsExactly("/lib/RoleLib.aml", library);
+        assertThat(AmlLibraryCache.getLibraries(DocumentHelper.createDocument())).isEmpty();
+    }
+
+    private static byte[] library(String name) {
+        return String.format(LIBRARY, name, name).getBytes(StandardCharsets.UTF_8);
+    }
+}
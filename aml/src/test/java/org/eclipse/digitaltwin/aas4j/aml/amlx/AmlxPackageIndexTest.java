@@ -0,0 +1,53 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.aml.amlx;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageRelationship;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.eclipse.digitaltwin.aas4j.aml.helper.AmlxPackageCreator;
+
+public class AmlxPackageIndexTest {
+
+    private File amlxFile;
+    private OPCPackage opcPackage;
+
+    @BeforeEach
+    void setup() throws Exception {
+        amlxFile = AmlxPackageCreator
+            .compressFolder("src/test/resources/amlx/minimal_AutomationMLComponent_WithDocuments");
+        opcPackage = OPCPackage.open(amlxFile);
+    }
+
+    @AfterEach
+    void teardown() throws Exception {
+        opcPackage.revert();
+        Files.deleteIfExists(amlxFile.toPath());
+    }
+
+    @Test
+    void lookupPartsAndRelationships() throws Exception {
+        AmlxPackageIndex index = AmlxPackageIndex.of(opcPackage);
+
+        assertThat(index.getRelationships()).hasSize(5);
+        assertThat(index.getPart("/files/TestPDFDeviceManual.pdf")).isNotNull();
+        assertThat(index.getPart("/files/missing.pdf")).isNull();
+        assertThat(index.hasRelationshipTo("/files/TestTXTWarranty.txt")).isTrue();
+        assertThat(index.hasRelationshipTo("/files/missing.pdf")).isFalse();
+        for (PackageRelationship relationship : index.getRelationships()) {
+            assertThat(index.getTargetPart(relationship).getPartName().getName())
+                .isEqualTo(relationship.getTargetURI().toString());
+        }
+    }
+}
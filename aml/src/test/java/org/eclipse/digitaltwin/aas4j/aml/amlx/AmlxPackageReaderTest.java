@@ -7,6 +7,7 @@ package org.eclipse.digitaltwin.aas4j.aml.amlx;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
@@ -16,6 +17,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.util.List;
 
+import org.dom4j.Document;
 import org.eclipse.digitaltwin.aas4j.TestUtils;
 import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
 import org.eclipse.digitaltwin.aas4j.exceptions.ValidationException;
@@ -45,7 +47,7 @@ public class AmlxPackageReaderTest {
     void readInvalidAmlxFile() throws Exception {
         AmlxValidator mockAmlxValidator = Mockito.mock(AmlxValidator.class);
         AmlxPackageReader classUnderTest = new AmlxPackageReader(mockAmlxValidator);
-        when(mockAmlxValidator.validateAmlx(any(File.class)))
+        when(mockAmlxValidator.validateAndReadAmlx(any(File.class)))
             .thenThrow(new ValidationException("Exception during unit test"));
 
         assertThrows(TransformationException.class, () -> classUnderTest.readAmlxPackage(amlxFile));
@@ -58,6 +60,16 @@ public class AmlxPackageReaderTest {
         assertNotNull(amlxPackage.getOpcPackage());
     }
 
+    @Test
+    void readValidAmlxFileParsesRootDocumentOnce() throws Exception {
+        AmlxPackageReader classUnderTest = new AmlxPackageReader();
+        try (AmlxPackage amlxPackage = classUnderTest.readAmlxPackage(amlxFile)) {
+            Document rootAmlDocument = amlxPackage.getRootAmlDocument();
+            assertThat(rootAmlDocument.getRootElement().getName()).isEqualTo("CAEXFile");
+            assertSame(rootAmlDocument, amlxPackage.getRootAmlDocument());
+        }
+    }
+
     @Test
     void analyzeValidAmlx() throws TransformationException {
         AmlxPackageReader classUnderTest = new AmlxPackageReader();
@@ -8,6 +8,8 @@ package org.eclipse.digitaltwin.aas4j.aml.amlx;
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.Assert.assertThrows;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
@@ -86,7 +88,7 @@ public class AmlxPackageTest {
         assertThat(nonAmlFilePaths).containsExactlyElementsIn(expectedDocumentPaths);
     }
 
-    private AmlxPackage getAmlxPackageWithMockedOpc() throws Exception {
+    private OPCPackage getMockedOpcPackage() throws Exception {
         OPCPackage mockOpcPackage = Mockito.mock(OPCPackage.class);
         PackageRelationship mockRelationship = Mockito.mock(PackageRelationship.class);
         when(mockRelationship.getId()).thenReturn("mockRelationshipId");
@@ -96,27 +98,28 @@ public class AmlxPackageTest {
         PackageRelationshipCollection collection = new PackageRelationshipCollection(mockOpcPackage);
         collection.addRelationship(mockRelationship);
         when(mockOpcPackage.getRelationships()).thenReturn(collection);
-
-        return new AmlxPackage(mockOpcPackage);
+        return mockOpcPackage;
     }
 
     @Test
-    void getPartByRelationshipWithException() throws Exception {
-        AmlxPackage amlxPackage = getAmlxPackageWithMockedOpc();
-        when(amlxPackage.getOpcPackage().getParts()).thenThrow(new InvalidFormatException("Thrown during unit test"));
+    void getPartByRelationshipReadsPartsOnce() throws Exception {
+        OPCPackage mockOpcPackage = getMockedOpcPackage();
+        AmlxPackage amlxPackage = new AmlxPackage(mockOpcPackage);
 
         PackageRelationship mockRelationship = Mockito.mock(PackageRelationship.class);
         when(mockRelationship.getTargetURI()).thenReturn(URI.create("http://sap.com"));
 
-        assertThrows(IllegalStateException.class, () -> amlxPackage.getAmlxPackagePartByRelationship(mockRelationship));
+        assertThat(amlxPackage.getAmlxPackagePartByRelationship(mockRelationship)).isNull();
+        assertThat(amlxPackage.loadNonAmlFiles()).isEmpty();
+        verify(mockOpcPackage, times(1)).getParts();
     }
 
     @Test
-    void loadNonAmlFilesWithException() throws Exception {
-        AmlxPackage amlxPackage = getAmlxPackageWithMockedOpc();
-        when(amlxPackage.getOpcPackage().getParts()).thenThrow(new InvalidFormatException("Thrown during unit test"));
+    void createWithException() throws Exception {
+        OPCPackage mockOpcPackage = getMockedOpcPackage();
+        when(mockOpcPackage.getParts()).thenThrow(new InvalidFormatException("Thrown during unit test"));
 
-        assertThrows(InvalidFormatException.class, () -> amlxPackage.loadNonAmlFiles());
+        assertThrows(InvalidFormatException.class, () -> new AmlxPackage(mockOpcPackage));
     }
 
 }
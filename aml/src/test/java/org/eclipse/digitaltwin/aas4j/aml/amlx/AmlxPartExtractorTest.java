@@ -0,0 +1,120 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.aml.amlx;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import org.eclipse.digitaltwin.aas4j.aml.helper.AmlxPackageCreator;
+
+public class AmlxPartExtractorTest {
+
+    private static final String DOCUMENTS_DIR = "src/test/resources/amlx/minimal_AutomationMLComponent_WithDocuments";
+
+    @TempDir
+    Path targetDirectory;
+
+    private File amlxFile;
+
+    @AfterEach
+    void teardown() throws Exception {
+        if (amlxFile != null) {
+            Files.deleteIfExists(amlxFile.toPath());
+        }
+    }
+
+    @Test
+    void extractCompressedParts() throws Exception {
+        amlxFile = AmlxPackageCreator.compressFolder(DOCUMENTS_DIR);
+
+        assertExtracted();
+    }
+
+    @Test
+    void extractStoredParts() throws Exception {
+        amlxFile = storeFolder(DOCUMENTS_DIR);
+
+        assertExtracted();
+    }
+
+    @Test
+    void skipNullParts() throws Exception {
+        AmlxPackage amlxPackage = Mockito.mock(AmlxPackage.class);
+        when(amlxPackage.getNonAmlFiles()).thenReturn(Collections.singletonList(null));
+
+        assertThat(new AmlxPartExtractor().extract(amlxPackage, targetDirectory)).isEmpty();
+    }
+
+    @Test
+    void rejectPathsOutsideOfTargetDirectory() throws Exception {
+        Path target = AmlxPartExtractor.resolveTarget(targetDirectory, "/files/document.pdf");
+        assertThat(target.toString())
+            .isEqualTo(targetDirectory.resolve("files/document.pdf").toAbsolutePath().normalize().toString());
+        assertThrows(IOException.class,
+            () -> AmlxPartExtractor.resolveTarget(targetDirectory, "/files/../../document.pdf"));
+        assertThrows(IOException.class, () -> AmlxPartExtractor.resolveTarget(targetDirectory, "/"));
+    }
+
+    private void assertExtracted() throws Exception {
+        try (AmlxPackage amlxPackage = new AmlxValidator().validateAndReadAmlx(amlxFile)) {
+            List<Path> extracted = new AmlxPartExtractor(4).extract(amlxPackage, targetDirectory);
+
+            assertThat(extracted).hasSize(amlxPackage.getNonAmlFiles().size());
+            assertThat(extracted).isNotEmpty();
+            for (int i = 0; i < extracted.size(); i++) {
+                String pathInAmlx = amlxPackage.getNonAmlFiles().get(i).getPathInAmlx();
+                assertThat(Files.readAllBytes(extracted.get(i)))
+                    .isEqualTo(Files.readAllBytes(Paths.get(DOCUMENTS_DIR, pathInAmlx)));
+            }
+        }
+    }
+
+    private static File storeFolder(String sourceDir) throws IOException {
+        Path source = Paths.get(sourceDir);
+        File outputFile = new File(sourceDir + ".amlx");
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(source)) {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        try (OutputStream fileOutputStream = Files.newOutputStream(outputFile.toPath());
+            ZipOutputStream zipOutputStream = new ZipOutputStream(fileOutputStream)) {
+            for (Path file : files) {
+                byte[] content = Files.readAllBytes(file);
+                CRC32 crc = new CRC32();
+                crc.update(content);
+                ZipEntry entry = new ZipEntry(source.relativize(file).toString().replace(File.separatorChar, '/'));
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(content.length);
+                entry.setCompressedSize(content.length);
+                entry.setCrc(crc.getValue());
+                zipOutputStream.putNextEntry(entry);
+                zipOutputStream.write(content);
+                zipOutputStream.closeEntry();
+            }
+        }
+        return outputFile;
+    }
+}
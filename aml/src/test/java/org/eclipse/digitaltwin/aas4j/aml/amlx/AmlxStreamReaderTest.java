@@ -0,0 +1,123 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.aml.amlx;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.dom4j.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import org.eclipse.digitaltwin.aas4j.TestUtils;
+import org.eclipse.digitaltwin.aas4j.aml.exceptions.amlx.AmlxInvalidRootAmlDocumentException;
+import org.eclipse.digitaltwin.aas4j.aml.exceptions.amlx.AmlxMultipleRootDocumentsDefinedException;
+import org.eclipse.digitaltwin.aas4j.aml.exceptions.amlx.AmlxNoRootDocumentDefinedException;
+import org.eclipse.digitaltwin.aas4j.aml.exceptions.amlx.AmlxPartNotFoundException;
+import org.eclipse.digitaltwin.aas4j.aml.exceptions.amlx.AmlxRelationshipNotFoundException;
+import org.eclipse.digitaltwin.aas4j.aml.helper.AmlxPackageCreator;
+import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
+import org.eclipse.digitaltwin.aas4j.exceptions.ValidationException;
+
+class AmlxStreamReaderTest {
+
+    private static final String DOCUMENTS_DIR = "src/test/resources/amlx/minimal_AutomationMLComponent_WithDocuments";
+
+    private AmlxStreamReader classUnderTest;
+
+    @BeforeEach
+    void setup() throws Exception {
+        TestUtils.resetBindings();
+        this.classUnderTest = new AmlxStreamReader();
+    }
+
+    @Test
+    void readRootDocumentAndAttachments() throws Exception {
+        File amlxFile = AmlxPackageCreator.compressFolder(DOCUMENTS_DIR);
+        Map<String, byte[]> attachments = new LinkedHashMap<>();
+        try (InputStream amlxStream = Files.newInputStream(amlxFile.toPath())) {
+            Document rootDocument = classUnderTest.readRootAmlDocument(amlxStream,
+                (pathInAmlx, content) -> attachments.put(pathInAmlx, content.readAllBytes()));
+
+            assertThat(rootDocument.getRootElement().getName()).isEqualTo("CAEXFile");
+        } finally {
+            Files.deleteIfExists(amlxFile.toPath());
+        }
+
+        assertThat(attachments.keySet()).containsExactly("/CAEX_ClassModel_V.3.0.xsd", "/files/TestPDFDeviceManual.pdf",
+            "/files/TestTXTDeviceManual.txt", "/files/TestTXTWarranty.txt");
+        assertThat(attachments.get("/files/TestPDFDeviceManual.pdf"))
+            .isEqualTo(Files.readAllBytes(Paths.get(DOCUMENTS_DIR, "files/TestPDFDeviceManual.pdf")));
+    }
+
+    @Test
+    void registerAmlLibraries(@TempDir Path directory) throws Exception {
+        File amlxFile = AmlxPackageCreator.createMinimalAmlxWithLibrary(directory, "lib/RoleLib.aml",
+            "<CAEXFile xmlns=\"http://www.dke.de/CAEX\" FileName=\"RoleLib.aml\"><RoleClassLib Name=\"RoleLib\"/></CAEXFile>");
+        Map<String, byte[]> attachments = new LinkedHashMap<>();
+        Document rootDocument;
+        try (InputStream amlxStream = Files.newInputStream(amlxFile.toPath())) {
+            rootDocument = classUnderTest.readRootAmlDocument(amlxStream,
+                (pathInAmlx, content) -> attachments.put(pathInAmlx, content.readAllBytes()));
+        }
+
+        Map<String, Document> libraries = AmlLibraryCache.getLibraries(rootDocument);
+        assertThat(libraries.keySet()).containsExactly("/lib/RoleLib.aml");
+        assertThat(libraries.get("/lib/RoleLib.aml").getRootElement().element("RoleClassLib").attributeValue("Name"))
+            .isEqualTo("RoleLib");
+        assertThat(attachments).containsKey("/lib/RoleLib.aml");
+    }
+
+    private static Stream<Arguments> parameterValues() {
+        return Stream.of(
+            arguments("Valid amlx", "minimal_AutomationMLComponent", null),
+            arguments("Valid amlx with part relationships", "valid_PartRelationships", null),
+            arguments("Invalid amlx with missing referenced documents", "invalid_AutomationMLComponent_WithMissingDocuments",
+                ValidationException.class),
+            arguments("Invalid amlx with references to missing documents", "invalid_MissingPart", AmlxPartNotFoundException.class),
+            arguments("Invalid amlx with missing root AML document", "invalid_MissingRootDocument",
+                AmlxPartNotFoundException.class),
+            arguments("Invalid amlx with multiple root documents", "invalid_MultipleRootDocuments",
+                AmlxMultipleRootDocumentsDefinedException.class),
+            arguments("Invalid amlx with no root document", "invalid_NoRootDocument", AmlxNoRootDocumentDefinedException.class),
+            arguments("Invalid amlx with invalid AML root document", "invalid_InvalidRootAmlDocument",
+                AmlxInvalidRootAmlDocumentException.class),
+            arguments("Invalid amlx with additional document not defined in .rels", "invalid_AdditionalDocumentNotInRels",
+                AmlxRelationshipNotFoundException.class));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("parameterValues")
+    void validateStream(String name, String amlxDirName, Class<? extends ValidationException> expectedThrowable)
+        throws Exception {
+        File amlxFile = AmlxPackageCreator.compressFolder("src/test/resources/amlx/" + amlxDirName);
+
+        try (InputStream amlxStream = Files.newInputStream(amlxFile.toPath())) {
+            classUnderTest.readRootAmlDocument(amlxStream, AmlxAttachmentHandler.SKIP);
+            if (expectedThrowable != null) {
+                fail("Should have failed: Exception of class'" + expectedThrowable + "' expected but none was thrown.");
+            }
+        } catch (TransformationException e) {
+            assertThat(e).isInstanceOf(expectedThrowable);
+        } finally {
+            Files.deleteIfExists(amlxFile.toPath());
+        }
+    }
+}
@@ -44,6 +44,7 @@ class AmlxValidatorTest {
     private static Stream<Arguments> parameterValues() {
         return Stream.of(
             arguments("Valid amlx", "minimal_AutomationMLComponent", null),
+            arguments("Valid amlx with part relationships", "valid_PartRelationships", null),
             arguments("Valid amlx with documents", "minimal_AutomationMLComponent_WithDocuments", null),
             arguments("Invalid amlx with missing referenced documents", "invalid_AutomationMLComponent_WithMissingDocuments",
                 ValidationException.class),
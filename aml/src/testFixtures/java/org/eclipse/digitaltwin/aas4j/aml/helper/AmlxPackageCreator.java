@@ -10,6 +10,7 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -57,6 +58,39 @@ public class AmlxPackageCreator {
         }
     }
 
+    /**
+     * Creates an amlx package of the minimal AutomationML component with an additional AML library.
+     *
+     * @param directory directory the package is created in
+     * @param libraryPath path of the library within the package, for example "lib/RoleLib.aml"
+     * @param library content of the library
+     * @return the amlx file
+     */
+    public static File createMinimalAmlxWithLibrary(Path directory, String libraryPath, String library)
+        throws IOException {
+        Path source = Paths.get(PATH_TO_MINIMAL_AMLX_DIR);
+        Path packageDir = directory.resolve("minimal_AutomationMLComponent_WithLibrary");
+        try (Stream<Path> files = Files.walk(source)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Path target = packageDir.resolve(source.relativize(file).toString());
+                if (Files.isDirectory(file)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(file, target);
+                }
+            }
+        }
+        Path libraryFile = packageDir.resolve(libraryPath);
+        Files.createDirectories(libraryFile.getParent());
+        Files.write(libraryFile, library.getBytes(StandardCharsets.UTF_8));
+        Path rels = packageDir.resolve("_rels/.rels");
+        String relationships = new String(Files.readAllBytes(rels), StandardCharsets.UTF_8).replace("</Relationships>",
+            "<Relationship Type=\"http://schemas.automationml.org/container/relationship/Library\" Target=\"/"
+                + libraryPath + "\" Id=\"RelationshipLibrary\" /></Relationships>");
+        Files.write(rels, relationships.getBytes(StandardCharsets.UTF_8));
+        return compressFolder(packageDir.toString());
+    }
+
     public static final String PATH_TO_MINIMAL_AMLX = AmlxPackageCreator.PATH_TO_MINIMAL_AMLX_DIR + ".amlx";
     public static final String PATH_TO_MINIMAL_AMLX_DIR = "src/test/resources/amlx/minimal_AutomationMLComponent";
 
@@ -0,0 +1,141 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.dom4j.Document;
+import org.eclipse.digitaltwin.aas4j.aml.transform.AmlTransformer;
+import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
+import org.eclipse.digitaltwin.aas4j.mapping.MappingSpecificationParser;
+import org.eclipse.digitaltwin.aas4j.mapping.TemplateTransformer;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.ua.transform.UANodeSetTransformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.adminshell.aas.v3.dataformat.SerializationException;
+import io.adminshell.aas.v3.dataformat.json.JsonSerializer;
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+
+/**
+ * Benchmarks the phases of a transformation of the test fixtures: reading the XML document, schema
+ * validation, parsing the mapping, the template transformation, JSON serialization and the whole
+ * pipeline. Run with <code>./gradlew jmh</code>, which also reports the allocation rate of each phase.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PipelineBenchmark {
+
+    /**
+     * The fixtures with the mappings used by the tests.
+     */
+    public enum Fixture {
+        UA_BIG_MACHINE("ua/big.machine.nodeset.xml", "ua/uaIntegrationTest.json"),
+        UA_MACHINE_TOOL("ua/machineTool-example-all-in-one.xml", "ua/machineToolToDomainModel.json"),
+        AML_AUTOMATION_COMPONENT("aml/full_AutomationComponent.aml", "config/AutomationComponentConfig.json");
+
+        private final String input;
+        private final String mapping;
+
+        Fixture(String input, String mapping) {
+            this.input = input;
+            this.mapping = mapping;
+        }
+    }
+
+    @Param
+    public Fixture fixture;
+
+    private byte[] input;
+    private String mappingFile;
+    private byte[] mappingJson;
+    private byte[] mappingSmile;
+    private DocumentTransformer transformer;
+    private MappingSpecification mapping;
+    private Document document;
+    private AssetAdministrationShellEnvironment environment;
+
+    @Setup
+    public void setUp() throws IOException, TransformationException {
+        // forked benchmark JVMs do not necessarily run in the project directory
+        Path resources = Paths.get(System.getProperty("aas.benchmark.resources", "src/test/resources"));
+        input = Files.readAllBytes(resources.resolve(fixture.input));
+        mappingFile = resources.resolve(fixture.mapping).toString();
+        transformer = fixture == Fixture.AML_AUTOMATION_COMPONENT ? new AmlTransformer() : new UANodeSetTransformer();
+        mapping = new MappingSpecificationParser().loadMappingSpecification(mappingFile);
+        mappingJson = Files.readAllBytes(Paths.get(mappingFile));
+        ByteArrayOutputStream smile = new ByteArrayOutputStream();
+        new MappingSpecificationParser().convertToSmile(mappingJson, smile);
+        mappingSmile = smile.toByteArray();
+        document = transformer.readXmlDocument(new ByteArrayInputStream(input));
+        transformer.validateDocument(document);
+        // registers the namespaces and indexes the document for the template transformation
+        environment = transformer.transform(document, mapping, null);
+    }
+
+    @Benchmark
+    public Document readXmlDocument() throws TransformationException {
+        return transformer.readXmlDocument(new ByteArrayInputStream(input));
+    }
+
+    @Benchmark
+    public Document validateDocument() throws TransformationException {
+        transformer.validateDocument(document);
+        return document;
+    }
+
+    @Benchmark
+    public MappingSpecification loadMappingSpecification() throws IOException {
+        return new MappingSpecificationParser().loadMappingSpecification(mappingFile);
+    }
+
+    @Benchmark
+    public MappingSpecification parseJsonMappingSpecification() throws IOException {
+        return new MappingSpecificationParser().loadMappingSpecification(mappingJson);
+    }
+
+    @Benchmark
+    public MappingSpecification parseSmileMappingSpecification() throws IOException {
+        return new MappingSpecificationParser().loadMappingSpecification(mappingSmile);
+    }
+
+    @Benchmark
+    public AssetAdministrationShellEnvironment transformTemplates() {
+        return new TemplateTransformer().transform(mapping, document, null);
+    }
+
+    @Benchmark
+    public OutputStream serializeStreaming() throws SerializationException, IOException {
+        OutputStream outputStream = OutputStream.nullOutputStream();
+        new StreamingJsonSerializer().write(outputStream, environment);
+        return outputStream;
+    }
+
+    @Benchmark
+    public String serializeString() throws SerializationException {
+        return new JsonSerializer().write(environment);
+    }
+
+    @Benchmark
+    public AssetAdministrationShellEnvironment execute() throws TransformationException {
+        return transformer.execute(new ByteArrayInputStream(input), mapping, null);
+    }
+}
@@ -0,0 +1,186 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.digitaltwin.aas4j.aml.amlx.AmlxPackage;
+import org.eclipse.digitaltwin.aas4j.aml.amlx.AmlxPackageReader;
+import org.eclipse.digitaltwin.aas4j.aml.amlx.AmlxPartExtractor;
+import org.eclipse.digitaltwin.aas4j.aml.transform.AmlTransformer;
+import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
+import org.eclipse.digitaltwin.aas4j.mapping.MappingSpecificationParser;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.ua.transform.UANodeSetTransformer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+
+/**
+ * Runs the transformers with synthetic inputs of growing size generated by {@link SyntheticInputs}.
+ * The time of one transformation and the peak heap it needs are reported per input type and scale,
+ * together with the size of the input. If a tenfold input takes considerably more than ten times as
+ * long, a transformation phase has become super-linear.
+ * <p>
+ * Run with <code>./gradlew jmh -PjmhIncludes=ScalingBenchmark</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ScalingBenchmark {
+
+    /**
+     * The generated input types with their size at scale 1.
+     */
+    public enum Input {
+        AML(scale -> SyntheticInputs.aml(200 * scale, 5), "aml.json", AmlTransformer::new),
+        AMLX(scale -> SyntheticInputs.amlx(10 * scale, 16 * 1024), "aml.json", AmlTransformer::new),
+        UA(scale -> SyntheticInputs.uaNodeSet(500 * scale, 3, 8), "ua.json", UANodeSetTransformer::new),
+        XML(scale -> SyntheticInputs.genericXml(100 * scale, 10), "xml.json", GenericDocumentTransformer::new);
+
+        private final IntFunction<byte[]> generator;
+        private final String mapping;
+        private final Supplier<DocumentTransformer> transformer;
+
+        Input(IntFunction<byte[]> generator, String mapping, Supplier<DocumentTransformer> transformer) {
+            this.generator = generator;
+            this.mapping = mapping;
+            this.transformer = transformer;
+        }
+    }
+
+    /**
+     * Input size and peak heap of the last transformation, reported next to its time.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long inputBytes;
+        public long peakHeapBytes;
+
+        private long usedHeapBefore;
+
+        @Setup(Level.Invocation)
+        public void resetPeakUsage() {
+            System.gc();
+            usedHeapBefore = 0;
+            for (MemoryPoolMXBean pool : getHeapPools()) {
+                usedHeapBefore += pool.getUsage().getUsed();
+                pool.resetPeakUsage();
+            }
+        }
+
+        @TearDown(Level.Invocation)
+        public void readPeakUsage() {
+            // the peaks of the pools are summed up, so this is an upper bound of the heap needed
+            long peak = 0;
+            for (MemoryPoolMXBean pool : getHeapPools()) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+            peakHeapBytes = peak - usedHeapBefore;
+        }
+
+        private static List<MemoryPoolMXBean> getHeapPools() {
+            return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP).collect(Collectors.toList());
+        }
+    }
+
+    @Param
+    public Input input;
+
+    @Param({ "1", "10", "100" })
+    public int scale;
+
+    private byte[] bytes;
+    private File amlxFile;
+    private Path extractionDirectory;
+    private MappingSpecification mapping;
+
+    @Setup
+    public void setUp() throws IOException {
+        // forked benchmark JVMs do not necessarily run in the project directory
+        Path resources = Paths.get(System.getProperty("aas.benchmark.resources", "src/test/resources"));
+        mapping = new MappingSpecificationParser()
+            .loadMappingSpecification(resources.resolve("mappings/synthetic").resolve(input.mapping).toString());
+        bytes = input.generator.apply(scale);
+        if (input == Input.AMLX) {
+            amlxFile = Files.createTempFile("synthetic", ".amlx").toFile();
+            Files.write(amlxFile.toPath(), bytes);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void createExtractionDirectory() throws IOException {
+        if (input == Input.AMLX) {
+            extractionDirectory = Files.createTempDirectory("synthetic-amlx");
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteExtractionDirectory() throws IOException {
+        if (extractionDirectory != null) {
+            delete(extractionDirectory);
+            extractionDirectory = null;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (amlxFile != null) {
+            Files.deleteIfExists(amlxFile.toPath());
+        }
+    }
+
+    @Benchmark
+    public AssetAdministrationShellEnvironment transform(Footprint footprint)
+        throws TransformationException, IOException {
+        footprint.inputBytes = bytes.length;
+        if (input == Input.AMLX) {
+            try (AmlxPackage amlxPackage = new AmlxPackageReader().readAmlxPackage(amlxFile)) {
+                AssetAdministrationShellEnvironment environment = input.transformer.get()
+                    .transform(amlxPackage.getRootAmlDocument(), mapping, null);
+                new AmlxPartExtractor().extract(amlxPackage, extractionDirectory);
+                return environment;
+            }
+        }
+        return input.transformer.get().execute(new ByteArrayInputStream(bytes), mapping, null);
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.digitaltwin.aas4j.aml.transform.AmlTransformer;
+import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
+import org.eclipse.digitaltwin.aas4j.mapping.MappingSpecificationParser;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.ua.transform.UANodeSetTransformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.adminshell.aas.v3.dataformat.SerializationException;
+
+/**
+ * Measures the time to the first transformation in a fresh JVM, which dominates the run time of the
+ * command line application for small inputs: parsing the mapping, reading, validating and
+ * transforming the input and serializing the result. Every measurement runs in its own fork and none
+ * of the library classes is touched before it, the JVM start itself is not included.
+ * <p>
+ * Run with <code>./gradlew jmh -PjmhIncludes=StartupBenchmark</code>. To measure the effect of an
+ * AppCDS archive created by <code>./gradlew appCds</code>, pass it to the forks with
+ * <code>-jvmArgsAppend -XX:SharedArchiveFile=...</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(10)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class StartupBenchmark {
+
+    /**
+     * Small test fixtures with their mappings, one per input type.
+     */
+    public enum Fixture {
+        AML("aml/full_AutomationComponent.aml", "config/simpleConfig.json"),
+        UA("ua/example_euromap.xml", "mappings/ua/euromap2nameplate.json"),
+        XML("mappings/generic/generic.xml", "mappings/generic/genericXpathTest.json");
+
+        private final String input;
+        private final String mapping;
+
+        Fixture(String input, String mapping) {
+            this.input = input;
+            this.mapping = mapping;
+        }
+    }
+
+    @Param
+    public Fixture fixture;
+
+    private Path input;
+    private String mappingFile;
+
+    @Setup
+    public void setUp() {
+        // forked benchmark JVMs do not necessarily run in the project directory
+        Path resources = Paths.get(System.getProperty("aas.benchmark.resources", "src/test/resources"));
+        input = resources.resolve(fixture.input);
+        mappingFile = resources.resolve(fixture.mapping).toString();
+    }
+
+    @Benchmark
+    public OutputStream firstTransformation() throws IOException, TransformationException, SerializationException {
+        MappingSpecification mapping = new MappingSpecificationParser().loadMappingSpecification(mappingFile);
+        DocumentTransformer transformer;
+        if (fixture == Fixture.AML) {
+            transformer = new AmlTransformer();
+        } else if (fixture == Fixture.UA) {
+            transformer = new UANodeSetTransformer();
+        } else {
+            transformer = new GenericDocumentTransformer();
+        }
+        OutputStream outputStream = OutputStream.nullOutputStream();
+        try (InputStream inputStream = Files.newInputStream(input)) {
+            transformer.execute(inputStream, mapping, null, outputStream);
+        }
+        return outputStream;
+    }
+}
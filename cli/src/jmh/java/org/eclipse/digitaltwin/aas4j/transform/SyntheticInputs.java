@@ -0,0 +1,239 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.dom4j.Document;
+import org.dom4j.DocumentHelper;
+import org.dom4j.Element;
+import org.dom4j.Namespace;
+import org.dom4j.QName;
+
+/**
+ * Generates synthetic input documents of configurable size, so that the transformers can be measured
+ * with inputs far larger than the test fixtures. All generators are deterministic, the same parameters
+ * always result in the same bytes.
+ */
+public final class SyntheticInputs {
+
+    static final String CAEX_NAMESPACE = "http://www.dke.de/CAEX";
+    static final String UA_NAMESPACE = "http://opcfoundation.org/UA/2011/03/UANodeSet.xsd";
+    static final String GENERIC_NAMESPACE = "http://ns.org/";
+
+    private static final String RELATIONSHIP_TYPE = "http://schemas.automationml.org/container/relationship/";
+
+    private SyntheticInputs() {}
+
+    /**
+     * Generates a CAEX 3.0 document with one InstanceHierarchy.
+     *
+     * @param elements number of InternalElements in the InstanceHierarchy
+     * @param attributes number of Attributes with a Value per InternalElement
+     * @return the serialized AML document
+     */
+    public static byte[] aml(int elements, int attributes) {
+        Document document = createCaexFile("synthetic.aml");
+        Element instanceHierarchy = addCaexElement(document.getRootElement(), "InstanceHierarchy")
+            .addAttribute("Name", "SyntheticPlant");
+        for (int i = 0; i < elements; i++) {
+            Element internalElement = addInternalElement(instanceHierarchy, i);
+            for (int j = 0; j < attributes; j++) {
+                Element attribute = addCaexElement(internalElement, "Attribute")
+                    .addAttribute("Name", "Attribute" + j)
+                    .addAttribute("AttributeDataType", "xs:string");
+                addCaexElement(attribute, "Value").setText("value " + i + "." + j);
+            }
+        }
+        return toBytes(document);
+    }
+
+    /**
+     * Generates a UA NodeSet whose objects form a forest below the object <code>1:Machines</code>. Each
+     * object refers to its parent by an inverse HasComponent reference, as most exported NodeSets do.
+     *
+     * @param nodes number of objects below <code>1:Machines</code>
+     * @param depth maximum depth of the objects below <code>1:Machines</code>, at least 1
+     * @param fanOut maximum number of children per object
+     * @return the serialized NodeSet
+     */
+    public static byte[] uaNodeSet(int nodes, int depth, int fanOut) {
+        Namespace ua = Namespace.get(UA_NAMESPACE);
+        Document document = DocumentHelper.createDocument();
+        Element root = document.addElement(QName.get("UANodeSet", ua));
+        root.addElement(QName.get("NamespaceUris", ua)).addElement(QName.get("Uri", ua))
+            .setText("http://synthetic.example.org/UA/");
+        Element aliases = root.addElement(QName.get("Aliases", ua));
+        addAlias(aliases, "HasComponent", "i=47");
+        addAlias(aliases, "Organizes", "i=35");
+        addAlias(aliases, "HasTypeDefinition", "i=40");
+        addUaObject(root, 0, "Machines", "Organizes", "i=85");
+
+        // objects are created breadth first, so the first levels are always complete
+        Deque<int[]> parents = new ArrayDeque<>();
+        parents.add(new int[] { 0, 0 });
+        int created = 0;
+        while (created < nodes) {
+            int[] parent = parents.poll();
+            if (parent == null) {
+                // the depth limit has been reached, further objects are added below 1:Machines
+                parent = new int[] { 0, 0 };
+            }
+            for (int i = 0; i < fanOut && created < nodes; i++) {
+                int nodeId = ++created;
+                addUaObject(root, nodeId, "Node" + nodeId, "HasComponent", "ns=1;i=" + parent[0]);
+                if (parent[1] + 1 < depth) {
+                    parents.add(new int[] { nodeId, parent[1] + 1 });
+                }
+            }
+        }
+        return toBytes(document);
+    }
+
+    /**
+     * Generates a document in the namespace of the generic test fixture with <code>ns:a</code> elements
+     * below the root, each containing <code>ns:b</code> elements.
+     *
+     * @param elements number of <code>ns:a</code> elements
+     * @param children number of <code>ns:b</code> elements per <code>ns:a</code> element
+     * @return the serialized document
+     */
+    public static byte[] genericXml(int elements, int children) {
+        Namespace ns = Namespace.get("ns", GENERIC_NAMESPACE);
+        Document document = DocumentHelper.createDocument();
+        Element root = document.addElement(QName.get("root", ns));
+        for (int i = 0; i < elements; i++) {
+            Element a = root.addElement(QName.get("a", ns)).addAttribute("name", "submodel_" + i);
+            for (int j = 0; j < children; j++) {
+                a.addElement(QName.get("b", ns)).addAttribute("name", "element_" + i + "_" + j)
+                    .setText("value " + i + "." + j);
+            }
+        }
+        return toBytes(document);
+    }
+
+    /**
+     * Generates an AMLX package whose root AML document references each attachment by an
+     * ExternalDataReference interface. Every attachment is declared by an AnyContent relationship.
+     *
+     * @param attachments number of attachments in the package
+     * @param attachmentBytes size of each attachment in bytes
+     * @return the zipped package
+     */
+    public static byte[] amlx(int attachments, int attachmentBytes) {
+        Document document = createCaexFile("synthetic.aml");
+        Element instanceHierarchy = addCaexElement(document.getRootElement(), "InstanceHierarchy")
+            .addAttribute("Name", "SyntheticPlant");
+        StringBuilder relationships = new StringBuilder()
+            .append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n")
+            .append("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">\n")
+            .append(relationship("RootDocument", "/synthetic.aml", 0));
+        for (int i = 0; i < attachments; i++) {
+            String target = "/files/attachment" + i + ".bin";
+            Element externalInterface = addCaexElement(addInternalElement(instanceHierarchy, i), "ExternalInterface")
+                .addAttribute("Name", "ExternalDataReference")
+                .addAttribute("ID", "ExternalDataReference" + i)
+                .addAttribute("RefBaseClassPath", "AutomationMLBPRInterfaceClassLib/ExternalDataReference");
+            Element mimeType = addCaexElement(externalInterface, "Attribute").addAttribute("Name", "MIMEType");
+            addCaexElement(mimeType, "Value").setText("application/octet-stream");
+            Element refUri = addCaexElement(externalInterface, "Attribute").addAttribute("Name", "refURI")
+                .addAttribute("AttributeDataType", "xs:anyURI");
+            addCaexElement(refUri, "Value").setText(target);
+            relationships.append(relationship("AnyContent", target, i + 1));
+        }
+        relationships.append("</Relationships>");
+
+        String contentTypes = "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n"
+            + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">\n"
+            + "<Default Extension=\"aml\" ContentType=\"model/vnd.automationml+xml\" />\n"
+            + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\" />\n"
+            + "<Default Extension=\"bin\" ContentType=\"application/octet-stream\" />\n"
+            + "</Types>";
+
+        Random random = new Random(attachments);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(outputStream)) {
+            addZipEntry(zip, "[Content_Types].xml", contentTypes.getBytes(StandardCharsets.UTF_8));
+            addZipEntry(zip, "_rels/.rels", relationships.toString().getBytes(StandardCharsets.UTF_8));
+            addZipEntry(zip, "synthetic.aml", toBytes(document));
+            byte[] content = new byte[attachmentBytes];
+            for (int i = 0; i < attachments; i++) {
+                random.nextBytes(content);
+                addZipEntry(zip, "files/attachment" + i + ".bin", content);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private static Document createCaexFile(String fileName) {
+        Document document = DocumentHelper.createDocument();
+        Element caexFile = document.addElement(QName.get("CAEXFile", CAEX_NAMESPACE))
+            .addAttribute("SchemaVersion", "3.0")
+            .addAttribute("FileName", fileName);
+        addCaexElement(caexFile, "SuperiorStandardVersion").setText("AutomationML 2.10");
+        addCaexElement(caexFile, "SourceDocumentInformation")
+            .addAttribute("OriginName", "SyntheticInputs")
+            .addAttribute("OriginID", "SyntheticInputs")
+            .addAttribute("OriginVersion", "1.0")
+            .addAttribute("LastWritingDateTime", "2021-01-01T00:00:00Z");
+        return document;
+    }
+
+    private static Element addInternalElement(Element parent, int index) {
+        return addCaexElement(parent, "InternalElement")
+            .addAttribute("Name", "Element" + index)
+            .addAttribute("ID", "ElementID" + index);
+    }
+
+    private static Element addCaexElement(Element parent, String name) {
+        return parent.addElement(QName.get(name, CAEX_NAMESPACE));
+    }
+
+    private static void addAlias(Element aliases, String alias, String nodeId) {
+        aliases.addElement(QName.get("Alias", UA_NAMESPACE)).addAttribute("Alias", alias).setText(nodeId);
+    }
+
+    private static void addUaObject(Element root, int id, String name, String parentReferenceType,
+        String parentNodeId) {
+        Element object = root.addElement(QName.get("UAObject", UA_NAMESPACE))
+            .addAttribute("NodeId", "ns=1;i=" + id)
+            .addAttribute("BrowseName", "1:" + name);
+        object.addElement(QName.get("DisplayName", UA_NAMESPACE)).setText(name);
+        Element references = object.addElement(QName.get("References", UA_NAMESPACE));
+        references.addElement(QName.get("Reference", UA_NAMESPACE))
+            .addAttribute("ReferenceType", parentReferenceType)
+            .addAttribute("IsForward", "false")
+            .setText(parentNodeId);
+        references.addElement(QName.get("Reference", UA_NAMESPACE))
+            .addAttribute("ReferenceType", "HasTypeDefinition")
+            .setText("i=58");
+    }
+
+    private static String relationship(String type, String target, int id) {
+        return "<Relationship Type=\"" + RELATIONSHIP_TYPE + type + "\" Target=\"" + target + "\" Id=\"R" + id
+            + "\" />\n";
+    }
+
+    private static void addZipEntry(ZipOutputStream zip, String name, byte[] content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content);
+        zip.closeEntry();
+    }
+
+    private static byte[] toBytes(Document document) {
+        return document.asXML().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,335 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.digitaltwin.aas4j.aml.amlx.AmlxPackage;
+import org.eclipse.digitaltwin.aas4j.aml.amlx.AmlxPackageReader;
+import org.eclipse.digitaltwin.aas4j.aml.amlx.AmlxPartExtractor;
+import org.eclipse.digitaltwin.aas4j.aml.transform.AmlTransformer;
+import org.eclipse.digitaltwin.aas4j.mapping.model.Header;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.transform.DocumentTransformer;
+import org.eclipse.digitaltwin.aas4j.transform.GenericDocumentTransformer;
+import org.eclipse.digitaltwin.aas4j.transform.StreamingJsonSerializer;
+import org.eclipse.digitaltwin.aas4j.ua.transform.UANodeSetTransformer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+
+/**
+ * Transforms many input files of the same type with one MappingSpecification within a single JVM.
+ * The mapping is loaded and prepared once and shared by all transformations, which run on a pool of
+ * worker threads. Each input is written as JSON next to the input file or into an output directory,
+ * a failing input is recorded in the {@link Summary} and does not stop the batch.
+ */
+public class BatchTransformation {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    public enum InputType {
+        AML(".aml"), AMLX(".amlx"), UA(".xml"), XML(".xml");
+
+        private final String extension;
+
+        InputType(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final MappingSpecification mapping;
+    private final Map<String, String> placeholderValues;
+    private final InputType inputType;
+    private final UnaryOperator<DocumentTransformer> configurer;
+    private Path outputDirectory;
+    private int workers = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * @param mapping the loaded mapping, shared by all transformations
+     * @param placeholderValues values of the placeholders of the mapping, might be null
+     * @param inputType type of all inputs of the batch
+     * @param configurer called for each transformer before it is used, e.g. to add post processors
+     */
+    public BatchTransformation(MappingSpecification mapping, Map<String, String> placeholderValues,
+        InputType inputType, UnaryOperator<DocumentTransformer> configurer) {
+        this.mapping = mapping;
+        this.placeholderValues = placeholderValues;
+        this.inputType = inputType;
+        this.configurer = configurer;
+        // prepared once instead of by each concurrent transformation
+        if (mapping.getHeader() == null) {
+            mapping.setHeader(new Header());
+        }
+    }
+
+    /**
+     * @param outputDirectory directory all outputs are written to, null (the default) writes each
+     *        output next to its input
+     */
+    public void setOutputDirectory(Path outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    /**
+     * @param workers number of inputs transformed concurrently, defaults to the number of available
+     *        processors
+     */
+    public void setWorkers(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Number of workers must be at least 1, but was " + workers);
+        }
+        this.workers = workers;
+    }
+
+    // @formatter:off
+    /**
+     * Resolves the inputs of a batch. The specification is one of
+     *
+     * <pre>
+     * - a directory, all files with the extension of the input type within it and its subdirectories
+     * - a glob pattern, e.g. "inputs/**&#47;*.aml"
+     * - "@" followed by the path of a file list, which contains one input path per line
+     * - a single file
+     * </pre>
+     *
+     * @param inputSpecification the specification of the inputs
+     * @param inputType type of the inputs
+     * @return the input files, sorted unless given by a file list
+     * @throws IOException If a directory or file list can not be read
+     */
+    // @formatter:on
+    public static List<Path> resolveInputs(String inputSpecification, InputType inputType) throws IOException {
+        if (inputSpecification.startsWith("@")) {
+            try (Stream<String> lines = Files.lines(Paths.get(inputSpecification.substring(1)))) {
+                return lines.map(String::trim)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .map(Paths::get)
+                    .collect(Collectors.toList());
+            }
+        }
+        int firstGlobCharacter = indexOfGlobCharacter(inputSpecification);
+        if (firstGlobCharacter >= 0) {
+            int baseEnd = Math.max(inputSpecification.lastIndexOf('/', firstGlobCharacter),
+                inputSpecification.lastIndexOf('\\', firstGlobCharacter));
+            Path base = Paths.get(baseEnd < 0 ? "." : inputSpecification.substring(0, Math.max(baseEnd, 1)));
+            String pattern = baseEnd < 0 ? base.resolve(inputSpecification).toString() : inputSpecification;
+            PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+            return walk(base, matcher::matches);
+        }
+        Path input = Paths.get(inputSpecification);
+        if (Files.isDirectory(input)) {
+            return walk(input, path -> path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(inputType.getExtension()));
+        }
+        return Collections.singletonList(input);
+    }
+
+    private static int indexOfGlobCharacter(String inputSpecification) {
+        for (int i = 0; i < inputSpecification.length(); i++) {
+            if ("*?[{".indexOf(inputSpecification.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<Path> walk(Path base, Predicate<Path> filter) throws IOException {
+        try (Stream<Path> paths = Files.walk(base)) {
+            return paths.filter(Files::isRegularFile).filter(filter).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * @param input an input file
+     * @return the JSON file the transformation result of the input is written to
+     */
+    public Path getOutputFile(Path input) {
+        String outputFileName = com.google.common.io.Files.getNameWithoutExtension(input.getFileName().toString())
+            + ".json";
+        return outputDirectory == null ? input.resolveSibling(outputFileName) : outputDirectory.resolve(outputFileName);
+    }
+
+    /**
+     * Transforms all inputs and waits until all of them are done.
+     *
+     * @param inputs the input files
+     * @return the summary of the batch
+     * @throws IOException If the output directory can not be created
+     * @throws IllegalArgumentException If several inputs would be written to the same output file
+     */
+    public Summary run(List<Path> inputs) throws IOException {
+        Map<Path, Path> outputsByInput = new LinkedHashMap<>();
+        Map<Path, Path> inputsByOutput = new HashMap<>();
+        for (Path input : inputs) {
+            Path output = getOutputFile(input);
+            Path otherInput = inputsByOutput.putIfAbsent(output.toAbsolutePath().normalize(), input);
+            if (otherInput != null) {
+                throw new IllegalArgumentException(
+                    "Inputs " + otherInput + " and " + input + " would both be written to " + output);
+            }
+            outputsByInput.put(input, output);
+        }
+        if (outputDirectory != null) {
+            Files.createDirectories(outputDirectory);
+        }
+
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(workers, inputs.size())),
+            new ThreadFactoryBuilder().setNameFormat("aas-batch-%d").setDaemon(true).build());
+        Map<Path, Future<Long>> results = new LinkedHashMap<>();
+        try {
+            // inputs are only read by their task, so an unreadable input is recorded as its failure
+            outputsByInput.forEach((input, output) -> results.put(input, executor.submit(() -> {
+                long inputBytes = Files.size(input);
+                transform(input, output);
+                return inputBytes;
+            })));
+            Summary summary = new Summary();
+            for (Map.Entry<Path, Future<Long>> result : results.entrySet()) {
+                Path input = result.getKey();
+                try {
+                    long inputBytes = result.getValue().get();
+                    summary.succeeded++;
+                    summary.inputBytes += inputBytes;
+                } catch (ExecutionException e) {
+                    LOGGER.error("Transformation of {} failed", input, e.getCause());
+                    summary.failures.put(input, String.valueOf(e.getCause().getMessage()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for " + input, e);
+                }
+            }
+            summary.elapsed = Duration.ofNanos(System.nanoTime() - start);
+            return summary;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void transform(Path input, Path output) throws Exception {
+        AssetAdministrationShellEnvironment aasEnvironment;
+        if (inputType == InputType.AMLX) {
+            try (AmlxPackage amlxPackage = new AmlxPackageReader().readAmlxPackage(input.toFile())) {
+                amlxPackage.loadAmlLibraries();
+                aasEnvironment = configurer.apply(new AmlTransformer())
+                    .transform(amlxPackage.getRootAmlDocument(), mapping, placeholderValues);
+                write(output, aasEnvironment);
+                Path attachmentDirectory = output.resolveSibling(
+                    com.google.common.io.Files.getNameWithoutExtension(output.getFileName().toString()));
+                new AmlxPartExtractor().extract(amlxPackage, attachmentDirectory);
+            }
+            return;
+        }
+        try (InputStream inputStream = Files.newInputStream(input)) {
+            aasEnvironment = configurer.apply(createTransformer()).execute(inputStream, mapping, placeholderValues);
+        }
+        write(output, aasEnvironment);
+    }
+
+    private DocumentTransformer createTransformer() {
+        switch (inputType) {
+            case AML:
+                return new AmlTransformer();
+            case UA:
+                return new UANodeSetTransformer();
+            default:
+                return new GenericDocumentTransformer();
+        }
+    }
+
+    private void write(Path output, AssetAdministrationShellEnvironment aasEnvironment) throws Exception {
+        try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(output))) {
+            new StreamingJsonSerializer().write(outputStream, aasEnvironment);
+        }
+        LOGGER.info("Wrote AAS file to {}", output);
+    }
+
+    /**
+     * Result of a batch transformation.
+     */
+    public static class Summary {
+
+        private int succeeded;
+        private long inputBytes;
+        private Duration elapsed = Duration.ZERO;
+        private final Map<Path, String> failures = new LinkedHashMap<>();
+
+        public int getSucceeded() {
+            return succeeded;
+        }
+
+        /**
+         * @return the error message by input for each failed input
+         */
+        public Map<Path, String> getFailures() {
+            return Collections.unmodifiableMap(failures);
+        }
+
+        /**
+         * @return summed size of the successfully transformed inputs in bytes
+         */
+        public long getInputBytes() {
+            return inputBytes;
+        }
+
+        public Duration getElapsed() {
+            return elapsed;
+        }
+
+        /**
+         * @return successfully transformed inputs per second
+         */
+        public double getFilesPerSecond() {
+            return succeeded / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        }
+
+        /**
+         * Logs the throughput and all failed inputs.
+         */
+        public void log() {
+            double seconds = Math.max(elapsed.toNanos() / 1e9, 1e-9);
+            LOGGER.info("Transformed {} of {} inputs in {} s ({} files/s, {} MB/s)", succeeded,
+                succeeded + failures.size(), String.format("%.3f", seconds), String.format("%.2f", getFilesPerSecond()),
+                String.format("%.2f", inputBytes / 1e6 / seconds));
+            if (!failures.isEmpty()) {
+                LOGGER.error("{} inputs failed:", failures.size());
+                failures.forEach((input, message) -> LOGGER.error("{}: {}", input, message));
+            }
+        }
+    }
+}
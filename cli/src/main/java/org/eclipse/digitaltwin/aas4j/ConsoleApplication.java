@@ -0,0 +1,743 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.CommandLineParser;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.OptionGroup;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+import org.eclipse.digitaltwin.aas4j.aml.amlx.AmlxPackage;
+import org.eclipse.digitaltwin.aas4j.aml.amlx.AmlxPartExtractor;
+import org.eclipse.digitaltwin.aas4j.aml.amlx.AmlxPackageReader;
+import org.eclipse.digitaltwin.aas4j.aml.transform.AmlTransformer;
+import org.eclipse.digitaltwin.aas4j.exceptions.InvalidConfigException;
+import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
+import org.eclipse.digitaltwin.aas4j.mapping.MappingProfile;
+import org.eclipse.digitaltwin.aas4j.mapping.MappingSpecificationParser;
+import org.eclipse.digitaltwin.aas4j.mapping.MappingSpecificationRegistry;
+import org.eclipse.digitaltwin.aas4j.mapping.MappingSpecificationWatcher;
+import org.eclipse.digitaltwin.aas4j.mapping.model.Header;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.mapping.model.Parameter;
+import org.eclipse.digitaltwin.aas4j.placeholder.exceptions.PlaceholderValueMissingException;
+import org.eclipse.digitaltwin.aas4j.transform.DocumentTransformer;
+import org.eclipse.digitaltwin.aas4j.transform.GenericDocumentTransformer;
+import org.eclipse.digitaltwin.aas4j.transform.LoggingTransformationListener;
+import org.eclipse.digitaltwin.aas4j.transform.StreamingJsonSerializer;
+import org.eclipse.digitaltwin.aas4j.transform.TransformationResultCache;
+import org.eclipse.digitaltwin.aas4j.transform.postprocessor.InternEqualSubtrees;
+import org.eclipse.digitaltwin.aas4j.transform.validation.PlaceholdersCheck;
+import org.eclipse.digitaltwin.aas4j.ua.transform.UANodeSetTransformer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Iterators;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.adminshell.aas.v3.dataformat.SerializationException;
+import io.adminshell.aas.v3.dataformat.Serializer;
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+
+public class ConsoleApplication {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private final MappingSpecificationParser mappingParser;
+    private MappingSpecificationRegistry mappingRegistry;
+
+    private static final String OPTION_NAME_CONFIG = "config";
+
+    private static final String OPTION_NAME_AML_INPUT_FILE = "aml";
+    private static final String OPTION_NAME_AMLX_INPUT_FILE = "amlx";
+    private static final String OPTION_NAME_NODESET_INPUT_FILE = "ua";
+    private static final String OPTION_NAME_GENERIC_INPUT_FILE = "xml";
+
+    private static final String OPTION_NAME_PRINT_PLACEHOLDERS = "print-placeholders";
+    private static final String OPTION_NAME_PLACEHOLDER_VALUES = "placeholder-values";
+
+    private static final String OPTION_NAME_THREADS = "threads";
+    private static final String OPTION_NAME_INTERN = "intern";
+    private static final String OPTION_NAME_PLACEHOLDER_MATRIX = "placeholder-matrix";
+    private static final String OPTION_NAME_CACHE_DIR = "cache-dir";
+    private static final String OPTION_NAME_CACHE_SIZE = "cache-size";
+    private static final String OPTION_NAME_SNAPSHOT_DIR = "snapshot-dir";
+
+    private static final String OPTION_NAME_BATCH = "batch";
+    private static final String OPTION_NAME_OUTPUT_DIR = "output-dir";
+    private static final String OPTION_NAME_WORKERS = "workers";
+    private static final String OPTION_NAME_SERVER = "server";
+    private static final String OPTION_NAME_WATCH = "watch";
+    private static final String OPTION_NAME_PROFILE = "profile";
+    private static final String OPTION_NAME_CONVERT = "convert";
+
+    private CommandLine commandLine;
+    protected MappingSpecification mapping;
+    private List<MappingSpecification> mappings;
+    private Map<String, String> placeholderMap;
+    private AmlxPackage amlxPackage;
+    private MappingProfile profile;
+    private final int parallelism;
+    private ExecutorService transformationExecutor;
+
+    public ConsoleApplication(CommandLine commandLine) {
+        this.commandLine = commandLine;
+        this.mappingParser = new MappingSpecificationParser();
+        String threads = commandLine.getOptionValue(OPTION_NAME_THREADS);
+        this.parallelism = threads == null ? 1 : Integer.parseInt(threads);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Number of threads must be at least 1");
+        }
+        if (commandLine.hasOption(OPTION_NAME_PROFILE) && commandLine.hasOption(OPTION_NAME_WATCH)) {
+            // the profile is keyed to the templates of one mapping version
+            throw new IllegalArgumentException("--profile cannot be combined with --watch");
+        }
+        String[] configFileNames = commandLine.getOptionValues(OPTION_NAME_CONFIG);
+        if (configFileNames != null && configFileNames.length > 1 && (commandLine.hasOption(OPTION_NAME_BATCH)
+            || commandLine.hasOption(OPTION_NAME_PLACEHOLDER_MATRIX) || commandLine.hasOption(OPTION_NAME_CACHE_DIR)
+            || commandLine.hasOption(OPTION_NAME_SERVER))) {
+            // only the single input mode applies several mappings to the same parsed input
+            throw new IllegalArgumentException(
+                "Several config files cannot be combined with --batch, --placeholder-matrix, --cache-dir or --server");
+        }
+    }
+
+    protected void loadConfig() throws IOException {
+        String[] configFileNames = commandLine.getOptionValues(OPTION_NAME_CONFIG);
+        loadConfig(configFileNames[0]);
+        mappings = new ArrayList<>(configFileNames.length);
+        mappings.add(mapping);
+        for (int i = 1; i < configFileNames.length; i++) {
+            mappings.add(loadMappingSpecification(configFileNames[i]));
+        }
+    }
+
+    protected void loadConfig(String configFileName) throws IOException {
+        mapping = loadMappingSpecification(configFileName);
+    }
+
+    private MappingSpecification loadMappingSpecification(String configFileName) throws IOException {
+        if (!commandLine.hasOption(OPTION_NAME_SNAPSHOT_DIR) && !commandLine.hasOption(OPTION_NAME_WATCH)) {
+            return this.mappingParser.loadMappingSpecification(configFileName);
+        }
+        return getMappingRegistry().get(Paths.get(configFileName));
+    }
+
+    private MappingSpecificationRegistry getMappingRegistry() throws IOException {
+        if (mappingRegistry == null) {
+            String snapshotDirectory = commandLine.getOptionValue(OPTION_NAME_SNAPSHOT_DIR);
+            mappingRegistry = new MappingSpecificationRegistry(mappingParser,
+                snapshotDirectory == null ? null : Paths.get(snapshotDirectory));
+        }
+        return mappingRegistry;
+    }
+
+    protected AssetAdministrationShellEnvironment transformAmlFile(String amlFilePath)
+        throws IOException, TransformationException {
+        try (InputStream amlStream = Files.newInputStream(Paths.get(amlFilePath))) {
+            logHeaderInfo();
+            return configure(new AmlTransformer()).execute(amlStream, mapping, placeholderMap);
+        }
+    }
+
+    protected AssetAdministrationShellEnvironment transformAml(InputStream amlStream)
+        throws IOException, TransformationException {
+        logHeaderInfo();
+        return configure(new AmlTransformer()).execute(amlStream, mapping, placeholderMap);
+    }
+
+    private AssetAdministrationShellEnvironment transformAmlx(String amlxInputFileName)
+        throws TransformationException, IOException {
+        // the package is kept open to copy its documents after the transformation
+        amlxPackage = new AmlxPackageReader().readAmlxPackage(Paths.get(amlxInputFileName).toFile());
+        amlxPackage.loadAmlLibraries();
+        logHeaderInfo();
+        return configure(new AmlTransformer()).transform(amlxPackage.getRootAmlDocument(), mapping, placeholderMap);
+    }
+
+    private AssetAdministrationShellEnvironment transformNodeSet(String nodesetInputFileName) throws IOException, TransformationException {
+        try (InputStream nodesetStream = Files.newInputStream(Paths.get(nodesetInputFileName))) {
+            logHeaderInfo();
+            return configure(new UANodeSetTransformer()).execute(nodesetStream, mapping, placeholderMap);
+        }
+    }
+
+    private AssetAdministrationShellEnvironment transformGeneric(String genericInputFileName) throws IOException, TransformationException {
+        try (InputStream genericStream = Files.newInputStream(Paths.get(genericInputFileName))) {
+            logHeaderInfo();
+            return configure(new GenericDocumentTransformer()).execute(genericStream, mapping, placeholderMap);
+        }
+    }
+
+    private List<AssetAdministrationShellEnvironment> executeAll(DocumentTransformer transformer,
+        String inputFileName) throws IOException, TransformationException {
+        try (InputStream inputStream = Files.newInputStream(Paths.get(inputFileName))) {
+            return configure(transformer).executeAll(inputStream, mappings, placeholderMap);
+        }
+    }
+
+    private <T extends DocumentTransformer> T configure(T transformer) {
+        transformer.setParallelism(parallelism);
+        transformer.setExecutor(getTransformationExecutor());
+        if (commandLine.hasOption(OPTION_NAME_INTERN)) {
+            transformer.addPostProcessor(new InternEqualSubtrees());
+        }
+        if (profile != null) {
+            transformer.setProfile(profile);
+            transformer.addTransformationListener(new LoggingTransformationListener());
+        }
+        return transformer;
+    }
+
+    /**
+     * @return the pool shared by the transformers of all batch inputs and server requests, created by
+     *         the first transformation, null if templates are transformed sequentially
+     */
+    private synchronized ExecutorService getTransformationExecutor() {
+        if (transformationExecutor == null && parallelism > 1) {
+            transformationExecutor = Executors.newFixedThreadPool(parallelism,
+                new ThreadFactoryBuilder().setNameFormat("aas-transformation-%d").setDaemon(true).build());
+        }
+        return transformationExecutor;
+    }
+
+    private void logHeaderInfo() {
+        // fix missing header
+        if (mapping.getHeader() == null) {
+            mapping.setHeader(new Header());
+        }
+        LOGGER.info("Loaded config version {}, aas version {}", mapping.getHeader().getVersion(), mapping.getHeader().getAasVersion());
+    }
+
+    private void writeAasToFile(String aasOutputFileName, AssetAdministrationShellEnvironment aasEnv) {
+        try (OutputStream fileOutputStream = new BufferedOutputStream(
+            Files.newOutputStream(Paths.get(aasOutputFileName)))) {
+            Serializer serializer = new StreamingJsonSerializer();
+            serializer.write(fileOutputStream, aasEnv);
+            LOGGER.info("Wrote AAS file to {}", aasOutputFileName);
+        } catch (Exception e) {
+            LOGGER.error("Writing AAS file failed!", e);
+        }
+    }
+
+    protected String deriveOutputFileName(String inputFileName) {
+        return com.google.common.io.Files.getNameWithoutExtension(inputFileName) + ".json";
+    }
+
+    protected String deriveOutputFileName(String inputFileName, int placeholderSet) {
+        return com.google.common.io.Files.getNameWithoutExtension(inputFileName) + "-" + placeholderSet + ".json";
+    }
+
+    protected String deriveOutputFileName(String inputFileName, String configFileName) {
+        return com.google.common.io.Files.getNameWithoutExtension(inputFileName) + "-"
+            + com.google.common.io.Files.getNameWithoutExtension(configFileName) + ".json";
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void readPlaceholders() {
+        if (commandLine.hasOption(OPTION_NAME_PLACEHOLDER_VALUES)) {
+            LOGGER.info("Reading placeholder values for AAS transformation");
+            ObjectMapper mapper = new ObjectMapper();
+            try {
+                placeholderMap = mapper
+                    .readValue(commandLine.getOptionValue(OPTION_NAME_PLACEHOLDER_VALUES), Map.class);
+                new PlaceholdersCheck(mapping.getHeader().getParameters(), placeholderMap).execute();
+            } catch (JsonProcessingException e) {
+                LOGGER.error(e.getMessage(), e);
+                LOGGER.error("Failed to read placeholders, continuing with orginial AAS...");
+            } catch (PlaceholderValueMissingException e) {
+                LOGGER.error(e.getMessage(), e);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        final Options options = new Options();
+
+        options.addOption(Option.builder("c")
+            .desc("Mapping config file, several files apply all of them to the same parsed single input")
+            .longOpt(OPTION_NAME_CONFIG).hasArgs().argName("CONFIG_FILE").required().build());
+
+        options.addOption(Option.builder("P").desc("Map of placeholder values in JSON format")
+            .longOpt(OPTION_NAME_PLACEHOLDER_VALUES).hasArg().argName("PLACEHOLDER_VALUES_JSON").build());
+
+        OptionGroup optionGroup = new OptionGroup();
+        optionGroup.addOption(Option.builder("a").desc("AML input file").longOpt(OPTION_NAME_AML_INPUT_FILE).hasArg()
+            .argName("AML_INPUT_FILE").build());
+        optionGroup.addOption(Option.builder("amlx").desc("AMLX input file").longOpt(OPTION_NAME_AMLX_INPUT_FILE)
+            .hasArg().argName("AMLX_INPUT_FILE").build());
+        optionGroup.addOption(Option.builder("ua").desc("UA NodeSet input file").longOpt(OPTION_NAME_NODESET_INPUT_FILE)
+            .hasArg().argName("NODESET_INPUT_FILE").build());
+        optionGroup.addOption(Option.builder("xml").desc("Generic input file").longOpt(OPTION_NAME_GENERIC_INPUT_FILE)
+            .hasArg().argName("GENERIC_INPUT_FILE").build());
+
+        options.addOptionGroup(optionGroup);
+
+        options.addOption(Option.builder("p").desc("Print placeholders with description")
+            .longOpt(OPTION_NAME_PRINT_PLACEHOLDERS).build());
+
+        options.addOption(Option.builder("t").desc("Number of threads used to transform top level templates concurrently")
+            .longOpt(OPTION_NAME_THREADS).hasArg().argName("THREADS").build());
+
+        options.addOption(Option.builder("i").desc("Share structurally equal references, keys, lang strings and qualifiers in the result")
+            .longOpt(OPTION_NAME_INTERN).build());
+
+        options.addOption(Option.builder("M")
+            .desc("File with one JSON map of placeholder values per line, one AAS file is written per line")
+            .longOpt(OPTION_NAME_PLACEHOLDER_MATRIX).hasArg().argName("PLACEHOLDER_VALUES_JSONL").build());
+
+        options.addOption(Option.builder("C")
+            .desc("Directory of a cache of transformation results, byte-identical requests are answered from it")
+            .longOpt(OPTION_NAME_CACHE_DIR).hasArg().argName("CACHE_DIR").build());
+
+        options.addOption(Option.builder().desc("Maximum size of the result cache in MB, defaults to 1024")
+            .longOpt(OPTION_NAME_CACHE_SIZE).hasArg().argName("MB").build());
+
+        options.addOption(Option.builder()
+            .desc("Directory of precompiled snapshots of the mapping config files, reused while a config file is unchanged")
+            .longOpt(OPTION_NAME_SNAPSHOT_DIR).hasArg().argName("SNAPSHOT_DIR").build());
+
+        options.addOption(Option.builder("b")
+            .desc("Batch mode: the input is a directory, a glob pattern or @ followed by a file containing one input per line")
+            .longOpt(OPTION_NAME_BATCH).build());
+
+        options.addOption(Option.builder("o").desc("Output directory of the batch mode, default is next to each input")
+            .longOpt(OPTION_NAME_OUTPUT_DIR).hasArg().argName("OUTPUT_DIR").build());
+
+        options.addOption(Option.builder("w").desc("Number of inputs transformed concurrently in batch mode")
+            .longOpt(OPTION_NAME_WORKERS).hasArg().argName("WORKERS").build());
+
+        options.addOption(Option.builder("s")
+            .desc("Server mode: listen on the given local port and transform the bodies of POST /transform/{aml|amlx|ua|xml}")
+            .longOpt(OPTION_NAME_SERVER).hasArg().argName("PORT").build());
+
+        options.addOption(Option.builder()
+            .desc("Server mode: reload the mapping config file in the background when it changes")
+            .longOpt(OPTION_NAME_WATCH).build());
+
+        options.addOption(Option.builder()
+            .desc("Profile the mapping: log the time per phase, template and expression and write it to CONFIG_FILE.profile.json")
+            .longOpt(OPTION_NAME_PROFILE).build());
+
+        options.addOption(Option.builder()
+            .desc("Convert the mapping config file to OUTPUT_FILE instead of transforming, to JSON if the name ends with .json, otherwise to the binary Smile format")
+            .longOpt(OPTION_NAME_CONVERT).hasArg().argName("OUTPUT_FILE").build());
+
+        final CommandLineParser parser = new DefaultParser();
+        ConsoleApplication application = null;
+        try {
+            CommandLine commandLine = parser.parse(options, args);
+            application = new ConsoleApplication(commandLine);
+        } catch (ParseException | IllegalArgumentException e) {
+            final String header = "Transform XML file into an AAS structured file\n\n";
+            final String footer = "\n" + e.getMessage();
+            final HelpFormatter formatter = new HelpFormatter();
+            formatter.printHelp("transform", header, options, footer, true);
+            return;
+        }
+
+        if (application.commandLine.hasOption(OPTION_NAME_CONVERT)) {
+            application.convertConfig();
+            return;
+        }
+
+        try {
+            application.loadConfig();
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+            return;
+        }
+        application.createProfile();
+
+        application.printPlaceholders();
+        application.readPlaceholders();
+
+        if (application.commandLine.hasOption(OPTION_NAME_SERVER)) {
+            application.serve();
+            return;
+        }
+        if (application.commandLine.hasOption(OPTION_NAME_BATCH)) {
+            application.transformBatch();
+        } else if (application.commandLine.hasOption(OPTION_NAME_PLACEHOLDER_MATRIX)) {
+            application.transformPlaceholderMatrix();
+        } else if (application.commandLine.hasOption(OPTION_NAME_CACHE_DIR)
+            && !application.commandLine.hasOption(OPTION_NAME_AMLX_INPUT_FILE)) {
+            application.transformCached();
+        } else if (application.mappings.size() > 1) {
+            application.transformFanOut();
+        } else {
+            try {
+                AssetAdministrationShellEnvironment intermediateAAS = application.transform();
+                application.writeAasToFile(intermediateAAS);
+            } finally {
+                application.closeAmlxPackage();
+            }
+        }
+        application.writeProfile();
+    }
+
+    /**
+     * Creates the profile before any transformer is configured, as batch and server workers share it.
+     */
+    private void createProfile() {
+        if (commandLine.hasOption(OPTION_NAME_PROFILE)) {
+            profile = MappingProfile.of(mapping);
+        }
+    }
+
+    private void writeProfile() {
+        if (profile == null) {
+            return;
+        }
+        LOGGER.info("Profile of mapping {}:\n{}", commandLine.getOptionValues(OPTION_NAME_CONFIG)[0], profile.toText());
+        String profileFileName = com.google.common.io.Files
+            .getNameWithoutExtension(commandLine.getOptionValues(OPTION_NAME_CONFIG)[0]) + ".profile.json";
+        try {
+            Files.writeString(Paths.get(profileFileName), profile.toJson());
+            LOGGER.info("Wrote mapping profile to {}", profileFileName);
+        } catch (IOException e) {
+            LOGGER.error(e.getMessage(), e);
+        }
+    }
+
+    private void writeAasToFile(AssetAdministrationShellEnvironment aasEnvReplaced) {
+        try {
+            String aasOutputFileName = null;
+            if (commandLine.hasOption(OPTION_NAME_AMLX_INPUT_FILE)) {
+                String amlxInputFileName = commandLine.getOptionValue(OPTION_NAME_AMLX_INPUT_FILE);
+                aasOutputFileName = deriveOutputFileName(amlxInputFileName);
+                writeAasToFile(aasOutputFileName, aasEnvReplaced);
+                copyDocumentsFromAMLX(amlxInputFileName);
+            } else if (commandLine.hasOption(OPTION_NAME_AML_INPUT_FILE)) {
+                String amlInputFileName = commandLine.getOptionValue(OPTION_NAME_AML_INPUT_FILE);
+                aasOutputFileName = deriveOutputFileName(amlInputFileName);
+                writeAasToFile(aasOutputFileName, aasEnvReplaced);
+            } else if (commandLine.hasOption(OPTION_NAME_NODESET_INPUT_FILE)) {
+                String nodesetInputFileName = commandLine.getOptionValue(OPTION_NAME_NODESET_INPUT_FILE);
+                aasOutputFileName = deriveOutputFileName(nodesetInputFileName);
+                writeAasToFile(aasOutputFileName, aasEnvReplaced);
+            } else if (commandLine.hasOption(OPTION_NAME_GENERIC_INPUT_FILE)) {
+                String genericInputFileName = commandLine.getOptionValue(OPTION_NAME_GENERIC_INPUT_FILE);
+                aasOutputFileName = deriveOutputFileName(genericInputFileName);
+                writeAasToFile(aasOutputFileName, aasEnvReplaced);
+            }
+        } catch (InvalidConfigException | TransformationException | IOException ex) {
+            LOGGER.error(ex.getMessage(), ex);
+        }
+    }
+
+    private void copyDocumentsFromAMLX(String amlxInputFileName) throws TransformationException, IOException {
+        String amlxDir = com.google.common.io.Files.getNameWithoutExtension(amlxInputFileName);
+        // reuse the package which has been validated and transformed before
+        try (AmlxPackage readAmlxPackage = amlxPackage != null ? amlxPackage
+            : new AmlxPackageReader().readAmlxPackage(Paths.get(amlxInputFileName).toFile())) {
+            new AmlxPartExtractor().extract(readAmlxPackage, Paths.get(amlxDir));
+        } finally {
+            amlxPackage = null;
+        }
+    }
+
+    /**
+     * Closes the package kept open by an AMLX transformation, also if the transformation or writing its
+     * result failed.
+     */
+    private void closeAmlxPackage() {
+        if (amlxPackage != null) {
+            amlxPackage.close();
+            amlxPackage = null;
+        }
+    }
+
+    private AssetAdministrationShellEnvironment transform() {
+        try {
+            if (commandLine.hasOption(OPTION_NAME_AMLX_INPUT_FILE)) {
+                String amlxInputFileName = commandLine.getOptionValue(OPTION_NAME_AMLX_INPUT_FILE);
+                return transformAmlx(amlxInputFileName);
+            } else if (commandLine.hasOption(OPTION_NAME_AML_INPUT_FILE)) {
+                String amlInputFileName = commandLine.getOptionValue(OPTION_NAME_AML_INPUT_FILE);
+                return transformAmlFile(amlInputFileName);
+            } else if (commandLine.hasOption(OPTION_NAME_NODESET_INPUT_FILE)) {
+                String nodesetInputFileName = commandLine.getOptionValue(OPTION_NAME_NODESET_INPUT_FILE);
+                return transformNodeSet(nodesetInputFileName);
+            } else if (commandLine.hasOption(OPTION_NAME_GENERIC_INPUT_FILE)) {
+                String genericInputFileName = commandLine.getOptionValue(OPTION_NAME_GENERIC_INPUT_FILE);
+                return transformGeneric(genericInputFileName);
+            }
+        } catch (IOException | TransformationException | InvalidConfigException ex) {
+            LOGGER.error(ex.getMessage(), ex);
+        }
+        LOGGER.error("No Transformation executed!");
+        return null;
+    }
+
+    private void transformFanOut() {
+        String[] configFileNames = commandLine.getOptionValues(OPTION_NAME_CONFIG);
+        try {
+            logHeaderInfo();
+            String inputFileName;
+            List<AssetAdministrationShellEnvironment> environments;
+            if (commandLine.hasOption(OPTION_NAME_AMLX_INPUT_FILE)) {
+                inputFileName = commandLine.getOptionValue(OPTION_NAME_AMLX_INPUT_FILE);
+                amlxPackage = new AmlxPackageReader().readAmlxPackage(Paths.get(inputFileName).toFile());
+                amlxPackage.loadAmlLibraries();
+                environments = configure(new AmlTransformer()).transformAll(amlxPackage.getRootAmlDocument(),
+                    mappings, placeholderMap);
+            } else if (commandLine.hasOption(OPTION_NAME_AML_INPUT_FILE)) {
+                inputFileName = commandLine.getOptionValue(OPTION_NAME_AML_INPUT_FILE);
+                environments = executeAll(new AmlTransformer(), inputFileName);
+            } else if (commandLine.hasOption(OPTION_NAME_NODESET_INPUT_FILE)) {
+                inputFileName = commandLine.getOptionValue(OPTION_NAME_NODESET_INPUT_FILE);
+                environments = executeAll(new UANodeSetTransformer(), inputFileName);
+            } else if (commandLine.hasOption(OPTION_NAME_GENERIC_INPUT_FILE)) {
+                inputFileName = commandLine.getOptionValue(OPTION_NAME_GENERIC_INPUT_FILE);
+                environments = executeAll(new GenericDocumentTransformer(), inputFileName);
+            } else {
+                LOGGER.error("No Transformation executed!");
+                return;
+            }
+            for (int i = 0; i < environments.size(); i++) {
+                writeAasToFile(deriveOutputFileName(inputFileName, configFileNames[i]), environments.get(i));
+            }
+            if (amlxPackage != null) {
+                copyDocumentsFromAMLX(inputFileName);
+            }
+        } catch (IOException | TransformationException | InvalidConfigException ex) {
+            LOGGER.error(ex.getMessage(), ex);
+        } finally {
+            closeAmlxPackage();
+        }
+    }
+
+    private void transformCached() {
+        String inputFileName;
+        DocumentTransformer transformer;
+        if (commandLine.hasOption(OPTION_NAME_AML_INPUT_FILE)) {
+            inputFileName = commandLine.getOptionValue(OPTION_NAME_AML_INPUT_FILE);
+            transformer = new AmlTransformer();
+        } else if (commandLine.hasOption(OPTION_NAME_NODESET_INPUT_FILE)) {
+            inputFileName = commandLine.getOptionValue(OPTION_NAME_NODESET_INPUT_FILE);
+            transformer = new UANodeSetTransformer();
+        } else if (commandLine.hasOption(OPTION_NAME_GENERIC_INPUT_FILE)) {
+            inputFileName = commandLine.getOptionValue(OPTION_NAME_GENERIC_INPUT_FILE);
+            transformer = new GenericDocumentTransformer();
+        } else {
+            LOGGER.error("No Transformation executed!");
+            return;
+        }
+        try {
+            long maximumBytes = commandLine.hasOption(OPTION_NAME_CACHE_SIZE)
+                ? Long.parseLong(commandLine.getOptionValue(OPTION_NAME_CACHE_SIZE)) * 1024 * 1024
+                : TransformationResultCache.DEFAULT_MAXIMUM_BYTES;
+            TransformationResultCache cache = new TransformationResultCache(
+                Paths.get(commandLine.getOptionValue(OPTION_NAME_CACHE_DIR)), maximumBytes);
+            logHeaderInfo();
+            configure(transformer).setResultCache(cache);
+            String aasOutputFileName = deriveOutputFileName(inputFileName);
+            try (InputStream inputStream = Files.newInputStream(Paths.get(inputFileName));
+                OutputStream outputStream = new BufferedOutputStream(
+                    Files.newOutputStream(Paths.get(aasOutputFileName)))) {
+                transformer.execute(inputStream, mapping, placeholderMap, outputStream);
+            }
+            LOGGER.info("Wrote AAS file to {}", aasOutputFileName);
+            LOGGER.info("Result cache: {}, {} entries with {} bytes", cache.getStats(), cache.size(),
+                cache.getTotalBytes());
+        } catch (IOException | TransformationException | SerializationException | IllegalArgumentException ex) {
+            LOGGER.error(ex.getMessage(), ex);
+        }
+    }
+
+    private void transformPlaceholderMatrix() {
+        Path matrixFile = Paths.get(commandLine.getOptionValue(OPTION_NAME_PLACEHOLDER_MATRIX));
+        try (MappingIterator<Map<String, String>> lines = new ObjectMapper().readerFor(Map.class)
+            .readValues(matrixFile.toFile())) {
+            logHeaderInfo();
+            // values given by -P are shared by all lines
+            Iterator<Map<String, String>> placeholderSets = Iterators.transform(lines, line -> {
+                Map<String, String> placeholderValues = new HashMap<>();
+                if (placeholderMap != null) {
+                    placeholderValues.putAll(placeholderMap);
+                }
+                placeholderValues.putAll(line);
+                new PlaceholdersCheck(mapping.getHeader().getParameters(), placeholderValues).execute();
+                return placeholderValues;
+            });
+            String inputFileName;
+            int[] line = {0};
+            if (commandLine.hasOption(OPTION_NAME_AMLX_INPUT_FILE)) {
+                inputFileName = commandLine.getOptionValue(OPTION_NAME_AMLX_INPUT_FILE);
+                amlxPackage = new AmlxPackageReader().readAmlxPackage(Paths.get(inputFileName).toFile());
+                amlxPackage.loadAmlLibraries();
+                configure(new AmlTransformer()).transformForPlaceholders(amlxPackage.getRootAmlDocument(), mapping,
+                    placeholderSets, env -> writeAasToFile(deriveOutputFileName(inputFileName, ++line[0]), env));
+                copyDocumentsFromAMLX(inputFileName);
+                LOGGER.info("Transformed {} placeholder sets", line[0]);
+                return;
+            }
+            DocumentTransformer transformer;
+            if (commandLine.hasOption(OPTION_NAME_AML_INPUT_FILE)) {
+                inputFileName = commandLine.getOptionValue(OPTION_NAME_AML_INPUT_FILE);
+                transformer = new AmlTransformer();
+            } else if (commandLine.hasOption(OPTION_NAME_NODESET_INPUT_FILE)) {
+                inputFileName = commandLine.getOptionValue(OPTION_NAME_NODESET_INPUT_FILE);
+                transformer = new UANodeSetTransformer();
+            } else if (commandLine.hasOption(OPTION_NAME_GENERIC_INPUT_FILE)) {
+                inputFileName = commandLine.getOptionValue(OPTION_NAME_GENERIC_INPUT_FILE);
+                transformer = new GenericDocumentTransformer();
+            } else {
+                LOGGER.error("No Transformation executed!");
+                return;
+            }
+            try (InputStream inputStream = Files.newInputStream(Paths.get(inputFileName))) {
+                configure(transformer).executeForPlaceholders(inputStream, mapping, placeholderSets,
+                    env -> writeAasToFile(deriveOutputFileName(inputFileName, ++line[0]), env));
+            }
+            LOGGER.info("Transformed {} placeholder sets", line[0]);
+        } catch (IOException | TransformationException | InvalidConfigException
+            | PlaceholderValueMissingException ex) {
+            LOGGER.error(ex.getMessage(), ex);
+        } finally {
+            closeAmlxPackage();
+        }
+    }
+
+    private void transformBatch() {
+        BatchTransformation.InputType inputType;
+        String inputSpecification;
+        if (commandLine.hasOption(OPTION_NAME_AMLX_INPUT_FILE)) {
+            inputType = BatchTransformation.InputType.AMLX;
+            inputSpecification = commandLine.getOptionValue(OPTION_NAME_AMLX_INPUT_FILE);
+        } else if (commandLine.hasOption(OPTION_NAME_AML_INPUT_FILE)) {
+            inputType = BatchTransformation.InputType.AML;
+            inputSpecification = commandLine.getOptionValue(OPTION_NAME_AML_INPUT_FILE);
+        } else if (commandLine.hasOption(OPTION_NAME_NODESET_INPUT_FILE)) {
+            inputType = BatchTransformation.InputType.UA;
+            inputSpecification = commandLine.getOptionValue(OPTION_NAME_NODESET_INPUT_FILE);
+        } else if (commandLine.hasOption(OPTION_NAME_GENERIC_INPUT_FILE)) {
+            inputType = BatchTransformation.InputType.XML;
+            inputSpecification = commandLine.getOptionValue(OPTION_NAME_GENERIC_INPUT_FILE);
+        } else {
+            LOGGER.error("No input given for batch mode!");
+            return;
+        }
+        try {
+            logHeaderInfo();
+            BatchTransformation batch = new BatchTransformation(mapping, placeholderMap, inputType, this::configure);
+            if (commandLine.hasOption(OPTION_NAME_OUTPUT_DIR)) {
+                batch.setOutputDirectory(Paths.get(commandLine.getOptionValue(OPTION_NAME_OUTPUT_DIR)));
+            }
+            if (commandLine.hasOption(OPTION_NAME_WORKERS)) {
+                batch.setWorkers(Integer.parseInt(commandLine.getOptionValue(OPTION_NAME_WORKERS)));
+            }
+            List<Path> inputs = BatchTransformation.resolveInputs(inputSpecification, inputType);
+            LOGGER.info("Transforming {} inputs", inputs.size());
+            batch.run(inputs).log();
+        } catch (IOException | IllegalArgumentException ex) {
+            LOGGER.error(ex.getMessage(), ex);
+        }
+    }
+
+    private void serve() {
+        MappingSpecificationWatcher watcher = null;
+        TransformationServer server;
+        try {
+            if (commandLine.hasOption(OPTION_NAME_WATCH)) {
+                // the mapping is already parsed, so the watcher takes it from the registry
+                watcher = new MappingSpecificationWatcher(
+                    Paths.get(commandLine.getOptionValues(OPTION_NAME_CONFIG)[0]), getMappingRegistry());
+                server = new TransformationServer(watcher, this::configure);
+            } else {
+                server = new TransformationServer(mapping, this::configure);
+            }
+        } catch (IOException ex) {
+            LOGGER.error(ex.getMessage(), ex);
+            return;
+        }
+        MappingSpecificationWatcher mappingWatcher = watcher;
+        try {
+            logHeaderInfo();
+            if (commandLine.hasOption(OPTION_NAME_WORKERS)) {
+                server.setWorkers(Integer.parseInt(commandLine.getOptionValue(OPTION_NAME_WORKERS)));
+            }
+            int port = Integer.parseInt(commandLine.getOptionValue(OPTION_NAME_SERVER));
+            server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.close();
+                closeQuietly(mappingWatcher);
+            }, "aas-server-shutdown"));
+        } catch (IOException | TransformationException | IllegalArgumentException ex) {
+            LOGGER.error(ex.getMessage(), ex);
+            server.close();
+            closeQuietly(mappingWatcher);
+        }
+    }
+
+    private static void closeQuietly(MappingSpecificationWatcher watcher) {
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException e) {
+                LOGGER.warn("Unable to stop watching the mapping config file", e);
+            }
+        }
+    }
+
+    private void convertConfig() {
+        Path configFile = Paths.get(commandLine.getOptionValues(OPTION_NAME_CONFIG)[0]);
+        Path outputFile = Paths.get(commandLine.getOptionValue(OPTION_NAME_CONVERT));
+        try {
+            byte[] content = Files.readAllBytes(configFile);
+            // an existing output file is only replaced if the config can be converted
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            if (outputFile.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json")) {
+                mappingParser.convertToJson(content, outputStream);
+            } else {
+                mappingParser.convertToSmile(content, outputStream);
+            }
+            Files.write(outputFile, outputStream.toByteArray());
+            LOGGER.info("Converted {} with {} bytes to {} with {} bytes", configFile, content.length, outputFile,
+                outputStream.size());
+        } catch (IOException ex) {
+            LOGGER.error(ex.getMessage(), ex);
+        }
+    }
+
+    private void printPlaceholders() {
+        if (commandLine.hasOption(OPTION_NAME_PRINT_PLACEHOLDERS)) {
+            logHeaderInfo();
+            List<Parameter> placeholders = mapping.getHeader().getParameters();
+
+            LOGGER.info("{} placeholders are expected according to header:", placeholders.size());
+            placeholders
+                .forEach(placeholder -> LOGGER.info("{}: {}", placeholder.getName(), placeholder.getDescription()));
+        }
+    }
+
+}
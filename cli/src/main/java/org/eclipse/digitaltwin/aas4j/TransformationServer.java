@@ -0,0 +1,291 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.dom4j.Document;
+import org.eclipse.digitaltwin.aas4j.aml.amlx.AmlxAttachmentHandler;
+import org.eclipse.digitaltwin.aas4j.aml.amlx.AmlxStreamReader;
+import org.eclipse.digitaltwin.aas4j.aml.transform.AmlTransformer;
+import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
+import org.eclipse.digitaltwin.aas4j.mapping.MappingSpecificationWatcher;
+import org.eclipse.digitaltwin.aas4j.mapping.model.Header;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.placeholder.exceptions.PlaceholderValueMissingException;
+import org.eclipse.digitaltwin.aas4j.transform.DocumentTransformer;
+import org.eclipse.digitaltwin.aas4j.transform.GenericDocumentTransformer;
+import org.eclipse.digitaltwin.aas4j.transform.StreamingJsonSerializer;
+import org.eclipse.digitaltwin.aas4j.transform.validation.PlaceholdersCheck;
+import org.eclipse.digitaltwin.aas4j.ua.transform.UANodeSetTransformer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+
+// @formatter:off
+/**
+ * Long running HTTP server which transforms request bodies with a preloaded MappingSpecification, so
+ * that a request does not pay for JVM startup, mapping parsing and schema compilation. Endpoints:
+ *
+ * <pre>
+ * POST /transform/aml|amlx|ua|xml  transforms the request body and responds with the AAS environment as JSON,
+ *                                  placeholder values are given as JSON object in the header X-Placeholder-Values
+ * GET  /health                     responds with {"status":"UP"}
+ * GET  /metrics                    responds with request counters and latencies as JSON
+ * </pre>
+ *
+ * Requests are handled concurrently by a pool of worker threads. The server is meant to be bound to
+ * the loopback interface, it does not authenticate its clients.
+ */
+// @formatter:on
+public class TransformationServer implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    public static final String HEADER_PLACEHOLDER_VALUES = "X-Placeholder-Values";
+
+    private static final String CONTENT_TYPE_JSON = "application/json";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Supplier<MappingSpecification> mappings;
+    private final UnaryOperator<DocumentTransformer> configurer;
+    private int workers = Runtime.getRuntime().availableProcessors();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final LongAdder transformationNanos = new LongAdder();
+    private final AtomicLong maxTransformationNanos = new AtomicLong();
+
+    /**
+     * @param mapping the loaded mapping, shared by all requests
+     * @param configurer called for each transformer before it is used, e.g. to add post processors
+     */
+    public TransformationServer(MappingSpecification mapping, UnaryOperator<DocumentTransformer> configurer) {
+        this(() -> mapping, configurer);
+    }
+
+    /**
+     * @param mappings supplies the mapping of each request, e.g. a {@link MappingSpecificationWatcher} which
+     *        reloads a changed mapping file; a request uses the same mapping from start to end
+     * @param configurer called for each transformer before it is used, e.g. to add post processors
+     */
+    public TransformationServer(Supplier<MappingSpecification> mappings,
+        UnaryOperator<DocumentTransformer> configurer) {
+        this.mappings = mappings;
+        this.configurer = configurer;
+    }
+
+    /**
+     * @param workers number of requests handled concurrently, defaults to the number of available
+     *        processors
+     */
+    public void setWorkers(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("Number of workers must be at least 1, but was " + workers);
+        }
+        this.workers = workers;
+    }
+
+    /**
+     * Compiles the XSD schemas and starts the server.
+     *
+     * @param address the address to bind to, port 0 chooses a free port
+     * @throws IOException If the server can not be bound
+     * @throws TransformationException If a schema can not be compiled
+     */
+    public void start(InetSocketAddress address) throws IOException, TransformationException {
+        new AmlTransformer().getSchemaValidator().loadSchema();
+        new UANodeSetTransformer().getSchemaValidator().loadSchema();
+
+        executor = Executors.newFixedThreadPool(workers,
+            new ThreadFactoryBuilder().setNameFormat("aas-server-%d").build());
+        server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/transform/", this::handleTransform);
+        server.createContext("/health", exchange -> {
+            if (allowMethod(exchange, "GET")) {
+                respond(exchange, 200, "{\"status\":\"UP\"}");
+            }
+        });
+        server.createContext("/metrics", exchange -> {
+            if (allowMethod(exchange, "GET")) {
+                respond(exchange, 200, OBJECT_MAPPER.writeValueAsString(getMetrics()));
+            }
+        });
+        server.start();
+        LOGGER.info("Transformation server listening on {}", getAddress());
+    }
+
+    /**
+     * @return the address the server is bound to
+     */
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * @return request counters and transformation latencies
+     */
+    public Map<String, Object> getMetrics() {
+        long completed = requests.sum() - inFlight.get();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("requests", requests.sum());
+        metrics.put("failures", failures.sum());
+        metrics.put("inFlight", inFlight.get());
+        metrics.put("averageMillis", completed == 0 ? 0.0 : transformationNanos.sum() / 1e6 / completed);
+        metrics.put("maxMillis", maxTransformationNanos.get() / 1e6);
+        return metrics;
+    }
+
+    /**
+     * Stops accepting requests and waits up to one second for running requests.
+     */
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(1);
+            executor.shutdown();
+            LOGGER.info("Transformation server stopped");
+        }
+    }
+
+    private void handleTransform(HttpExchange exchange) throws IOException {
+        if (!allowMethod(exchange, "POST")) {
+            return;
+        }
+        BatchTransformation.InputType inputType;
+        try {
+            String type = exchange.getRequestURI().getPath().substring("/transform/".length());
+            inputType = BatchTransformation.InputType.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            respondError(exchange, 404, "Unknown input type, use one of aml, amlx, ua or xml");
+            return;
+        }
+
+        requests.increment();
+        inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        // the bookkeeping must also be done if responding fails, e.g. because the client has gone away
+        try {
+            AssetAdministrationShellEnvironment aasEnvironment;
+            try (InputStream body = exchange.getRequestBody()) {
+                MappingSpecification mapping = mappings.get();
+                Map<String, String> placeholderValues = readPlaceholderValues(exchange, mapping);
+                aasEnvironment = transform(inputType, body, mapping, placeholderValues);
+            } catch (JsonProcessingException | PlaceholderValueMissingException e) {
+                failures.increment();
+                respondError(exchange, 400, e.getMessage());
+                return;
+            } catch (TransformationException e) {
+                failures.increment();
+                respondError(exchange, 422, e.getMessage());
+                return;
+            } catch (Exception e) {
+                failures.increment();
+                LOGGER.error("Transformation request failed", e);
+                respondError(exchange, 500, e.getMessage());
+                return;
+            }
+            try {
+                exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE_JSON);
+                exchange.sendResponseHeaders(200, 0);
+                try (OutputStream responseBody = new BufferedOutputStream(exchange.getResponseBody())) {
+                    new StreamingJsonSerializer().write(responseBody, aasEnvironment);
+                }
+            } catch (Exception e) {
+                // the status has already been sent, the client notices the truncated response
+                failures.increment();
+                LOGGER.error("Writing the transformation response failed", e);
+            }
+        } finally {
+            long nanos = System.nanoTime() - start;
+            transformationNanos.add(nanos);
+            maxTransformationNanos.accumulateAndGet(nanos, Math::max);
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private Map<String, String> readPlaceholderValues(HttpExchange exchange, MappingSpecification mapping)
+        throws JsonProcessingException {
+        String placeholderValuesJson = exchange.getRequestHeaders().getFirst(HEADER_PLACEHOLDER_VALUES);
+        if (placeholderValuesJson == null) {
+            return null;
+        }
+        Map<String, String> placeholderValues = OBJECT_MAPPER.readValue(placeholderValuesJson,
+            new TypeReference<Map<String, String>>() {});
+        Header header = mapping.getHeader() == null ? new Header() : mapping.getHeader();
+        new PlaceholdersCheck(header.getParameters(), placeholderValues).execute();
+        return placeholderValues;
+    }
+
+    private AssetAdministrationShellEnvironment transform(BatchTransformation.InputType inputType, InputStream body,
+        MappingSpecification mapping, Map<String, String> placeholderValues) throws TransformationException {
+        switch (inputType) {
+            case AMLX:
+                // attachments are not part of the response, so they are skipped while reading the package, the
+                // AML libraries are registered by the reader
+                Document rootDocument = new AmlxStreamReader().readRootAmlDocument(body, AmlxAttachmentHandler.SKIP);
+                return configurer.apply(new AmlTransformer()).transform(rootDocument, mapping, placeholderValues);
+            case AML:
+                return configurer.apply(new AmlTransformer()).execute(body, mapping, placeholderValues);
+            case UA:
+                return configurer.apply(new UANodeSetTransformer()).execute(body, mapping, placeholderValues);
+            default:
+                return configurer.apply(new GenericDocumentTransformer()).execute(body, mapping, placeholderValues);
+        }
+    }
+
+    private boolean allowMethod(HttpExchange exchange, String method) throws IOException {
+        if (method.equals(exchange.getRequestMethod())) {
+            return true;
+        }
+        exchange.getResponseHeaders().set("Allow", method);
+        respondError(exchange, 405, "Method not allowed");
+        return false;
+    }
+
+    private void respondError(HttpExchange exchange, int status, String message) throws IOException {
+        respond(exchange, status, OBJECT_MAPPER.writeValueAsString(Map.of("error", String.valueOf(message))));
+    }
+
+    private void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] content = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE_JSON);
+        exchange.sendResponseHeaders(status, content.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(content);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.eclipse.digitaltwin.aas4j.mapping.MappingSpecificationParser;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+
+import io.adminshell.aas.v3.dataformat.json.JsonDeserializer;
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+
+class BatchTransformationTest {
+
+    private static final String CONFIG_FILE_PATH = "src/test/resources/mappings/generic/genericXpathTest.json";
+    private static final String GENERIC_FILE_PATH = "src/test/resources/mappings/generic/generic.xml";
+
+    @TempDir
+    Path inputDirectory;
+
+    private MappingSpecification mapping;
+
+    @BeforeEach
+    void setup() throws Exception {
+        TestUtils.resetBindings();
+        mapping = new MappingSpecificationParser().loadMappingSpecification(CONFIG_FILE_PATH);
+        Files.createDirectories(inputDirectory.resolve("sub"));
+        Files.copy(Paths.get(GENERIC_FILE_PATH), inputDirectory.resolve("first.xml"));
+        Files.copy(Paths.get(GENERIC_FILE_PATH), inputDirectory.resolve("sub/second.xml"));
+        Files.writeString(inputDirectory.resolve("sub/invalid.xml"), "no xml");
+        Files.writeString(inputDirectory.resolve("ignored.txt"), "not an input");
+    }
+
+    @Test
+    void resolveInputs() throws Exception {
+        List<Path> expected = List.of(inputDirectory.resolve("first.xml"), inputDirectory.resolve("sub/invalid.xml"),
+            inputDirectory.resolve("sub/second.xml"));
+
+        assertThat(BatchTransformation.resolveInputs(inputDirectory.toString(), BatchTransformation.InputType.XML))
+            .containsExactlyElementsIn(expected).inOrder();
+        assertThat(BatchTransformation.resolveInputs(inputDirectory + "/**.xml", BatchTransformation.InputType.XML))
+            .containsExactlyElementsIn(expected).inOrder();
+        assertThat(BatchTransformation.resolveInputs(inputDirectory + "/sub/s*.xml", BatchTransformation.InputType.XML))
+            .containsExactly(inputDirectory.resolve("sub/second.xml"));
+
+        Path fileList = inputDirectory.resolve("inputs.txt");
+        Files.writeString(fileList, inputDirectory.resolve("sub/second.xml") + "\n\n# comment\n"
+            + inputDirectory.resolve("first.xml") + "\n");
+        assertThat(BatchTransformation.resolveInputs("@" + fileList, BatchTransformation.InputType.XML))
+            .containsExactly(inputDirectory.resolve("sub/second.xml"), inputDirectory.resolve("first.xml")).inOrder();
+    }
+
+    @Test
+    void runWritesOutputsAndRecordsFailures() throws Exception {
+        BatchTransformation batch = new BatchTransformation(mapping, null, BatchTransformation.InputType.XML,
+            transformer -> transformer);
+        batch.setWorkers(2);
+        List<Path> inputs = BatchTransformation.resolveInputs(inputDirectory.toString(), BatchTransformation.InputType.XML);
+
+        BatchTransformation.Summary summary = batch.run(inputs);
+
+        assertThat(summary.getSucceeded()).isEqualTo(2);
+        assertThat(summary.getFailures().keySet()).containsExactly(inputDirectory.resolve("sub/invalid.xml"));
+        assertThat(summary.getInputBytes()).isEqualTo(2 * Files.size(Paths.get(GENERIC_FILE_PATH)));
+        String firstJson = Files.readString(inputDirectory.resolve("first.json"));
+        AssetAdministrationShellEnvironment first = new JsonDeserializer().read(firstJson);
+        assertThat(first.getSubmodels()).isNotEmpty();
+        assertThat(Files.readString(inputDirectory.resolve("sub/second.json"))).isEqualTo(firstJson);
+        summary.log();
+    }
+
+    @Test
+    void runWritesToOutputDirectory() throws Exception {
+        Path outputDirectory = inputDirectory.resolve("out");
+        BatchTransformation batch = new BatchTransformation(mapping, null, BatchTransformation.InputType.XML,
+            transformer -> transformer);
+        batch.setOutputDirectory(outputDirectory);
+
+        BatchTransformation.Summary summary = batch.run(List.of(inputDirectory.resolve("first.xml")));
+
+        assertThat(summary.getFailures()).isEmpty();
+        assertThat(Files.exists(outputDirectory.resolve("first.json"))).isTrue();
+    }
+
+    @Test
+    void runRecordsMissingInput() throws Exception {
+        BatchTransformation batch = new BatchTransformation(mapping, null, BatchTransformation.InputType.XML,
+            transformer -> transformer);
+        Path missing = inputDirectory.resolve("missing.xml");
+
+        BatchTransformation.Summary summary = batch.run(List.of(inputDirectory.resolve("first.xml"), missing));
+
+        assertThat(summary.getSucceeded()).isEqualTo(1);
+        assertThat(summary.getFailures().keySet()).containsExactly(missing);
+        assertThat(summary.getInputBytes()).isEqualTo(Files.size(Paths.get(GENERIC_FILE_PATH)));
+    }
+}
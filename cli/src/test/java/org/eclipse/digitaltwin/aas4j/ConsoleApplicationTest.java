@@ -22,6 +22,7 @@ import org.apache.commons.cli.CommandLine;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
 import org.eclipse.digitaltwin.aas4j.aml.helper.AmlxPackageCreator;
@@ -44,6 +45,7 @@ public class ConsoleApplicationTest {
     private final String EMPTY_CONFIG_FILE_PATH = "src/test/resources/config/emptyConfig.json";
     private final String AML_FILE_PATH = "src/test/resources/aml/full_AutomationComponent.aml";
     private final String GENERIC_FILE_PATH = "src/test/resources/mappings/generic/generic.xml";
+    private final String STATIC_CONFIG_FILE_PATH = "src/test/resources/mappings/generic/staticOnlyTest.json";
 
     private ConsoleApplication classUnderTest;
 
@@ -228,4 +230,147 @@ public class ConsoleApplicationTest {
         assertThat(getPrinted()).contains("Wrote AAS file");
         assertTrue(outputFile.delete());;
     }
+
+    @Test
+    void transformBatch(@TempDir Path directory) throws Exception {
+        Path inputDirectory = Files.createDirectories(directory.resolve("in"));
+        Path outputDirectory = directory.resolve("out");
+        Files.copy(Paths.get(GENERIC_FILE_PATH), inputDirectory.resolve("first.xml"));
+        Files.copy(Paths.get(GENERIC_FILE_PATH), inputDirectory.resolve("second.xml"));
+
+        ConsoleApplication.main(new String[] {"-c", CONFIG_FILE_PATH, "-b", "-xml", inputDirectory.toString(), "-o",
+            outputDirectory.toString(), "-w", "2", "-P", "{\"genericPlaceholder\": \"batched\"}"});
+
+        assertThat(getPrinted()).contains("Transformed 2 of 2 inputs");
+        assertThat(Files.readString(outputDirectory.resolve("first.json"))).contains("batched");
+        assertThat(Files.readString(outputDirectory.resolve("second.json"))).contains("batched");
+    }
+
+    @Test
+    void transformPlaceholderMatrix(@TempDir Path directory) throws Exception {
+        Path input = Files.copy(Paths.get(GENERIC_FILE_PATH), directory.resolve("matrixInput.xml"));
+        Path matrix = Files.writeString(directory.resolve("matrix.jsonl"),
+            "{\"genericPlaceholder\": \"firstLine\"}\n{\"genericPlaceholder\": \"secondLine\"}\n");
+        Path firstOutput = Paths.get(classUnderTest.deriveOutputFileName(input.toString(), 1));
+        Path secondOutput = Paths.get(classUnderTest.deriveOutputFileName(input.toString(), 2));
+
+        ConsoleApplication.main(new String[] {"-c", CONFIG_FILE_PATH, "-xml", input.toString(), "-M",
+            matrix.toString()});
+
+        try {
+            assertThat(getPrinted()).contains("Transformed 2 placeholder sets");
+            assertThat(Files.readString(firstOutput)).contains("firstLine");
+            assertThat(Files.readString(secondOutput)).contains("secondLine");
+        } finally {
+            Files.deleteIfExists(firstOutput);
+            Files.deleteIfExists(secondOutput);
+        }
+    }
+
+    @Test
+    void transformCached(@TempDir Path directory) throws Exception {
+        Path input = Files.copy(Paths.get(GENERIC_FILE_PATH), directory.resolve("cachedInput.xml"));
+        Path cacheDirectory = directory.resolve("cache");
+        Path output = Paths.get(classUnderTest.deriveOutputFileName(input.toString()));
+        String[] args = {"-c", CONFIG_FILE_PATH, "-xml", input.toString(), "-C", cacheDirectory.toString(), "-P",
+            "{\"genericPlaceholder\": \"cached\"}"};
+
+        try {
+            ConsoleApplication.main(args);
+            assertThat(getPrinted()).contains("hitCount=0, missCount=1");
+            String transformed = Files.readString(output);
+            assertThat(transformed).contains("cached");
+
+            outContent.reset();
+            errContent.reset();
+            Files.delete(output);
+            ConsoleApplication.main(args);
+            assertThat(getPrinted()).contains("hitCount=1, missCount=0");
+            assertThat(getPrinted()).contains("1 entries");
+            assertThat(Files.readString(output)).isEqualTo(transformed);
+
+            outContent.reset();
+            errContent.reset();
+            args[args.length - 1] = "{\"genericPlaceholder\": \"changed\"}";
+            ConsoleApplication.main(args);
+            assertThat(getPrinted()).contains("hitCount=0, missCount=1");
+            assertThat(getPrinted()).contains("2 entries");
+            assertThat(Files.readString(output)).contains("changed");
+        } finally {
+            Files.deleteIfExists(output);
+        }
+    }
+
+    @Test
+    void fanOutConfigs() throws Exception {
+        File genericFile = new File(GENERIC_FILE_PATH);
+        Path xpathOutput = Paths.get(
+            classUnderTest.deriveOutputFileName(genericFile.getAbsolutePath(), CONFIG_FILE_PATH));
+        Path staticOutput = Paths.get(
+            classUnderTest.deriveOutputFileName(genericFile.getAbsolutePath(), STATIC_CONFIG_FILE_PATH));
+
+        ConsoleApplication.main(new String[] {"-c", CONFIG_FILE_PATH, STATIC_CONFIG_FILE_PATH, "-xml",
+            genericFile.getAbsolutePath(), "-P", "{\"genericPlaceholder\": \"fannedOut\"}"});
+
+        try {
+            assertThat(getPrinted()).contains("Wrote AAS file");
+            assertThat(Files.readString(xpathOutput)).contains("fannedOut");
+            AssetAdministrationShellEnvironment staticEnv = new JsonDeserializer().read(Files.readString(staticOutput));
+            assertThat(staticEnv.getSubmodels().get(0).getIdShort()).isEqualTo("staticSubmodel");
+        } finally {
+            Files.deleteIfExists(xpathOutput);
+            Files.deleteIfExists(staticOutput);
+        }
+    }
+
+    @Test
+    void fanOutConfigsWithBatchIsRejected() throws Exception {
+        ConsoleApplication.main(new String[] {"-c", CONFIG_FILE_PATH, STATIC_CONFIG_FILE_PATH, "-b", "-xml",
+            GENERIC_FILE_PATH});
+
+        assertThat(getPrinted()).contains(HELP_CONTENT);
+        assertThat(getPrinted()).contains("Several config files cannot be combined");
+    }
+
+    @Test
+    void profileWithWatchIsRejected() throws Exception {
+        ConsoleApplication.main(new String[] {"-c", CONFIG_FILE_PATH, "-s", "0", "--watch", "--profile"});
+
+        assertThat(getPrinted()).contains(HELP_CONTENT);
+        assertThat(getPrinted()).contains("--profile cannot be combined with --watch");
+    }
+
+    @Test
+    void convertConfig(@TempDir Path directory) throws Exception {
+        Path smileConfig = directory.resolve("genericXpathTest.sml");
+        Path jsonConfig = directory.resolve("genericXpathTest.json");
+
+        ConsoleApplication.main(new String[] {"-c", CONFIG_FILE_PATH, "--convert", smileConfig.toString()});
+        ConsoleApplication.main(new String[] {"-c", smileConfig.toString(), "--convert", jsonConfig.toString()});
+
+        assertThat(getPrinted()).contains("Converted");
+        assertThat(Files.readAllBytes(smileConfig)[0]).isEqualTo((byte) ':');
+        assertThat(Files.readString(jsonConfig)).contains("\"genericPlaceholder\"");
+
+        File genericFile = new File(GENERIC_FILE_PATH);
+        File outputFile = new File(classUnderTest.deriveOutputFileName(genericFile.getAbsolutePath()));
+        ConsoleApplication.main(new String[] {"-c", smileConfig.toString(), "-xml", genericFile.getAbsolutePath(),
+            "-P", "{\"genericPlaceholder\": \"fromSmile\"}"});
+        assertThat(getPrinted()).contains("Wrote AAS file");
+        assertThat(Files.readString(outputFile.toPath())).contains("fromSmile");
+        assertTrue(outputFile.delete());
+    }
+
+    @Test
+    void convertInvalidConfigKeepsOutputFile(@TempDir Path directory) throws Exception {
+        Path invalidConfig = directory.resolve("invalid.json");
+        Path jsonConfig = directory.resolve("converted.json");
+        Files.writeString(invalidConfig, "{\"aasEnvironmentMapping\": ");
+        Files.writeString(jsonConfig, "previous");
+
+        ConsoleApplication.main(new String[] {"-c", invalidConfig.toString(), "--convert", jsonConfig.toString()});
+
+        assertThat(getPrinted()).doesNotContain("Converted");
+        assertThat(Files.readString(jsonConfig)).isEqualTo("previous");
+    }
 }
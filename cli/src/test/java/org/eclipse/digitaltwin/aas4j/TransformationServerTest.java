@@ -0,0 +1,162 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.File;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.eclipse.digitaltwin.aas4j.aml.helper.AmlxPackageCreator;
+import org.eclipse.digitaltwin.aas4j.mapping.MappingSpecificationParser;
+import org.eclipse.digitaltwin.aas4j.mapping.MappingSpecificationWatcher;
+
+import io.adminshell.aas.v3.dataformat.json.JsonDeserializer;
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+import io.adminshell.aas.v3.model.Property;
+
+class TransformationServerTest {
+
+    private static final String CONFIG_FILE_PATH = "src/test/resources/mappings/generic/genericXpathTest.json";
+    private static final String GENERIC_FILE_PATH = "src/test/resources/mappings/generic/generic.xml";
+
+    private TransformationServer server;
+    private HttpClient client;
+
+    @BeforeEach
+    void setup() throws Exception {
+        TestUtils.resetBindings();
+        server = new TransformationServer(new MappingSpecificationParser().loadMappingSpecification(CONFIG_FILE_PATH),
+            transformer -> transformer);
+        server.setWorkers(2);
+        server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void teardown() {
+        server.close();
+    }
+
+    @Test
+    void transformWithPlaceholders() throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/transform/xml"))
+            .header(TransformationServer.HEADER_PLACEHOLDER_VALUES, "{\"genericPlaceholder\":\"expectedValue\"}")
+            .POST(HttpRequest.BodyPublishers.ofFile(Paths.get(GENERIC_FILE_PATH))).build(),
+            HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        AssetAdministrationShellEnvironment aasEnvironment = new JsonDeserializer().read(response.body());
+        Property firstProperty = (Property) aasEnvironment.getSubmodels().get(0).getSubmodelElements().get(0);
+        assertThat(firstProperty.getValue()).isEqualTo("expectedValue");
+    }
+
+    @Test
+    void reportErrors() throws Exception {
+        assertThat(post("/transform/xml", "no xml").statusCode()).isEqualTo(422);
+        assertThat(post("/transform/pdf", "no xml").statusCode()).isEqualTo(404);
+        HttpResponse<String> missingPlaceholder = client.send(HttpRequest.newBuilder(uri("/transform/xml"))
+            .header(TransformationServer.HEADER_PLACEHOLDER_VALUES, "{}")
+            .POST(HttpRequest.BodyPublishers.ofFile(Paths.get(GENERIC_FILE_PATH))).build(),
+            HttpResponse.BodyHandlers.ofString());
+        assertThat(missingPlaceholder.statusCode()).isEqualTo(400);
+        assertThat(client.send(HttpRequest.newBuilder(uri("/transform/xml")).GET().build(),
+            HttpResponse.BodyHandlers.ofString()).statusCode()).isEqualTo(405);
+    }
+
+    @Test
+    void healthAndMetrics() throws Exception {
+        post("/transform/xml", "no xml");
+
+        HttpResponse<String> health = client.send(HttpRequest.newBuilder(uri("/health")).build(),
+            HttpResponse.BodyHandlers.ofString());
+        assertThat(health.statusCode()).isEqualTo(200);
+        assertThat(health.body()).contains("UP");
+
+        HttpResponse<String> metrics = client.send(HttpRequest.newBuilder(uri("/metrics")).build(),
+            HttpResponse.BodyHandlers.ofString());
+        assertThat(metrics.statusCode()).isEqualTo(200);
+        assertThat(metrics.body()).contains("\"requests\":1");
+        assertThat(metrics.body()).contains("\"failures\":1");
+    }
+
+    @Test
+    void reloadChangedMapping(@TempDir Path directory) throws Exception {
+        Path configFile = Files.copy(Paths.get(CONFIG_FILE_PATH), directory.resolve("mapping.json"));
+        try (MappingSpecificationWatcher watcher = new MappingSpecificationWatcher(configFile);
+            TransformationServer watchingServer = new TransformationServer(watcher, transformer -> transformer)) {
+            watchingServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            URI uri = URI.create("http://localhost:" + watchingServer.getAddress().getPort() + "/transform/xml");
+            assertThat(transformFirstValue(uri)).isEqualTo("expectedValue");
+
+            String config = new String(Files.readAllBytes(configFile), StandardCharsets.UTF_8);
+            Files.write(configFile, config.replaceAll("\\{\\s*\"@var\": \"genericPlaceholder\"\\s*\\}", "\"reloaded\"")
+                .getBytes(StandardCharsets.UTF_8));
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            String value = transformFirstValue(uri);
+            while (!"reloaded".equals(value) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+                value = transformFirstValue(uri);
+            }
+            assertThat(value).isEqualTo("reloaded");
+        }
+    }
+
+    @Test
+    void transformAmlxWithLibrary(@TempDir Path directory) throws Exception {
+        File amlxFile = AmlxPackageCreator.createMinimalAmlxWithLibrary(directory, "lib/RoleLib.aml",
+            "<CAEXFile xmlns=\"http://www.dke.de/CAEX\" FileName=\"RoleLib.aml\"><RoleClassLib Name=\"RoleLib\"/></CAEXFile>");
+        String mapping = "{\"aasEnvironmentMapping\": {\"submodels\": [{"
+            + "\"@foreach\": {\"@amlLibrary\": [\"/lib/RoleLib.aml\", \"caex:CAEXFile/caex:RoleClassLib\"]},"
+            + "\"@bind\": {\"idShort\": {\"@xpath\": \"@Name\"}}}]}}";
+        try (TransformationServer amlxServer = new TransformationServer(new MappingSpecificationParser()
+            .loadMappingSpecification(mapping.getBytes(StandardCharsets.UTF_8)), transformer -> transformer)) {
+            amlxServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                URI.create("http://localhost:" + amlxServer.getAddress().getPort() + "/transform/amlx"))
+                .POST(HttpRequest.BodyPublishers.ofFile(amlxFile.toPath())).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+            assertThat(response.statusCode()).isEqualTo(200);
+            AssetAdministrationShellEnvironment aasEnvironment = new JsonDeserializer().read(response.body());
+            assertThat(aasEnvironment.getSubmodels().get(0).getIdShort()).isEqualTo("RoleLib");
+        }
+    }
+
+    private String transformFirstValue(URI uri) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri)
+            .header(TransformationServer.HEADER_PLACEHOLDER_VALUES, "{\"genericPlaceholder\":\"expectedValue\"}")
+            .POST(HttpRequest.BodyPublishers.ofFile(Paths.get(GENERIC_FILE_PATH))).build(),
+            HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        AssetAdministrationShellEnvironment aasEnvironment = new JsonDeserializer().read(response.body());
+        return ((Property) aasEnvironment.getSubmodels().get(0).getSubmodelElements().get(0)).getValue();
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+    }
+}
@@ -5,6 +5,7 @@
  */
 package org.eclipse.digitaltwin.aas4j.expressions;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Function;
 
@@ -14,6 +15,10 @@ import org.eclipse.digitaltwin.aas4j.mapping.TransformationContext;
  * Represents a call of a built-in function on one or more arguments.
  */
 public class BuiltinCallExpr implements Expression {
+    /**
+     * The name of the function, null if it is not known.
+     */
+    private final String name;
     /**
      * The function that is used to compute a value.
      */
@@ -24,21 +29,47 @@ public class BuiltinCallExpr implements Expression {
      */
     private final Expression[] args;
 
+    public BuiltinCallExpr(String name, Function<Object, Object> f, List<Expression> args) {
+        this(name, f, args.toArray(new Expression[args.size()]));
+    }
+
     public BuiltinCallExpr(Function<Object, Object> f, List<Expression> args) {
-        this(f, args.toArray(new Expression[args.size()]));
+        this(null, f, args);
     }
 
     public BuiltinCallExpr(Function<Object, Object> f, Expression... args) {
+        this(null, f, args);
+    }
+
+    private BuiltinCallExpr(String name, Function<Object, Object> f, Expression... args) {
+        this.name = name;
         this.f = f;
         this.args = args;
     }
 
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public List<Expression> getArguments() {
+        return Arrays.asList(args);
+    }
+
+    /**
+     * Functions without a name are unknown and therefore assumed to be nondeterministic.
+     */
+    @Override
+    public boolean isDeterministic() {
+        return name != null && Expressions.isDeterministicFunction(name, getArguments());
+    }
+
     @Override
     public Object evaluate(TransformationContext ctx) {
         Object[] values = new Object[args.length];
         for (int i = 0; i < args.length; i++) {
             Expression arg = args[i];
-            values[i] = arg.evaluate(ctx);
+            values[i] = TransformationContext.evaluateNested(arg, ctx);
         }
         try {
             return f.apply(values);
@@ -24,11 +24,16 @@ public class CaexAttributeNameExpr implements Expression {
         this.attributeName = attributeName;
     }
 
+    @Override
+    public List<Expression> getArguments() {
+        return List.of();
+    }
+
     @Override
     public List<Node> evaluate(TransformationContext ctx) {
         if (ctx.getContextItem() instanceof Node) {
             return XPathHelper.getInstance().getNodes((Node) ctx.getContextItem(),
-                "caex:Attribute[@Name='" + attributeName + "']");
+                "caex:Attribute[@Name='" + attributeName + "']", ctx.getNamespaces());
 
         } else {
             throw new IllegalArgumentException("Invalid XPath or no Node Context is given.");
@@ -40,7 +45,7 @@ public class CaexAttributeNameExpr implements Expression {
     public String evaluateAsString(TransformationContext ctx) {
         if (ctx.getContextItem() instanceof Node) {
             return Objects.toString(XPathHelper.getInstance().getStringValueOrNull((Node) ctx.getContextItem(),
-                "caex:Attribute[@Name='" + attributeName + "']"));
+                "caex:Attribute[@Name='" + attributeName + "']", ctx.getNamespaces()));
         } else {
             throw new IllegalArgumentException("Invalid XPath or no Node Context is given.");
         }
@@ -5,6 +5,8 @@
  */
 package org.eclipse.digitaltwin.aas4j.expressions;
 
+import java.util.List;
+
 import org.eclipse.digitaltwin.aas4j.mapping.TransformationContext;
 
 /**
@@ -25,6 +27,11 @@ public class ConstantExpr implements Expression {
         return value;
     }
 
+    @Override
+    public List<Expression> getArguments() {
+        return List.of();
+    }
+
     public Object getValue() {
         return value;
     }
@@ -5,6 +5,8 @@
  */
 package org.eclipse.digitaltwin.aas4j.expressions;
 
+import java.util.List;
+
 import org.eclipse.digitaltwin.aas4j.mapping.TransformationContext;
 
 /**
@@ -24,13 +26,18 @@ public class DefExpr implements Expression {
         return name;
     }
 
+    @Override
+    public List<Expression> getArguments() {
+        return List.of();
+    }
+
     @Override
     public Object evaluate(TransformationContext ctx) {
-        return ctx.getDefinitions().get(name).evaluate(ctx);
+        return TransformationContext.evaluateNested(ctx.getDefinitions().get(name), ctx);
     }
 
     @Override
     public String evaluateAsString(TransformationContext ctx) {
-        return ctx.getDefinitions().get(name).evaluateAsString(ctx);
+        return TransformationContext.evaluateNestedAsString(ctx.getDefinitions().get(name), ctx);
     }
 }
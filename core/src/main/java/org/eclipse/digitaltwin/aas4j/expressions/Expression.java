@@ -0,0 +1,54 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.expressions;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.digitaltwin.aas4j.mapping.TransformationContext;
+
+/**
+ * Represents dynamic expressions within a template.
+ */
+public interface Expression {
+    /**
+     * Evaluates the expression using a thread-local context.
+     *
+     * @return computed result
+     */
+    Object evaluate(TransformationContext ctx);
+
+    /**
+     * evaluates as a String, if possible
+     *
+     * @param ctx
+     * @return
+     */
+    default String evaluateAsString(TransformationContext ctx) {
+        return Objects.toString(evaluate(ctx));
+    }
+
+    /**
+     * Expressions which evaluate other expressions must return them, so that the dependencies of a
+     * template can be analyzed without evaluating it. Expressions without arguments return an empty list.
+     *
+     * @return the directly contained expressions, null by default which means that they are unknown and
+     *         the expression is assumed to depend on everything and to be nondeterministic
+     */
+    default List<Expression> getArguments() {
+        return null;
+    }
+
+    /**
+     * Evaluating a nondeterministic expression twice in the same context may yield different values, so
+     * its result must neither be reused nor cached. The arguments are not considered.
+     *
+     * @return true, if the expression itself always yields the same value for the same arguments
+     */
+    default boolean isDeterministic() {
+        return true;
+    }
+}
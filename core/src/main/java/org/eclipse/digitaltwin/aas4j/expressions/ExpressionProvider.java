@@ -0,0 +1,25 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.expressions;
+
+import java.util.List;
+
+/**
+ * Contributes expressions which are specific to an input format, e.g. <code>@amlLibrary</code> or
+ * <code>@uaBrowsePath</code>, to the mapping parser. Implementations are found with
+ * {@link java.util.ServiceLoader}, so a format module registers its provider in
+ * <code>META-INF/services/org.eclipse.digitaltwin.aas4j.expressions.ExpressionProvider</code>.
+ */
+public interface ExpressionProvider {
+    /**
+     * Creates the expression for an operator of a mapping specification.
+     *
+     * @param symbol name of the operator without the leading <code>@</code>
+     * @param args arguments of the operator
+     * @return the expression, or null if the symbol is not known to this provider
+     */
+    Expression createExpression(String symbol, List<Expression> args);
+}
@@ -7,6 +7,7 @@ package org.eclipse.digitaltwin.aas4j.expressions;
 
 import java.lang.invoke.MethodHandles;
 import java.util.Collection;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,12 +26,17 @@ public class ExpressionWithDefault implements Expression {
         this.defaultExpr = defaultExpr;
     }
 
+    @Override
+    public List<Expression> getArguments() {
+        return List.of(toWrap, defaultExpr);
+    }
+
     @Override
     public Object evaluate(TransformationContext ctx) {
-        Object tryEvaluate = toWrap.evaluate(ctx);
+        Object tryEvaluate = TransformationContext.evaluateNested(toWrap, ctx);
         if (tryEvaluate == null || (tryEvaluate instanceof Collection && ((Collection) tryEvaluate).isEmpty())) {
             LOGGER.info("Result of expression {} is empty, using default {}...", toWrap, defaultExpr);
-            return defaultExpr.evaluate(ctx);
+            return TransformationContext.evaluateNested(defaultExpr, ctx);
         }
         return tryEvaluate;
     }
@@ -0,0 +1,271 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.expressions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.dom4j.Node;
+
+import com.google.common.hash.Hashing;
+import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
+
+public class Expressions {
+
+    private static final Map<String, Expression> constants = new HashMap<>();
+    // functions are created on first use, so only the lambdas used by the mappings are linked
+    private static final Map<String, Function<Object, Object>> functions = new ConcurrentHashMap<>();
+
+    private static final ValueUtils values = ValueUtils.getInstance();
+
+    static {
+        constants.put("null", new ConstantExpr(null));
+        constants.put("pi", new ConstantExpr(Math.PI));
+        constants.put("e", new ConstantExpr(Math.E));
+        constants.put("NaN", new ConstantExpr(Double.NaN));
+        constants.put("nil", new ConstantExpr(Collections.emptyList()));
+    }
+
+    private static Function<Object, Object> createFunction(String name) {
+        switch (name) {
+            case "list":
+                return args -> Helpers.valueToStream(args).collect(Collectors.toList());
+            case "set":
+                return args -> Helpers.valueToStream(args).collect(Collectors.toSet());
+            case "range":
+                return Helpers.binaryObj((a, b) -> IntStream.rangeClosed(((Number) a).intValue(), ((Number) b).intValue()) //
+                    .mapToObj(i -> i).collect(Collectors.toList()));
+            case "entry":
+                return Helpers.binaryObj((list, i) -> {
+                    if ((int) values.longValue(i) <= 0) {
+                        throw new IllegalArgumentException("not a positive index: " + i);
+                    }
+                    return Helpers.valueToStream(list).skip((int) values.longValue(i) - 1).findFirst().get();
+                });
+            case "block":
+                return Helpers.reduce((a, b) -> b);
+            case "negate":
+                return Helpers.unaryObj(values::negate);
+            case "max":
+                return Helpers.reduce(Expressions::max);
+            case "min":
+                return Helpers.reduce(Expressions::min);
+            case "minus":
+                return Helpers.binaryObj(values::subtract);
+            case "root":
+                return Helpers.binaryDouble((a, b) -> Math.pow(a, 1 / b));
+            case "intersect":
+                return args -> {
+                    @SuppressWarnings("unchecked")
+                    Stream<Object> stream = (Stream<Object>) Helpers.valueToStream(args);
+                    return stream.reduce(null, (a, b) -> {
+                        if (a == null) {
+                            // the first element
+                            return Helpers.valueToSet(b, true);
+                        } else {
+                            ((Set<?>) a).retainAll(Helpers.valueToSet(b, false));
+                            return a;
+                        }
+                    });
+                };
+            case "sin":
+                return Helpers.unaryDouble(Math::sin);
+            case "cos":
+                return Helpers.unaryDouble(Math::cos);
+            case "tan":
+                return Helpers.unaryDouble(Math::tan);
+            case "arcsin":
+                return Helpers.unaryDouble(Math::asin);
+            case "arccos":
+                return Helpers.unaryDouble(Math::acos);
+            case "arctan":
+                return Helpers.unaryDouble(Math::atan);
+            case "abs":
+                return Helpers.unaryObj(Expressions::abs);
+            case "plus":
+                return Helpers.reduce(values::add);
+            case "times":
+                return Helpers.reduce(values::multiply);
+            case "power":
+                return Helpers.binaryDouble(Math::pow);
+            case "divide":
+                return Helpers.binaryObj(values::divide);
+            case "eq":
+                return Helpers.binaryObj((a, b) -> {
+                    if (Objects.equals(a, b)) {
+                        return true;
+                    }
+                    return values.compareWithConversion(a, b) == 0;
+                });
+            case "lt":
+                return Helpers.binaryObj((a, b) -> values.compareWithConversion(a, b) < 0);
+            case "leq":
+                return Helpers.binaryObj((a, b) -> values.compareWithConversion(a, b) <= 0);
+            case "gt":
+                return Helpers.binaryObj((a, b) -> values.compareWithConversion(a, b) > 0);
+            case "geq":
+                return Helpers.binaryObj((a, b) -> values.compareWithConversion(a, b) >= 0);
+            case "neq":
+                return Helpers.binaryObj((a, b) -> values.compareWithConversion(a, b) != 0);
+            case "not":
+                return Helpers.unaryObj(arg -> !values.booleanValue(arg));
+            case "or":
+                return Helpers.reduce((a, b) -> values.booleanValue(a) || values.booleanValue(b));
+            case "and":
+                return Helpers.reduce((a, b) -> values.booleanValue(a) && values.booleanValue(b));
+            case "round":
+                return Helpers.unaryDouble(Expressions::round);
+            case "ceiling":
+                return Helpers.unaryDouble(Math::ceil);
+            case "floor":
+                return Helpers.unaryDouble(Math::floor);
+            case "trunc":
+                return Helpers.unaryDouble(Expressions::truncate);
+            // not actually part of the nums1 CD, but NaN is useless without this check
+            case "isNaN":
+                return Helpers.unaryObj(arg -> Double.isNaN(values.doubleValue(arg)));
+            case "println":
+                return args -> {
+                    Iterator<?> it = Helpers.valueToIterator(args);
+                    while (it.hasNext()) {
+                        System.out.print(it.next());
+                        if (it.hasNext()) {
+                            System.out.print(" ");
+                        }
+                    }
+                    System.out.println();
+                    return null;
+                };
+            // special functions for ID generation
+            case "concatenate":
+                return args -> {
+                    Stream<String> strStream = nodeListsToString(Helpers.valueToStream(args));
+                    return strStream.collect(Collectors.joining());
+                };
+            case "concatenate_and_hash":
+                return args -> {
+                    Stream<String> strStream = nodeListsToString(Helpers.valueToStream(args));
+                    String concatenated = strStream.collect(Collectors.joining());
+                    return Hashing.sha256().hashString(concatenated, StandardCharsets.UTF_8).toString();
+                };
+            case "generate_uuid":
+                return args -> {
+                    boolean isEmpty = Helpers.valueToStream(args).allMatch(element -> element.equals(""));
+                    if (args == null || isEmpty) {
+                        return UUID.randomUUID();
+                    } else {
+                        String input = nodeListsToString(Helpers.valueToStream(args)).collect(Collectors.joining());
+                        return UUID.nameUUIDFromBytes(input.getBytes());
+                    }
+                };
+            // string encoding
+            case "base64":
+                return args -> {
+                    Stream<Object> stream = (Stream<Object>) Helpers.valueToStream(args);
+                    String concatenated = stream.flatMap(o -> Helpers.valueToStream(o)).map(o -> {
+                        if (o instanceof Node) {
+                            return ((Node) o).getStringValue();
+                        } else {
+                            return String.valueOf(o);
+                        }
+                    }).collect(Collectors.joining());
+                    return Base64.getEncoder().encodeToString(concatenated.getBytes());
+                };
+            default:
+                return null;
+        }
+    }
+
+    private static Stream<String> nodeListsToString(Stream<?> stream) {
+        return stream.flatMap(o -> Helpers.valueToStream(o)).map(o -> {
+            if (o instanceof Node) {
+                return ((Node) o).getStringValue();
+            } else {
+                return String.valueOf(o);
+            }
+        });
+    }
+
+    /**
+     * Checks whether an expression and all of its arguments are deterministic, see
+     * {@link Expression#isDeterministic()}. Expressions with unknown arguments are nondeterministic.
+     *
+     * @param expression the expression, may be null
+     * @return true, if evaluating the expression twice in the same context yields the same value
+     */
+    public static boolean isDeterministic(Expression expression) {
+        if (expression == null) {
+            return true;
+        }
+        List<Expression> arguments = expression.getArguments();
+        return arguments != null && expression.isDeterministic()
+            && arguments.stream().allMatch(Expressions::isDeterministic);
+    }
+
+    static boolean isDeterministicFunction(String name, List<Expression> args) {
+        switch (name) {
+            case "println":
+                // evaluating it has a side effect
+                return false;
+            case "generate_uuid":
+                // a random UUID is generated unless some seed is not empty
+                return args.stream().anyMatch(arg -> arg instanceof ConstantExpr
+                    && ((ConstantExpr) arg).getValue() != null && !"".equals(((ConstantExpr) arg).getValue()));
+            default:
+                return true;
+        }
+    }
+
+    public static Function<Object, Object> getFunctionByName(String name) {
+        return name == null ? null : functions.computeIfAbsent(name, Expressions::createFunction);
+    }
+
+    public static Expression getConstantByName(String name) {
+        return constants.get(name);
+    }
+
+    static Object divide(Object a, Object b) {
+        return values.divide(a, values.doubleValue(b));
+    }
+
+    static Object max(Object a, Object b) {
+        if (values.compareWithConversion(a, b) >= 0) {
+            return a;
+        } else {
+            return b;
+        }
+    }
+
+    static Object min(Object a, Object b) {
+        if (values.compareWithConversion(a, b) >= 0) {
+            return b;
+        } else {
+            return a;
+        }
+    }
+
+    static Object abs(Object x) {
+        if (values.compareWithConversion(x, 0.0) >= 0) {
+            return x;
+        } else {
+            return values.negate(x);
+        }
+    }
+
+    static double truncate(double x) {
+        return (long) x;
+    }
+
+    static double round(double x) {
+        return Math.round(x);
+    }
+
+}
@@ -6,6 +6,7 @@
 package org.eclipse.digitaltwin.aas4j.expressions;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.digitaltwin.aas4j.mapping.TransformationContext;
@@ -31,12 +32,17 @@ public class ListExpr implements Expression {
         return args;
     }
 
+    @Override
+    public List<Expression> getArguments() {
+        return Arrays.asList(args);
+    }
+
     @Override
     public Object evaluate(TransformationContext ctx) {
         List<Object> values = new ArrayList<>(args.length);
         for (int i = 0; i < args.length; i++) {
             Expression arg = args[i];
-            values.add(arg.evaluate(ctx));
+            values.add(TransformationContext.evaluateNested(arg, ctx));
         }
         return values;
     }
@@ -5,6 +5,8 @@
  */
 package org.eclipse.digitaltwin.aas4j.expressions;
 
+import java.util.List;
+
 import org.eclipse.digitaltwin.aas4j.mapping.TransformationContext;
 
 /**
@@ -24,6 +26,11 @@ public class VarExpr implements Expression {
         return name;
     }
 
+    @Override
+    public List<Expression> getArguments() {
+        return List.of();
+    }
+
     @Override
     public Object evaluate(TransformationContext ctx) {
         return ctx.getVariables().get(name);
@@ -29,14 +29,20 @@ public class XPathExpr implements Expression {
         this.args = args;
     }
 
+    @Override
+    public List<Expression> getArguments() {
+        return args;
+    }
+
     @Override
     public List<Node> evaluate(TransformationContext ctx) {
         // evaluate multiple xpath expressions and create joined stream of all resulting
         // nodes
-        return args.stream().map(arg -> arg.evaluate(ctx)).flatMap(value -> {
+        return args.stream().map(arg -> TransformationContext.evaluateNested(arg, ctx)).flatMap(value -> {
             if (value instanceof String && ctx.getContextItem() instanceof Node) {
                 // evaluate XPath against context node
-                return XPathHelper.getInstance().getNodes((Node) ctx.getContextItem(), (String) value).stream();
+                return XPathHelper.getInstance().getNodes((Node) ctx.getContextItem(), (String) value,
+                    ctx.getNamespaces()).stream();
 
             } else {
                 // invalid XPath or no Node Context
@@ -47,10 +53,12 @@ public class XPathExpr implements Expression {
 
     @Override
     public String evaluateAsString(TransformationContext ctx) {
-        Optional<String> xpath = args.stream().map(arg -> arg.evaluateAsString(ctx)).findFirst();
+        Optional<String> xpath = args.stream().map(arg -> TransformationContext.evaluateNestedAsString(arg, ctx))
+            .findFirst();
         if (xpath.isPresent() && ctx.getContextItem() instanceof Node) {
             return Objects.toString(
-                XPathHelper.getInstance().getStringValueOrNull((Node) ctx.getContextItem(), xpath.get()));
+                XPathHelper.getInstance().getStringValueOrNull((Node) ctx.getContextItem(), xpath.get(),
+                    ctx.getNamespaces()));
         } else {
             return "";
         }
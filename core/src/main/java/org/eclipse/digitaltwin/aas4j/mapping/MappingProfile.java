@@ -0,0 +1,448 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.mapping;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.eclipse.digitaltwin.aas4j.expressions.Expression;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.mapping.model.Template;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.adminshell.aas.v3.dataformat.core.ReflectionHelper;
+import io.adminshell.aas.v3.model.LangString;
+
+/**
+ * Profile of the transformations of one {@link MappingSpecification}, comparable to the EXPLAIN ANALYZE
+ * of a database. For each Template of the mapping the number of inflations, the number of
+ * <code>@foreach</code> items, the cumulative time including the nested Templates and the self time
+ * are recorded, as well as call count and time of its <code>@foreach</code>, <code>@bind</code> and
+ * <code>@variables</code> expressions and of the arguments they evaluate. The time of an expression
+ * includes the time of its arguments. Templates are identified by the JSON pointer of their location in
+ * the mapping.
+ * <p>
+ * The self time is measured per thread, time spent waiting for Templates transformed by other threads
+ * is not part of it. Inflations of static or placeholder independent Templates which copy a result
+ * computed before are counted as reused, the nested Templates of such a result are not inflated again.
+ * <p>
+ * A profile is recorded by a {@link TemplateTransformer} it is set to, it accumulates the measurements
+ * of all transformations using it.
+ */
+public class MappingProfile {
+
+    private final TemplateProfile root;
+    private final Map<Template, TemplateProfile> profiles;
+    // the inflations and expression evaluations in progress on the current thread, innermost first
+    private final ThreadLocal<Deque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private MappingProfile(TemplateProfile root, Map<Template, TemplateProfile> profiles) {
+        this.root = root;
+        this.profiles = profiles;
+    }
+
+    /**
+     * Creates an empty profile for the Templates of the given mapping.
+     *
+     * @param mapping the mapping to profile
+     * @return the empty profile
+     */
+    public static MappingProfile of(MappingSpecification mapping) {
+        // templates are proxies which delegate equals and hashCode to the AAS model, so identity is used
+        Map<Template, TemplateProfile> profiles = new IdentityHashMap<>();
+        TemplateProfile root = collect(mapping.getAasEnvironmentMapping(), "/aasEnvironmentMapping", profiles);
+        return new MappingProfile(root, profiles);
+    }
+
+    private static TemplateProfile collect(Object template, String path, Map<Template, TemplateProfile> profiles) {
+        TemplateProfile profile = new TemplateProfile(path, getType(template));
+        if (template instanceof Template) {
+            profiles.put((Template) template, profile);
+        }
+        if (template == null || template instanceof LangString) {
+            return profile;
+        }
+        Class<?> defaultImplementation = ReflectionHelper
+            .getDefaultImplementation(ReflectionHelper.getAasInterface(template.getClass()));
+        if (defaultImplementation == null) {
+            return profile;
+        }
+        try {
+            for (PropertyDescriptor propertyDescriptor : Introspector.getBeanInfo(defaultImplementation)
+                .getPropertyDescriptors()) {
+                if (propertyDescriptor.getReadMethod() == null || propertyDescriptor.getWriteMethod() == null) {
+                    continue;
+                }
+                Object value = template.getClass().getMethod(propertyDescriptor.getReadMethod().getName())
+                    .invoke(template);
+                String propertyPath = path + "/" + propertyDescriptor.getName();
+                if (value instanceof Template) {
+                    profile.children.add(collect(value, propertyPath, profiles));
+                } else if (value instanceof List) {
+                    List<?> items = (List<?>) value;
+                    for (int i = 0; i < items.size(); i++) {
+                        if (items.get(i) instanceof Template) {
+                            profile.children.add(collect(items.get(i), propertyPath + "/" + i, profiles));
+                        }
+                    }
+                }
+            }
+        } catch (IntrospectionException | IllegalAccessException | InvocationTargetException
+            | NoSuchMethodException e) {
+            throw new IllegalStateException("Unable to read properties of " + defaultImplementation.getName(), e);
+        }
+        return profile;
+    }
+
+    private static String getType(Object template) {
+        if (template instanceof LangString) {
+            return LangString.class.getSimpleName();
+        }
+        Class<?> aasInterface = template == null ? null : ReflectionHelper.getAasInterface(template.getClass());
+        return aasInterface == null ? "" : aasInterface.getSimpleName();
+    }
+
+    TemplateProfile get(Template template) {
+        return profiles.get(template);
+    }
+
+    <T> T inflate(TemplateProfile template, Supplier<T> inflation) {
+        Frame frame = new Frame(template, null, null);
+        Deque<Frame> stack = frames.get();
+        stack.push(frame);
+        long start = System.nanoTime();
+        try {
+            return inflation.get();
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            stack.pop();
+            template.record(elapsedNanos, elapsedNanos - frame.nestedNanos);
+            addNested(elapsedNanos);
+        }
+    }
+
+    <T> T evaluate(TemplateProfile template, String location, Expression expression, Supplier<T> evaluation) {
+        if (template == null) {
+            return evaluation.get();
+        }
+        // registered before the nested expressions, so that they follow it
+        ExpressionProfile expressionProfile = template.getExpression(location, expression);
+        Deque<Frame> stack = frames.get();
+        stack.push(new Frame(template, location, expression));
+        long start = System.nanoTime();
+        try {
+            return evaluation.get();
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            stack.pop();
+            expressionProfile.record(elapsedNanos);
+        }
+    }
+
+    <T> T evaluateNested(Expression expression, Supplier<T> evaluation) {
+        Frame parent = frames.get().peek();
+        if (parent == null || parent.location == null) {
+            // not evaluated by a directive of a Template
+            return evaluation.get();
+        }
+        return evaluate(parent.template, parent.location + "/" + getStep(parent.expression, expression),
+            expression, evaluation);
+    }
+
+    /**
+     * Arguments are labeled with their index, other nested expressions like the expression of a definition
+     * with their type.
+     */
+    private static String getStep(Expression parent, Expression nested) {
+        List<Expression> arguments = parent == null ? null : parent.getArguments();
+        if (arguments != null) {
+            for (int i = 0; i < arguments.size(); i++) {
+                if (arguments.get(i) == nested) {
+                    return String.valueOf(i);
+                }
+            }
+        }
+        return nested.getClass().getSimpleName();
+    }
+
+    /**
+     * Time spent on the current thread waiting for Templates transformed by other threads is excluded
+     * from the self time of the innermost Template.
+     */
+    <T> T await(Supplier<T> waiting) {
+        Deque<Frame> stack = frames.get();
+        // a frame without Template, Templates inflated by the waiting thread itself are nested in it
+        stack.push(new Frame(null, null, null));
+        long start = System.nanoTime();
+        try {
+            return waiting.get();
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            stack.pop();
+            addNested(elapsedNanos);
+        }
+    }
+
+    private void addNested(long elapsedNanos) {
+        for (Frame frame : frames.get()) {
+            if (frame.location == null) {
+                frame.nestedNanos += elapsedNanos;
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return the profile of the AssetAdministrationShellEnvironment of the mapping, the root of the tree
+     */
+    public TemplateProfile getRoot() {
+        return root;
+    }
+
+    /**
+     * @param limit maximum number of returned profiles
+     * @return the profiles of the Templates with the highest self time, in descending order
+     */
+    public List<TemplateProfile> getHotSpots(int limit) {
+        List<TemplateProfile> all = new ArrayList<>();
+        addAll(root, all);
+        return all.stream().filter(profile -> profile.getCalls() > 0)
+            .sorted(Comparator.comparingDouble(TemplateProfile::getSelfMillis).reversed()).limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    private static void addAll(TemplateProfile profile, List<TemplateProfile> all) {
+        all.add(profile);
+        profile.children.forEach(child -> addAll(child, all));
+    }
+
+    /**
+     * @return the profile as a tree of Templates with their expressions, preceded by the Templates with
+     *         the highest self time
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder("Templates with the highest self time:\n");
+        for (TemplateProfile hotSpot : getHotSpots(5)) {
+            text.append(String.format("%12.3f ms  %s (%s)%n", hotSpot.getSelfMillis(), hotSpot.getPath(),
+                hotSpot.getType()));
+        }
+        text.append(String.format("%n%12s %12s %10s %10s %10s  %s%n", "cumulative", "self", "calls", "reused",
+            "items", "template"));
+        appendText(root, "", 0, text);
+        return text.toString();
+    }
+
+    private static void appendText(TemplateProfile profile, String parentPath, int depth, StringBuilder text) {
+        String indent = "  ".repeat(depth);
+        // nested templates are labeled with their path relative to the parent, e.g. submodels/0
+        text.append(String.format("%12.3f %12.3f %10d %10d %10d  %s%s (%s)%n", profile.getCumulativeMillis(),
+            profile.getSelfMillis(), profile.getCalls(), profile.getReused(), profile.getForeachItems(), indent,
+            profile.getPath().substring(parentPath.length()), profile.getType()));
+        for (ExpressionProfile expression : profile.getExpressions()) {
+            text.append(String.format("%12.3f %12s %10d %10s %10s  %s  %s %s%n", expression.getMillis(), "",
+                expression.getCalls(), "", "", indent, expression.getLocation(), expression.getType()));
+        }
+        profile.children.forEach(child -> appendText(child, profile.getPath() + "/", depth + 1, text));
+    }
+
+    /**
+     * @return the profile as a JSON tree of Templates with their expressions
+     */
+    public String toJson() {
+        try {
+            return new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(root);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize the mapping profile", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return toText();
+    }
+
+    /**
+     * Measurements of one Template of the mapping.
+     */
+    @JsonPropertyOrder({ "path", "type", "calls", "reused", "foreachItems", "cumulativeMillis", "selfMillis",
+        "expressions", "children" })
+    public static class TemplateProfile {
+
+        private final String path;
+        private final String type;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder reused = new LongAdder();
+        private final LongAdder foreachItems = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder selfNanos = new LongAdder();
+        private final Map<String, ExpressionProfile> expressions = Collections.synchronizedMap(new LinkedHashMap<>());
+        private final List<TemplateProfile> children = new ArrayList<>();
+
+        private TemplateProfile(String path, String type) {
+            this.path = path;
+            this.type = type;
+        }
+
+        private void record(long elapsedNanos, long elapsedSelfNanos) {
+            calls.increment();
+            nanos.add(elapsedNanos);
+            selfNanos.add(elapsedSelfNanos);
+        }
+
+        void recordReused() {
+            reused.increment();
+        }
+
+        void recordForeachItems(int items) {
+            foreachItems.add(items);
+        }
+
+        private ExpressionProfile getExpression(String location, Expression expression) {
+            return expressions.computeIfAbsent(location,
+                key -> new ExpressionProfile(key, expression.getClass().getSimpleName()));
+        }
+
+        /**
+         * @return JSON pointer of the Template within the mapping
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * @return simple name of the AAS interface of the Template
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * @return number of inflations of the Template, each of them might create several instances
+         */
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        /**
+         * @return number of inflations which copied the result of a static or placeholder independent
+         *         Template computed before, without inflating the nested Templates
+         */
+        public long getReused() {
+            return reused.sum();
+        }
+
+        /**
+         * @return number of items returned by the <code>@foreach</code> expression in all inflations
+         */
+        public long getForeachItems() {
+            return foreachItems.sum();
+        }
+
+        /**
+         * @return time of all inflations of the Template including its nested Templates
+         */
+        public double getCumulativeMillis() {
+            return nanos.sum() / 1_000_000d;
+        }
+
+        /**
+         * @return time of all inflations of the Template excluding its nested Templates, measured on the
+         *         thread of the inflation
+         */
+        public double getSelfMillis() {
+            return selfNanos.sum() / 1_000_000d;
+        }
+
+        public List<ExpressionProfile> getExpressions() {
+            synchronized (expressions) {
+                return new ArrayList<>(expressions.values());
+            }
+        }
+
+        public List<TemplateProfile> getChildren() {
+            return Collections.unmodifiableList(children);
+        }
+    }
+
+    /**
+     * Measurements of one expression of a Template.
+     */
+    @JsonPropertyOrder({ "location", "type", "calls", "millis" })
+    public static class ExpressionProfile {
+
+        private final String location;
+        private final String type;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        private ExpressionProfile(String location, String type) {
+            this.location = location;
+            this.type = type;
+        }
+
+        private void record(long elapsedNanos) {
+            calls.increment();
+            nanos.add(elapsedNanos);
+        }
+
+        /**
+         * @return the directive of the Template containing the expression, e.g. <code>@foreach</code> or
+         *         <code>@bind/idShort</code>, followed by the argument indexes for nested expressions, e.g.
+         *         <code>@bind/idShort/0</code>
+         */
+        public String getLocation() {
+            return location;
+        }
+
+        /**
+         * @return simple class name of the expression, e.g. XPathExpr
+         */
+        public String getType() {
+            return type;
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public double getMillis() {
+            return nanos.sum() / 1_000_000d;
+        }
+    }
+
+    private static final class Frame {
+
+        private final TemplateProfile template;
+        // null for the inflation of a Template
+        private final String location;
+        private final Expression expression;
+        private long nestedNanos;
+
+        private Frame(TemplateProfile template, String location, Expression expression) {
+            this.template = template;
+            this.location = location;
+            this.expression = expression;
+        }
+    }
+}
@@ -7,6 +7,7 @@ package org.eclipse.digitaltwin.aas4j.mapping;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
@@ -19,6 +20,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.util.JsonParserDelegate;
@@ -37,6 +39,10 @@ import com.fasterxml.jackson.databind.jsontype.TypeResolverBuilder;
 import com.fasterxml.jackson.databind.module.SimpleAbstractTypeResolver;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.module.SimpleValueInstantiators;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
 import org.eclipse.digitaltwin.aas4j.exceptions.InvalidBindingException;
 import org.eclipse.digitaltwin.aas4j.expressions.Expression;
 import org.eclipse.digitaltwin.aas4j.mapping.jackson.BindingSpecificationDeserializer;
@@ -44,9 +50,13 @@ import org.eclipse.digitaltwin.aas4j.mapping.jackson.ExpressionDeserializer;
 import org.eclipse.digitaltwin.aas4j.mapping.model.BindSpecification;
 import org.eclipse.digitaltwin.aas4j.mapping.model.LangStringTemplate;
 import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.mapping.model.StaticTemplates;
 import org.eclipse.digitaltwin.aas4j.mapping.model.Template;
 import org.eclipse.digitaltwin.aas4j.mapping.model.TemplateSupport;
 
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+
 import io.adminshell.aas.v3.dataformat.core.ReflectionHelper;
 import io.adminshell.aas.v3.dataformat.core.deserialization.EmbeddedDataSpecificationDeserializer;
 import io.adminshell.aas.v3.dataformat.core.deserialization.EnumDeserializer;
@@ -64,23 +74,161 @@ public class MappingSpecificationParser {
         BindSpecification.class, new BindingSpecificationDeserializer(),
         Expression.class, new ExpressionDeserializer());
 
-	private JsonMapper mapper;
-	private SimpleAbstractTypeResolver typeResolver;
+    /**
+     * The mapper is built on first use and shared by all parsers, building it introspects all AAS model
+     * types and is by far the most expensive part of parsing a small mapping.
+     */
+    private static class MapperHolder {
+
+        private static final JsonMapper MAPPER = buildMapper(buildTypeResolver());
 
-    public MappingSpecificationParser() {
-        initTypeResolver();
-        buildMapper();
+        private static final SmileFactory SMILE_FACTORY = SmileFactory.builder()
+            // templates repeat short values like semantic ids and value types
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
     }
 
+    public MappingSpecificationParser() {}
+
     public static Optional<Method> getMethod(Class<?> clazz, String name, Class<?>... arg) {
         return Arrays.stream(clazz.getDeclaredMethods())
             .filter(m -> name.equals(m.getName()) && Arrays.equals(m.getParameterTypes(), arg))
             .findAny();
     }
 
+    /**
+     * Parses a mapping specification file, either in JSON or in the binary Smile format written by
+     * {@link #convertToSmile(byte[], OutputStream)}.
+     *
+     * @param filePath path of the mapping specification
+     * @return the parsed mapping specification
+     * @throws IOException if the file can not be read or is not a valid mapping specification
+     */
     public MappingSpecification loadMappingSpecification(String filePath) throws IOException {
-        JsonParser parser = mapper.getFactory().createParser(new File(filePath));
-        JsonParserDelegate wrapper = new JsonParserDelegate(parser) {
+        return loadMappingSpecification(Files.toByteArray(new File(filePath)));
+    }
+
+    /**
+     * Parses a mapping specification, the format is detected from the content: Smile content starts with
+     * the Smile header, anything else is parsed as JSON. Both formats have the same semantics.
+     *
+     * @param content JSON or Smile content of the mapping specification
+     * @return the parsed mapping specification
+     * @throws IOException if the content is not a valid mapping specification
+     */
+    public MappingSpecification loadMappingSpecification(byte[] content) throws IOException {
+        return readMappingSpecification(createParser(content), content);
+    }
+
+    /**
+     * Converts a mapping specification to the binary Smile format, which is smaller than JSON and needs no
+     * text tokenizing. <code>modelType</code> objects are written as plain type names. The specification is
+     * parsed first, so invalid specifications are not converted.
+     *
+     * @param content JSON or Smile content of the mapping specification
+     * @param smile receives the Smile content, not closed
+     * @throws IOException if the content is not a valid mapping specification or can not be written
+     */
+    public void convertToSmile(byte[] content, OutputStream smile) throws IOException {
+        compileMappingSpecification(content, smile);
+    }
+
+    /**
+     * Converts a mapping specification to indented JSON, e.g. to edit a specification which is only
+     * available in the Smile format. The specification is parsed first, so invalid specifications are not
+     * converted.
+     *
+     * @param content JSON or Smile content of the mapping specification
+     * @param json receives the JSON content, not closed
+     * @throws IOException if the content is not a valid mapping specification or can not be written
+     */
+    public void convertToJson(byte[] content, OutputStream json) throws IOException {
+        TokenBuffer tokens = tokenize(content);
+        readMappingSpecification(tokens.asParser(MapperHolder.MAPPER), content);
+        try (JsonGenerator generator = MapperHolder.MAPPER.getFactory().createGenerator(json)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.useDefaultPrettyPrinter();
+            tokens.serialize(generator);
+        }
+    }
+
+    /**
+     * Parses a mapping specification and writes its normalized content as Smile snapshot, which is read by
+     * {@link #loadSnapshot(byte[], String)} without normalizing it again.
+     */
+    MappingSpecification compileMappingSpecification(byte[] content, OutputStream snapshot) throws IOException {
+        TokenBuffer tokens = tokenize(content);
+        MappingSpecification mappingSpecification = readMappingSpecification(tokens.asParser(MapperHolder.MAPPER),
+            content);
+        try (JsonGenerator generator = MapperHolder.SMILE_FACTORY.createGenerator(snapshot)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            tokens.serialize(generator);
+        }
+        return mappingSpecification;
+    }
+
+    /**
+     * Reads a snapshot written by {@link #compileMappingSpecification(byte[], OutputStream)}.
+     *
+     * @param snapshot Smile encoded snapshot
+     * @param contentHash hash of the content the snapshot was created from
+     */
+    MappingSpecification loadSnapshot(byte[] snapshot, String contentHash) throws IOException {
+        JsonParser parser = MapperHolder.SMILE_FACTORY.createParser(snapshot);
+        parser.setCodec(MapperHolder.MAPPER);
+        return readMappingSpecification(parser, contentHash);
+    }
+
+    static boolean isSmile(byte[] content) {
+        return content.length >= 3 && content[0] == SmileConstants.HEADER_BYTE_1
+            && content[1] == SmileConstants.HEADER_BYTE_2 && content[2] == SmileConstants.HEADER_BYTE_3;
+    }
+
+    private static JsonParser createParser(byte[] content) throws IOException {
+        JsonParser parser;
+        if (isSmile(content)) {
+            parser = MapperHolder.SMILE_FACTORY.createParser(content);
+            parser.setCodec(MapperHolder.MAPPER);
+        } else {
+            parser = MapperHolder.MAPPER.getFactory().createParser(content);
+        }
+        // Smile content written by other tools might still contain modelType objects
+        return createNormalizingParser(parser);
+    }
+
+    private static TokenBuffer tokenize(byte[] content) throws IOException {
+        try (JsonParser parser = createParser(content)) {
+            parser.nextToken();
+            TokenBuffer tokens = new TokenBuffer(parser);
+            tokens.copyCurrentStructure(parser);
+            return tokens;
+        }
+    }
+
+    static String contentHash(byte[] content) {
+        return Hashing.sha256().hashBytes(content).toString();
+    }
+
+    private MappingSpecification readMappingSpecification(JsonParser parser, byte[] content) throws IOException {
+        return readMappingSpecification(parser, contentHash(content));
+    }
+
+    private MappingSpecification readMappingSpecification(JsonParser parser, String contentHash) throws IOException {
+        MappingSpecification mappingSpecification;
+        try (parser) {
+            mappingSpecification = MapperHolder.MAPPER.readValue(parser, MappingSpecification.class);
+        }
+        // detect template subtrees which do not depend on the transformed document
+        mappingSpecification.setStaticTemplates(StaticTemplates.of(mappingSpecification.getAasEnvironmentMapping()));
+        mappingSpecification.setContentHash(contentHash);
+        return mappingSpecification;
+    }
+
+    /**
+     * Rewrites <code>{ "modelType": { "name": "TheType" } }</code> to <code>{ "modelType": "TheType" }</code>.
+     */
+    private static JsonParser createNormalizingParser(JsonParser parser) {
+        return new JsonParserDelegate(parser) {
             boolean skipObject = false;
 
             @Override
@@ -104,11 +252,10 @@ public class MappingSpecificationParser {
                 return super.nextToken();
             }
         };
-        return mapper.readValue(wrapper, MappingSpecification.class);
     }
 
-    private void buildMapper() {
-        mapper = JsonMapper.builder()
+    private static JsonMapper buildMapper(SimpleAbstractTypeResolver typeResolver) {
+        JsonMapper mapper = JsonMapper.builder()
             .enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
             // fail on unknown properties for now
             // .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
@@ -128,34 +275,36 @@ public class MappingSpecificationParser {
             })
             // disabled for now until camel case enums are used
             .addModule(buildEnumModule())
-            .addModule(buildImplementationModule())
+            .addModule(buildImplementationModule(typeResolver))
             .addModule(buildCustomDeserializerModule())
             .build();
         ReflectionHelper.JSON_MIXINS.entrySet().forEach(x -> {
             mapper.addMixIn(x.getKey(), x.getValue());
         });
+        return mapper;
     }
 
-    private SimpleModule buildCustomDeserializerModule() {
+    private static SimpleModule buildCustomDeserializerModule() {
         SimpleModule module = new SimpleModule();
         customDeserializers.forEach(module::addDeserializer);
         return module;
     }
 
-    private void initTypeResolver() {
-        typeResolver = new SimpleAbstractTypeResolver();
+    private static SimpleAbstractTypeResolver buildTypeResolver() {
+        SimpleAbstractTypeResolver typeResolver = new SimpleAbstractTypeResolver();
         ReflectionHelper.DEFAULT_IMPLEMENTATIONS.stream()
             .filter(info -> !customDeserializers.containsKey(info.getInterfaceType()))
             .forEach(x -> typeResolver.addMapping(x.getInterfaceType(), x.getImplementationType()));
+        return typeResolver;
     }
 
-    private SimpleModule buildEnumModule() {
+    private static SimpleModule buildEnumModule() {
         SimpleModule module = new SimpleModule();
         ReflectionHelper.ENUMS.forEach(x -> module.addDeserializer(x, new EnumDeserializer<>(x)));
         return module;
     }
 
-    private SimpleModule buildImplementationModule() {
+    private static SimpleModule buildImplementationModule(SimpleAbstractTypeResolver typeResolver) {
         SimpleModule module = new SimpleModule();
         // module.setAbstractTypes(typeResolver);
         module.setValueInstantiators(new SimpleValueInstantiators() {
@@ -0,0 +1,229 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.mapping;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+
+/**
+ * Keeps parsed mapping specifications in memory, a specification is only parsed again if its source
+ * changed. Specifications are loaded from files, the classpath or streams. A file is considered unchanged
+ * as long as its modification time and size are, a changed file whose content hash is still the same is
+ * not parsed again either. Classpath resources are loaded once, streams are identified by their content hash.
+ * <p>
+ * With a snapshot directory, the normalized JSON of each parsed specification is additionally stored in
+ * the binary Smile format, named by the SHA-256 hash of the JSON content. Later processes read the
+ * snapshot instead of the JSON, which is considerably faster for large specifications. Snapshots never
+ * become invalid, as their name changes with the content, unused ones can be deleted at any time. One
+ * directory may be shared by several processes.
+ * <p>
+ * The returned specifications are shared by all callers and must not be modified.
+ */
+public class MappingSpecificationRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final String SNAPSHOT_SUFFIX = ".sml";
+    private static final String CLASSPATH_PREFIX = "classpath:";
+    private static final String CONTENT_PREFIX = "sha256:";
+
+    private final MappingSpecificationParser parser;
+    private final Path snapshotDirectory;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry without snapshots.
+     */
+    public MappingSpecificationRegistry() {
+        this.parser = new MappingSpecificationParser();
+        this.snapshotDirectory = null;
+    }
+
+    /**
+     * @param snapshotDirectory directory of the snapshots, created if it does not exist
+     * @throws IOException if the directory can not be created
+     */
+    public MappingSpecificationRegistry(Path snapshotDirectory) throws IOException {
+        this(new MappingSpecificationParser(), snapshotDirectory);
+    }
+
+    /**
+     * @param parser parser of the specifications
+     * @param snapshotDirectory directory of the snapshots, created if it does not exist, null disables
+     *        snapshots
+     * @throws IOException if the directory can not be created
+     */
+    public MappingSpecificationRegistry(MappingSpecificationParser parser, Path snapshotDirectory)
+        throws IOException {
+        this.parser = parser;
+        this.snapshotDirectory = snapshotDirectory == null ? null : Files.createDirectories(snapshotDirectory);
+    }
+
+    /**
+     * @param file JSON or Smile file of the mapping specification
+     * @return the specification, parsed again only if the file changed since the last call
+     * @throws IOException if the file can not be read or is not a valid mapping specification
+     */
+    public MappingSpecification get(Path file) throws IOException {
+        return get(file, false);
+    }
+
+    /**
+     * Like {@link #get(Path)}, but compares the content hash even if the modification time and size of
+     * the file are unchanged, e.g. after a change was reported by the file system.
+     */
+    MappingSpecification reload(Path file) throws IOException {
+        return get(file, true);
+    }
+
+    private MappingSpecification get(Path file, boolean checkContent) throws IOException {
+        String source = file.toAbsolutePath().normalize().toString();
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        Entry entry = entries.get(source);
+        if (!checkContent && entry != null && entry.isUnchanged(attributes)) {
+            return entry.mapping;
+        }
+        synchronized (this) {
+            entry = entries.get(source);
+            if (!checkContent && entry != null && entry.isUnchanged(attributes)) {
+                return entry.mapping;
+            }
+            // the attributes are read before the content, a change in between is detected by the next call
+            byte[] content = Files.readAllBytes(file);
+            String contentHash = MappingSpecificationParser.contentHash(content);
+            MappingSpecification mapping = entry != null && contentHash.equals(entry.mapping.getContentHash())
+                ? entry.mapping
+                : compile(content, contentHash);
+            entries.put(source, new Entry(mapping, attributes.lastModifiedTime(), attributes.size()));
+            return mapping;
+        }
+    }
+
+    /**
+     * @param resourceName name of a JSON or Smile resource of the mapping specification
+     * @param classLoader class loader of the resource
+     * @return the specification, parsed on the first call only
+     * @throws IOException if the resource does not exist or is not a valid mapping specification
+     */
+    public MappingSpecification getResource(String resourceName, ClassLoader classLoader) throws IOException {
+        String source = CLASSPATH_PREFIX + resourceName;
+        Entry entry = entries.get(source);
+        if (entry != null) {
+            return entry.mapping;
+        }
+        synchronized (this) {
+            entry = entries.get(source);
+            if (entry == null) {
+                byte[] content;
+                try (InputStream stream = classLoader.getResourceAsStream(resourceName)) {
+                    if (stream == null) {
+                        throw new FileNotFoundException("Mapping specification " + resourceName
+                            + " does not exist on the classpath");
+                    }
+                    content = stream.readAllBytes();
+                }
+                entry = new Entry(compile(content, MappingSpecificationParser.contentHash(content)), null, -1);
+                entries.put(source, entry);
+            }
+            return entry.mapping;
+        }
+    }
+
+    /**
+     * @param stream JSON or Smile content of the mapping specification, read completely but not closed
+     * @return the specification, parsed only if no specification with the same content was loaded before
+     * @throws IOException if the stream can not be read or is not a valid mapping specification
+     */
+    public MappingSpecification get(InputStream stream) throws IOException {
+        byte[] content = stream.readAllBytes();
+        String source = CONTENT_PREFIX + MappingSpecificationParser.contentHash(content);
+        Entry entry = entries.get(source);
+        if (entry != null) {
+            return entry.mapping;
+        }
+        synchronized (this) {
+            entry = entries.get(source);
+            if (entry == null) {
+                entry = new Entry(compile(content, source.substring(CONTENT_PREFIX.length())), null, -1);
+                entries.put(source, entry);
+            }
+            return entry.mapping;
+        }
+    }
+
+    /**
+     * @return number of sources with a specification in memory
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes all specifications from memory, the snapshots are kept.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private MappingSpecification compile(byte[] content, String contentHash) throws IOException {
+        if (snapshotDirectory == null) {
+            return parser.loadMappingSpecification(content);
+        }
+        Path snapshot = snapshotDirectory.resolve(contentHash + SNAPSHOT_SUFFIX);
+        if (Files.isRegularFile(snapshot)) {
+            try {
+                return parser.loadSnapshot(Files.readAllBytes(snapshot), contentHash);
+            } catch (IOException e) {
+                LOGGER.warn("Unable to read snapshot {}, the mapping specification is parsed again", snapshot, e);
+            }
+        }
+        ByteArrayOutputStream snapshotContent = new ByteArrayOutputStream(content.length / 2);
+        MappingSpecification mapping = parser.compileMappingSpecification(content, snapshotContent);
+        try {
+            // written to a temporary file first, so readers never see a truncated snapshot
+            Path temporaryFile = Files.createTempFile(snapshotDirectory, contentHash, ".tmp");
+            Files.write(temporaryFile, snapshotContent.toByteArray());
+            Files.move(temporaryFile, snapshot, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write snapshot {}", snapshot, e);
+        }
+        return mapping;
+    }
+
+    private static class Entry {
+
+        private final MappingSpecification mapping;
+        // null for sources which never change
+        private final FileTime lastModified;
+        private final long size;
+
+        Entry(MappingSpecification mapping, FileTime lastModified, long size) {
+            this.mapping = mapping;
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        boolean isUnchanged(BasicFileAttributes attributes) {
+            return attributes.lastModifiedTime().equals(lastModified) && attributes.size() == size;
+        }
+    }
+}
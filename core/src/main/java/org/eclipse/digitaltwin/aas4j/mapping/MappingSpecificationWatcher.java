@@ -0,0 +1,161 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.mapping;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+
+/**
+ * Supplies the current version of a mapping specification file in a long running process. A background
+ * thread watches the file, parses a changed version and only then replaces the supplied specification,
+ * so callers never wait for parsing and never see a partially loaded specification. If the changed file
+ * can not be parsed, the previous version stays in use.
+ * <p>
+ * A transformation should call {@link #get()} once and use the returned specification throughout, then
+ * a transformation which is running while the file changes finishes with the version it started with.
+ */
+public class MappingSpecificationWatcher implements Supplier<MappingSpecification>, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    /**
+     * Editors write a file in several steps, it is parsed once no further change was reported for this time
+     */
+    private static final long QUIET_PERIOD_MILLIS = 100;
+
+    private final Path file;
+    private final MappingSpecificationRegistry registry;
+    private final AtomicReference<MappingSpecification> current;
+    private final List<Consumer<MappingSpecification>> listeners = new CopyOnWriteArrayList<>();
+    private final WatchService watchService;
+    private final Thread thread;
+
+    /**
+     * Parses the file and starts watching it.
+     *
+     * @param file JSON or Smile file of the mapping specification
+     * @throws IOException if the file can not be read or is not a valid mapping specification
+     */
+    public MappingSpecificationWatcher(Path file) throws IOException {
+        this(file, new MappingSpecificationRegistry());
+    }
+
+    /**
+     * Parses the file and starts watching it.
+     *
+     * @param file JSON or Smile file of the mapping specification
+     * @param registry registry which parses the file, e.g. one with a snapshot directory
+     * @throws IOException if the file can not be read or is not a valid mapping specification
+     */
+    public MappingSpecificationWatcher(Path file, MappingSpecificationRegistry registry) throws IOException {
+        this.file = file.toAbsolutePath().normalize();
+        this.registry = registry;
+        this.current = new AtomicReference<>(registry.get(this.file));
+        this.watchService = this.file.getFileSystem().newWatchService();
+        try {
+            // replacing the file by a renamed one is reported as creation
+            this.file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            watchService.close();
+            throw e;
+        }
+        this.thread = new Thread(this::watch, "aas-mapping-watcher-" + this.file.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return the most recently parsed version of the specification
+     */
+    @Override
+    public MappingSpecification get() {
+        return current.get();
+    }
+
+    /**
+     * @param listener called by the watching thread with each new version of the specification
+     */
+    public void addReloadListener(Consumer<MappingSpecification> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stops watching the file, the last version is still supplied.
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+
+    /**
+     * Parses the file if its content changed and replaces the supplied specification.
+     */
+    void reload() {
+        try {
+            MappingSpecification mapping = registry.reload(file);
+            if (current.getAndSet(mapping) != mapping) {
+                LOGGER.info("Reloaded mapping specification {}", file);
+                listeners.forEach(listener -> listener.accept(mapping));
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Unable to reload mapping specification {}, the previous version stays in use", file, e);
+        }
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = isFileChanged(key);
+                if (!key.reset()) {
+                    LOGGER.warn("Directory of mapping specification {} is no longer watched", file);
+                    return;
+                }
+                if (changed) {
+                    // wait until the file is completely written
+                    while ((key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                        key.pollEvents();
+                        key.reset();
+                    }
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    private boolean isFileChanged(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // events might have been lost on overflow
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context())) {
+                changed = true;
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,92 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.mapping;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.adminshell.aas.v3.dataformat.core.ReflectionHelper;
+import io.adminshell.aas.v3.model.LangString;
+
+/**
+ * Creates deep copies of transformed AAS model objects. Constructors and property accessors are
+ * looked up once per class, which makes copying considerably cheaper than a transformation of the
+ * corresponding Template.
+ */
+class ModelCopier {
+
+    private static final Map<Class<?>, Constructor<?>> CONSTRUCTORS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, PropertyDescriptor[]> PROPERTY_DESCRIPTORS = new ConcurrentHashMap<>();
+
+    private ModelCopier() {}
+
+    /**
+     * @param value transformation result, i.e. default implementations of the AAS model, LangStrings,
+     *        lists of them or plain values
+     * @return a deep copy of the given value, immutable values like Strings and enums are shared
+     */
+    static Object copy(Object value) {
+        if (value instanceof List) {
+            List<Object> copy = new ArrayList<>(((List<?>) value).size());
+            for (Object item : (List<?>) value) {
+                copy.add(copy(item));
+            }
+            return copy;
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).clone();
+        }
+        if (value == null || !isModelObject(value.getClass())) {
+            return value;
+        }
+        try {
+            Object copy = getConstructor(value.getClass()).newInstance();
+            for (PropertyDescriptor propertyDescriptor : getPropertyDescriptors(value.getClass())) {
+                Object propertyValue = propertyDescriptor.getReadMethod().invoke(value);
+                if (propertyValue != null) {
+                    propertyDescriptor.getWriteMethod().invoke(copy, copy(propertyValue));
+                }
+            }
+            return copy;
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Unable to copy " + value.getClass().getName(), e);
+        }
+    }
+
+    private static boolean isModelObject(Class<?> type) {
+        return LangString.class.isAssignableFrom(type) || ReflectionHelper.isDefaultImplementation(type);
+    }
+
+    private static Constructor<?> getConstructor(Class<?> type) {
+        return CONSTRUCTORS.computeIfAbsent(type, key -> {
+            try {
+                return key.getConstructor();
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("No default constructor for " + key.getName(), e);
+            }
+        });
+    }
+
+    private static PropertyDescriptor[] getPropertyDescriptors(Class<?> type) {
+        return PROPERTY_DESCRIPTORS.computeIfAbsent(type, key -> {
+            try {
+                return Arrays.stream(Introspector.getBeanInfo(key).getPropertyDescriptors())
+                    .filter(pd -> pd.getReadMethod() != null && pd.getWriteMethod() != null)
+                    .toArray(PropertyDescriptor[]::new);
+            } catch (IntrospectionException e) {
+                throw new IllegalStateException("Unable to introspect " + key.getName(), e);
+            }
+        });
+    }
+}
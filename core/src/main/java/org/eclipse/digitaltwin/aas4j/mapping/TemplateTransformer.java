@@ -0,0 +1,528 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.mapping;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.digitaltwin.aas4j.expressions.Expression;
+import org.eclipse.digitaltwin.aas4j.mapping.model.Header;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.mapping.model.PlaceholderIndependentTemplates;
+import org.eclipse.digitaltwin.aas4j.mapping.model.StaticTemplates;
+import org.eclipse.digitaltwin.aas4j.mapping.model.Template;
+import org.eclipse.digitaltwin.aas4j.transform.jfr.TemplateInflationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import io.adminshell.aas.v3.dataformat.core.ReflectionHelper;
+import io.adminshell.aas.v3.dataformat.json.JsonDeserializer;
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+import io.adminshell.aas.v3.model.LangString;
+import io.adminshell.aas.v3.model.Referable;
+
+public class TemplateTransformer {
+
+    private static class InstanceByBindings {
+        Object instance;
+        List<BeanPropertyDefinition> propertiesByBinding = Collections.emptyList();
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+    private JsonMapper jsonMapper;
+    private StaticTemplates staticTemplates;
+    private PlaceholderIndependentTemplates placeholderIndependentTemplates;
+    private final Executor executor;
+    private Consumer<Object> topLevelElementListener;
+    private final LongAdder inflatedTemplates = new LongAdder();
+    private final LongAdder evaluatedExpressions = new LongAdder();
+    private MappingProfile profile;
+
+    public TemplateTransformer() {
+        this(null);
+    }
+
+    /**
+     * @param executor Executor used to transform the top level templates of the
+     *        AssetAdministrationShellEnvironment (shells, assets, concept descriptions and submodels)
+     *        concurrently, might be null to transform them sequentially
+     */
+    public TemplateTransformer(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @param topLevelElementListener gets called with each transformed top level element of the
+     *        AssetAdministrationShellEnvironment (shells, assets, concept descriptions and submodels) as
+     *        soon as its transformation is completed, i.e. before the whole environment is transformed.
+     *        It is called concurrently if an Executor is used.
+     */
+    public void setTopLevelElementListener(Consumer<Object> topLevelElementListener) {
+        this.topLevelElementListener = topLevelElementListener;
+    }
+
+    /**
+     * @param placeholderIndependentTemplates Templates whose transformation results are reused,
+     *        because they neither depend on the placeholders nor change between transformations of the
+     *        same document. Might be null to transform all Templates.
+     */
+    public void setPlaceholderIndependentTemplates(PlaceholderIndependentTemplates placeholderIndependentTemplates) {
+        this.placeholderIndependentTemplates = placeholderIndependentTemplates;
+    }
+
+    /**
+     * @param profile profile of the transformed mapping, which records the time spent per Template and
+     *        expression, see {@link MappingProfile#of(MappingSpecification)}. Might be null to disable
+     *        profiling (the default).
+     */
+    public void setProfile(MappingProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * @return number of Template instances created by transformations of this TemplateTransformer, results
+     *         of static or placeholder independent Templates which are copied are not counted
+     */
+    public long getInflatedTemplates() {
+        return inflatedTemplates.sum();
+    }
+
+    /**
+     * @return number of <code>@foreach</code>, <code>@bind</code> and <code>@variables</code> expressions
+     *         evaluated by transformations of this TemplateTransformer, the arguments of these expressions
+     *         are not counted separately
+     */
+    public long getEvaluatedExpressions() {
+        return evaluatedExpressions.sum();
+    }
+
+    /**
+     * Transforms a Template based AssetAdministrationShellEnvironment to a pure
+     * AssetAdministrationShellEnvironment
+     *
+     * @param mappingSpec MappingSpecification containing a complete AssetAdministrationShellEnvironment
+     *        in which all AAS Objects might implement the Template Interface
+     * @param initialContextItem Object which might provide a data context to extract data and transform
+     *        it into the AssetAdministrationShellEnvironment using Template logic
+     * @return AssetAdministrationShellEnvironment which is the transformation result of the Template
+     *         based attributes
+     */
+    public AssetAdministrationShellEnvironment transform(MappingSpecification mappingSpec, Object initialContextItem,
+                                                         Map<String, String> initialVars) {
+        loadJSONMapper();
+        staticTemplates = mappingSpec.getStaticTemplates();
+        TransformationContext initialCtx = createInitialContext(initialContextItem, mappingSpec.getHeader(),
+            initialVars);
+        AssetAdministrationShellEnvironment aasEnvTemplate = mappingSpec.getAasEnvironmentMapping();
+        List<Object> envList = asList(transformAny(aasEnvTemplate, initialCtx));
+        if (envList.size() > 1) {
+            LOGGER.warn(
+                "@forEach expression on top level AAS Environment resulted to multiple AAS transformations, but only the first AAS Environments will be returned!");
+
+        }
+        return (AssetAdministrationShellEnvironment) envList.get(0);
+    }
+
+    private void loadJSONMapper() {
+        JsonDeserializer jsonDeserializer = new JsonDeserializer();
+        Field mapperField;
+        try {
+            mapperField = JsonDeserializer.class.getDeclaredField("mapper");
+            mapperField.setAccessible(true);
+            jsonMapper = (JsonMapper) mapperField.get(jsonDeserializer);
+        } catch (NoSuchFieldException | SecurityException | IllegalArgumentException | IllegalAccessException e) {
+            throw new RuntimeException("Unable to load JSON Mapper. Transformation can not be executed.", e);
+        }
+
+    }
+
+    private TransformationContext createInitialContext(Object initialContextItem, Header header,
+        Map<String, String> initialVars) {
+        TransformationContext initialCtx = TransformationContext.buildContext(null, initialContextItem, header,
+            initialVars);
+        initialCtx.setProfile(profile);
+        return initialCtx;
+    }
+
+    private List<? extends Object> inflateTemplate(Template template, TransformationContext parentCtx) {
+        TemplateInflationEvent event = new TemplateInflationEvent();
+        event.begin();
+        List<? extends Object> inflated = inflateProfiled(template, parentCtx);
+        event.end();
+        if (event.shouldCommit()) {
+            Class<?> aasInterface = getAASInterface(template);
+            event.setTemplateType(aasInterface == null ? null : aasInterface.getSimpleName());
+            event.setIdShort(template instanceof Referable ? ((Referable) template).getIdShort() : null);
+            event.setInstances(inflated.size());
+            event.commit();
+        }
+        return inflated;
+    }
+
+    private List<? extends Object> inflateProfiled(Template template, TransformationContext parentCtx) {
+        MappingProfile.TemplateProfile templateProfile = getProfile(template);
+        if (templateProfile == null) {
+            return inflateReusingResults(template, parentCtx);
+        }
+        return profile.inflate(templateProfile, () -> inflateReusingResults(template, parentCtx));
+    }
+
+    private MappingProfile.TemplateProfile getProfile(Template template) {
+        return profile != null ? profile.get(template) : null;
+    }
+
+    private List<? extends Object> inflateReusingResults(Template template, TransformationContext parentCtx) {
+        List<Object> inflated = new ArrayList<>();
+        if (staticTemplates != null && staticTemplates.isStatic(template) && !isTopLevelRoot(template)) {
+            // the result does not depend on the context, only a copy of the materialized result is needed
+            boolean[] computed = new boolean[1];
+            Object materialized = staticTemplates.getMaterialized(template, t -> {
+                computed[0] = true;
+                return transformWithBindings(t, parentCtx);
+            });
+            recordReused(template, computed[0]);
+            inflated.add(ModelCopier.copy(materialized));
+            return inflated;
+        }
+        if (placeholderIndependentTemplates != null && placeholderIndependentTemplates.isIndependent(template)) {
+            // the result only depends on the context, it is shared between the placeholder sets
+            boolean[] computed = new boolean[1];
+            Object result = placeholderIndependentTemplates.getResult(template, parentCtx.getContextItem(),
+                parentCtx.getVariables(), parentCtx.getDefinitions(), t -> {
+                    computed[0] = true;
+                    return inflateForeach(t, parentCtx);
+                });
+            recordReused(template, computed[0]);
+            for (Object item : (List<?>) result) {
+                inflated.add(ModelCopier.copy(item));
+            }
+            return inflated;
+        }
+        return inflateForeach(template, parentCtx);
+    }
+
+    private void recordReused(Template template, boolean computed) {
+        MappingProfile.TemplateProfile templateProfile = getProfile(template);
+        if (templateProfile != null && !computed) {
+            templateProfile.recordReused();
+        }
+    }
+
+    /**
+     * The environment is transformed property by property if its top level elements are transformed
+     * concurrently or passed to the listener, which then gets the returned copies of static elements.
+     */
+    private boolean isTopLevelRoot(Template template) {
+        return template instanceof AssetAdministrationShellEnvironment
+            && (executor != null || topLevelElementListener != null);
+    }
+
+    private List<Object> inflateForeach(Template template, TransformationContext parentCtx) {
+        List<Object> inflated = new ArrayList<>();
+        MappingProfile.TemplateProfile templateProfile = getProfile(template);
+        Expression foreachExpression = template.getForeachExpression();
+        if (foreachExpression != null) {
+            Object evaluate = templateProfile == null ? foreachExpression.evaluate(parentCtx)
+                : profile.evaluate(templateProfile, "@foreach", foreachExpression,
+                    () -> foreachExpression.evaluate(parentCtx));
+            evaluatedExpressions.increment();
+            List<Object> forItems = asList(evaluate);
+            if (templateProfile != null) {
+                templateProfile.recordForeachItems(forItems.size());
+            }
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("Foreach Expression {} returned {} new context items.", foreachExpression,
+                    forItems.size());
+            }
+            for (Object forItem : forItems) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Transform with {} context items.", forItem);
+                }
+                TransformationContext childCtx = buildContext(parentCtx, forItem, template);
+                inflated.add(transformWithBindings(template, childCtx));
+            }
+        } else {
+            TransformationContext childCtx = buildContext(parentCtx, parentCtx.getContextItem(), template);
+            inflated.add(transformWithBindings(template, childCtx));
+        }
+        return inflated;
+    }
+
+    private TransformationContext buildContext(TransformationContext parentCtx, Object ctxItem, Template template) {
+        TransformationContext ctx = TransformationContext.buildContext(parentCtx, ctxItem, template);
+        if (template.getVariables() != null) {
+            evaluatedExpressions.add(template.getVariables().size());
+        }
+        return ctx;
+    }
+
+    private Object transformWithBindings(Template template, TransformationContext ctx) {
+        inflatedTemplates.increment();
+        Class<?> aasInterface = getAASInterface(template);
+        InstanceByBindings transformedEntity = null;
+        if (template.getBindSpecification() != null) {
+            transformedEntity = createInstanceByBindings(template, aasInterface, ctx);
+        } else {
+            transformedEntity = new InstanceByBindings();
+            transformedEntity.instance = newDefaultAASInstance(aasInterface);
+        }
+        try {
+            transformProperties(template, ctx, transformedEntity);
+        } catch (NoSuchMethodException | SecurityException | IntrospectionException | IllegalAccessException
+            | InvocationTargetException e) {
+            LOGGER.error("Failed to transform properties for " + transformedEntity.getClass().getName(), e);
+        }
+        return transformedEntity.instance;
+    }
+
+    private InstanceByBindings createInstanceByBindings(Template template, Class<?> aasInterface,
+        TransformationContext ctx) {
+        Object transformedEntity;
+        Map<String, Object> evaluatedBindings = new HashMap<>();
+        MappingProfile.TemplateProfile templateProfile = getProfile(template);
+        Set<Entry<String, Expression>> bindings = template.getBindSpecification().getBindings().entrySet();
+        for (Entry<String, Expression> binding : bindings) {
+            Expression expression = binding.getValue();
+            String evaluate = templateProfile == null ? expression.evaluateAsString(ctx)
+                : profile.evaluate(templateProfile, "@bind/" + binding.getKey(), expression,
+                    () -> expression.evaluateAsString(ctx));
+            evaluatedBindings.put(binding.getKey(), evaluate);
+        }
+        evaluatedExpressions.add(bindings.size());
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Bindings for {} executed as {}.", aasInterface.getName(), evaluatedBindings);
+        }
+        try {
+            transformedEntity = jsonMapper.convertValue(evaluatedBindings, aasInterface);
+            InstanceByBindings instanceByBindings = new InstanceByBindings();
+            instanceByBindings.instance = transformedEntity;
+            setPropertiesByBindings(aasInterface, instanceByBindings, evaluatedBindings, jsonMapper);
+            return instanceByBindings;
+        } catch (SecurityException | IllegalArgumentException e) {
+            LOGGER.error("Failed to read binding specification, evaluated as '{}' for model '{}'. Error: '{}'",
+                evaluatedBindings, aasInterface.getName(), e.getMessage());
+            InstanceByBindings instanceByBindings = new InstanceByBindings();
+            instanceByBindings.instance = newDefaultAASInstance(aasInterface);
+            return instanceByBindings;
+        }
+    }
+
+    private void setPropertiesByBindings(Class<?> aasInterface, InstanceByBindings instanceByBindings,
+        Map<String, Object> evaluatedBindings, JsonMapper jsonMapper) {
+        Map<String, BeanPropertyDefinition> propertyDefinitions = findPropertyDefinitions(aasInterface, jsonMapper);
+        Set<String> expectedKeys = propertyDefinitions.keySet();
+        Set<String> keysOfBinding = evaluatedBindings.keySet();
+        for (String keyOfBinding : keysOfBinding) {
+            if (!expectedKeys.contains(keyOfBinding)) {
+                LOGGER.warn("Key '{}' is used in bindings but {} contains '{}'.", keyOfBinding, aasInterface.getName(),
+                    expectedKeys);
+            }
+        }
+        List<String> keysNotBinded = expectedKeys.stream().filter(k -> !keysOfBinding.contains(k))
+            .collect(Collectors.toList());
+        for (String keyNotUsed : keysNotBinded) {
+            propertyDefinitions.remove(keyNotUsed);
+        }
+        instanceByBindings.propertiesByBinding = new ArrayList<>(propertyDefinitions.values());
+    }
+
+    private Map<String, BeanPropertyDefinition> findPropertyDefinitions(Class<?> aasInterface, JsonMapper jsonMapper) {
+        JavaType constructType = jsonMapper.getTypeFactory().constructType(aasInterface);
+        BeanDescription beanDescription = jsonMapper.getSerializationConfig().introspect(constructType);
+        Map<String, BeanPropertyDefinition> findProperties = beanDescription.findProperties().stream()
+            .collect(Collectors.toMap(bpd -> bpd.getName(), Function.identity()));
+        return findProperties;
+    }
+
+    private void transformProperties(Template template, TransformationContext ctx,
+        InstanceByBindings instanceByBindings)
+        throws IntrospectionException, IllegalAccessException, InvocationTargetException, NoSuchMethodException {
+        Object transformationTarget = instanceByBindings.instance;
+        // siblings on top level of the environment do not depend on each other
+        boolean topLevel = transformationTarget instanceof AssetAdministrationShellEnvironment
+            && (executor != null || topLevelElementListener != null);
+        Map<Method, CompletableFuture<List<Object>>> pendingProperties = new LinkedHashMap<>();
+        PropertyDescriptor[] propertyDescriptors = Introspector.getBeanInfo(transformationTarget.getClass())
+            .getPropertyDescriptors();
+        for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
+            Method readMethod = propertyDescriptor.getReadMethod();
+            Method writeMethod = propertyDescriptor.getWriteMethod();
+            if (readMethod != null && writeMethod != null && notSetByBindings(instanceByBindings, writeMethod)) {
+                Object templateReadProperty = template.getClass().getMethod(readMethod.getName()).invoke(template);
+                if (topLevel && templateReadProperty instanceof List) {
+                    pendingProperties.put(writeMethod, transformTopLevel((List<?>) templateReadProperty, ctx));
+                } else {
+                    writeTransformedProperty(transformationTarget, writeMethod, transformAny(templateReadProperty, ctx));
+                }
+            }
+        }
+        // results are assembled in template order, independent of the completion order
+        for (Entry<Method, CompletableFuture<List<Object>>> pendingProperty : pendingProperties.entrySet()) {
+            CompletableFuture<List<Object>> pendingValue = pendingProperty.getValue();
+            List<Object> transformedProperty = profile == null ? await(pendingValue)
+                : profile.await(() -> await(pendingValue));
+            writeTransformedProperty(transformationTarget, pendingProperty.getKey(), transformedProperty);
+        }
+    }
+
+    private void writeTransformedProperty(Object transformationTarget, Method writeMethod,
+        Object transformedTemplateReadProperty) throws IllegalAccessException, InvocationTargetException {
+        if (transformedTemplateReadProperty instanceof Iterable) {
+            List<Object> transformedProperties = asList(transformedTemplateReadProperty);
+            if (Iterable.class.isAssignableFrom(writeMethod.getParameterTypes()[0])) {
+                writeMethod.invoke(transformationTarget, transformedProperties);
+            } else if (transformedProperties.isEmpty()) {
+                // do nothing
+            } else if (transformedProperties.size() == 1) {
+                writeMethod.invoke(transformationTarget, transformedProperties.get(0));
+            } else {
+                LOGGER.warn(
+                    "The result of a property transformation is a list with multiple entries, but the target ({}#{}) is not a list. First item of list '{}' will be used.",
+                    transformationTarget.getClass().getName(), writeMethod.getName(),
+                    transformedProperties);
+                writeMethod.invoke(transformationTarget, transformedProperties.get(0));
+            }
+        } else if (transformedTemplateReadProperty != null) {
+            writeMethod.invoke(transformationTarget, transformedTemplateReadProperty);
+        }
+    }
+
+    private CompletableFuture<List<Object>> transformTopLevel(List<?> templates, TransformationContext ctx) {
+        // without an executor the templates are transformed sequentially in the calling thread
+        Executor topLevelExecutor = executor != null ? executor : Runnable::run;
+        List<CompletableFuture<Object>> partialResults = templates.stream()
+            .map(template -> CompletableFuture
+                .supplyAsync(() -> notifyTopLevelElementListener(transformAny(template, ctx)), topLevelExecutor))
+            .collect(Collectors.toList());
+        return CompletableFuture.allOf(partialResults.toArray(new CompletableFuture<?>[partialResults.size()]))
+            .thenApply(done -> {
+                List<Object> flattenedList = new ArrayList<>();
+                partialResults.forEach(partialResult -> addFlattened(flattenedList, partialResult.join()));
+                return flattenedList;
+            });
+    }
+
+    private Object notifyTopLevelElementListener(Object partialResult) {
+        if (topLevelElementListener != null) {
+            if (partialResult instanceof Collection) {
+                ((Collection<?>) partialResult).forEach(topLevelElementListener);
+            } else if (partialResult != null) {
+                topLevelElementListener.accept(partialResult);
+            }
+        }
+        return partialResult;
+    }
+
+    private List<Object> await(CompletableFuture<List<Object>> pendingProperty) {
+        try {
+            return pendingProperty.join();
+        } catch (CompletionException e) {
+            // rethrow the original exception as it would have been thrown by a sequential transformation
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private boolean notSetByBindings(InstanceByBindings instanceByBindings, Method writeMethod) {
+        return !instanceByBindings.propertiesByBinding.stream().map(bpd -> bpd.getSetter().getAnnotated().getName())
+            .anyMatch(name -> name.equals(writeMethod.getName()));
+    }
+
+    private Object transformAny(Object templateReadProperty, TransformationContext ctx) {
+        if (templateReadProperty == null) {
+            return null;
+        }
+        if (templateReadProperty instanceof List) {
+            List<Object> flattenedList = new ArrayList<>();
+            for (Object object : (List<?>) templateReadProperty) {
+                addFlattened(flattenedList, transformAny(object, ctx));
+            }
+            return flattenedList;
+        }
+        if (!(templateReadProperty instanceof Template)) {
+            return templateReadProperty;
+        } else {
+            return inflateTemplate((Template) templateReadProperty, ctx);
+        }
+    }
+
+    private void addFlattened(List<Object> flattenedList, Object partialResult) {
+        if (partialResult instanceof Collection) {
+            flattenedList.addAll((Collection<?>) partialResult);
+        } else {
+            flattenedList.add(partialResult);
+        }
+    }
+
+    private Class<?> getAASInterface(Object obj) {
+        if (obj instanceof LangString) {
+            return LangString.class;
+        }
+        return ReflectionHelper.getAasInterface(obj.getClass());
+    }
+
+    private Object newDefaultAASInstance(Class<?> aasInterface) {
+        Class<?> defaultImplementation = ReflectionHelper.getDefaultImplementation(aasInterface);
+        try {
+            if (defaultImplementation == null && aasInterface.isAssignableFrom(LangString.class)) {
+                return LangString.class.getConstructor().newInstance();
+            }
+            return defaultImplementation.getConstructor().newInstance();
+        } catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException
+            | NoSuchMethodException | SecurityException e) {
+            LOGGER.error("Not able to create a default instance for " + defaultImplementation.getName(), e);
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private List<Object> asList(Object evaluate) {
+        if (evaluate instanceof List<?>) {
+            return (List<Object>) evaluate;
+        }
+        if (evaluate instanceof Iterable<?>) {
+            List<Object> iterableToList = new ArrayList<>();
+            ((Iterable<Object>) evaluate).forEach(iterableToList::add);
+            return iterableToList;
+        }
+        if (evaluate == null) {
+            return Collections.emptyList();
+        } else {
+            return Collections.singletonList(evaluate);
+        }
+    }
+
+}
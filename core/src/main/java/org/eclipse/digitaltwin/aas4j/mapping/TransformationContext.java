@@ -9,6 +9,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.digitaltwin.aas4j.expressions.Expression;
+import org.eclipse.digitaltwin.aas4j.mapping.model.Header;
 import org.eclipse.digitaltwin.aas4j.mapping.model.Template;
 
 /**
@@ -21,7 +22,9 @@ public class TransformationContext {
 
     private Map<String, Expression> definitions = new HashMap<>();
     private Map<String, String> variables = new HashMap<>();
+    private Map<String, String> namespaces;
     private Object ctxItem;
+    private MappingProfile profile;
 
     private TransformationContext(Object ctxItem) {
         this.ctxItem = ctxItem;
@@ -53,6 +56,12 @@ public class TransformationContext {
             if (parentCtx.getVariables() != null) {
                 build.variables.putAll(parentCtx.getVariables());
             }
+            build.namespaces = parentCtx.namespaces;
+            build.profile = parentCtx.profile;
+        }
+        // the namespaces of the mapping are bound for this transformation only
+        if (template instanceof Header && ((Header) template).getNamespaces() != null) {
+            build.namespaces = ((Header) template).getNamespaces();
         }
         // add and/or override with template context
         if (template != null) {
@@ -61,7 +70,9 @@ public class TransformationContext {
             }
             if (template.getVariables() != null) {
                 template.getVariables().forEach((key, expr) -> {
-                    String value = expr.evaluateAsString(build);
+                    String value = build.profile == null ? expr.evaluateAsString(build)
+                        : build.profile.evaluate(build.profile.get(template), "@variables/" + key, expr,
+                            () -> expr.evaluateAsString(build));
                     build.variables.put(key, value);
                 });
             }
@@ -90,6 +101,41 @@ public class TransformationContext {
         return buildContext;
     }
 
+    void setProfile(MappingProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Evaluates an expression nested in the evaluated one, e.g. one of its arguments. Expressions which
+     * evaluate other expressions use this method, so that the nested evaluations are recorded by the
+     * {@link MappingProfile} of the transformation.
+     *
+     * @param expression the nested expression
+     * @param ctx the context of the evaluated expression, might be null
+     * @return the result of the nested expression
+     */
+    public static Object evaluateNested(Expression expression, TransformationContext ctx) {
+        if (ctx == null || ctx.profile == null) {
+            return expression.evaluate(ctx);
+        }
+        return ctx.profile.evaluateNested(expression, () -> expression.evaluate(ctx));
+    }
+
+    /**
+     * Evaluates an expression nested in the evaluated one as a String, see
+     * {@link #evaluateNested(Expression, TransformationContext)}.
+     *
+     * @param expression the nested expression
+     * @param ctx the context of the evaluated expression, might be null
+     * @return the result of the nested expression as a String
+     */
+    public static String evaluateNestedAsString(Expression expression, TransformationContext ctx) {
+        if (ctx == null || ctx.profile == null) {
+            return expression.evaluateAsString(ctx);
+        }
+        return ctx.profile.evaluateNested(expression, () -> expression.evaluateAsString(ctx));
+    }
+
     /**
      * @return usually the current scope (e.g. result of @foreach) in which Expressions will be executed
      */
@@ -111,4 +157,12 @@ public class TransformationContext {
         return variables;
     }
 
+    /**
+     * @return the namespace bindings of the MappingSpecification, might be null. They are used when
+     *         evaluating XPaths and take precedence over the bindings shared by all transformations.
+     */
+    public Map<String, String> getNamespaces() {
+        return namespaces;
+    }
+
 }
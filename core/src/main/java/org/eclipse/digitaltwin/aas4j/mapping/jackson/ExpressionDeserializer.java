@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.ServiceLoader;
 import java.util.function.Function;
 
 import com.fasterxml.jackson.core.JsonParser;
@@ -62,7 +63,7 @@ public class ExpressionDeserializer extends JsonDeserializer<Expression> {
                     // symbol is some built-in function
                     Function<Object, Object> f = Expressions.getFunctionByName(symbol);
                     if (f != null) {
-                        result = new BuiltinCallExpr(f, argsList);
+                        result = new BuiltinCallExpr(symbol, f, argsList);
                     }
 
                     if (result == null) {
@@ -91,12 +92,6 @@ public class ExpressionDeserializer extends JsonDeserializer<Expression> {
                                         jp.getValueAsString(), Expression.class);
                                 }
                                 break;
-                            case "uaBrowsePath":
-                                result = new BrowsePathExpr(argsList);
-                                break;
-                            case "uaChildren":
-                                result = new UaChildrenExpr(argsList);
-                                break;
                             case "var":
                                 if (argsList.size() == 1 &&
                                     argsList.get(0) instanceof ConstantExpr &&
@@ -117,6 +112,10 @@ public class ExpressionDeserializer extends JsonDeserializer<Expression> {
                                         jp.getValueAsString(), Expression.class);
                                 }
                                 break;
+                            default:
+                                // symbol is contributed by a format module, e.g. AML or UA
+                                result = createProvidedExpression(symbol, argsList);
+                                break;
                         }
                     }
 
@@ -148,4 +147,28 @@ public class ExpressionDeserializer extends JsonDeserializer<Expression> {
         }
         throw new InvalidFormatException(jp, "Invalid expression", jp.getValueAsString(), Expression.class);
     }
+
+    private static Expression createProvidedExpression(String symbol, List<Expression> args) {
+        for (ExpressionProvider provider : ProviderHolder.PROVIDERS) {
+            Expression expression = provider.createExpression(symbol, args);
+            if (expression != null) {
+                return expression;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up the {@link ExpressionProvider}s on first use of a provided symbol only.
+     */
+    private static final class ProviderHolder {
+        static final List<ExpressionProvider> PROVIDERS = loadProviders();
+
+        private static List<ExpressionProvider> loadProviders() {
+            List<ExpressionProvider> providers = new ArrayList<>();
+            ServiceLoader.load(ExpressionProvider.class, ExpressionProvider.class.getClassLoader())
+                .forEach(providers::add);
+            return Collections.unmodifiableList(providers);
+        }
+    }
 }
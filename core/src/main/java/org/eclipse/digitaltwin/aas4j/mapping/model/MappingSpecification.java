@@ -0,0 +1,118 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.mapping.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.digitaltwin.aas4j.expressions.Expression;
+import org.eclipse.digitaltwin.aas4j.expressions.Expressions;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+
+public class MappingSpecification {
+
+    private AssetAdministrationShellEnvironment aasEnvironmentMapping;
+    private Header header;
+    private StaticTemplates staticTemplates;
+    private String contentHash;
+    private volatile Boolean deterministic;
+
+    public AssetAdministrationShellEnvironment getAasEnvironmentMapping() {
+        return aasEnvironmentMapping;
+    }
+
+    public void setAasEnvironmentMapping(AssetAdministrationShellEnvironment mapping) {
+        this.aasEnvironmentMapping = mapping;
+    }
+
+    public Header getHeader() {
+        return header;
+    }
+
+    @JsonProperty("@header")
+    public void setHeader(Header header) {
+        this.header = header;
+    }
+
+    /**
+     * @return the static Templates of the AAS environment mapping, might be null if the mapping has not
+     *         been analyzed
+     */
+    @JsonIgnore
+    public StaticTemplates getStaticTemplates() {
+        return staticTemplates;
+    }
+
+    @JsonIgnore
+    public void setStaticTemplates(StaticTemplates staticTemplates) {
+        this.staticTemplates = staticTemplates;
+    }
+
+    /**
+     * @return SHA-256 hash of the mapping file this specification has been parsed from, null if it has
+     *         not been parsed from a file
+     */
+    @JsonIgnore
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    @JsonIgnore
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Checks whether all expressions of the mapping are known and deterministic, see
+     * {@link Expression#isDeterministic()}. The result is computed on first access, so the mapping must
+     * not be changed afterwards.
+     *
+     * @return true, if transforming the same document with the same placeholder values always yields the
+     *         same result
+     */
+    @JsonIgnore
+    public boolean isDeterministic() {
+        Boolean result = deterministic;
+        if (result == null) {
+            result = isDeterministic(header) && isDeterministic(aasEnvironmentMapping);
+            deterministic = result;
+        }
+        return result;
+    }
+
+    private static boolean isDeterministic(Object value) {
+        if (value instanceof List) {
+            return ((List<?>) value).stream().allMatch(MappingSpecification::isDeterministic);
+        }
+        if (!(value instanceof Template)) {
+            return true;
+        }
+        Template template = (Template) value;
+        List<Expression> expressions = new ArrayList<>();
+        expressions.add(template.getForeachExpression());
+        if (template.getBindSpecification() != null) {
+            expressions.addAll(template.getBindSpecification().getBindings().values());
+        }
+        if (template.getVariables() != null) {
+            expressions.addAll(template.getVariables().values());
+        }
+        if (template.getTemplateDefinitions() != null) {
+            expressions.addAll(template.getTemplateDefinitions().values());
+        }
+        if (!expressions.stream().allMatch(Expressions::isDeterministic)) {
+            return false;
+        }
+        if (template instanceof Header) {
+            return true;
+        }
+        List<Object> children = StaticTemplates.getChildren(template);
+        // the expressions of a Template with unknown structure can not be analyzed
+        return children != null && children.stream().allMatch(MappingSpecification::isDeterministic);
+    }
+}
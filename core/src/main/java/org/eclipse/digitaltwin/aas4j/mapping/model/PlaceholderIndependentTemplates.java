@@ -0,0 +1,243 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.mapping.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.eclipse.digitaltwin.aas4j.expressions.DefExpr;
+import org.eclipse.digitaltwin.aas4j.expressions.Expression;
+import org.eclipse.digitaltwin.aas4j.expressions.VarExpr;
+
+import com.google.common.collect.MapMaker;
+
+/**
+ * Registry of the {@link Template}s of a {@link MappingSpecification} whose transformation result
+ * does not depend on a given set of placeholders. A Template is placeholder independent if none of the
+ * expressions of the Template and its descendants reads a placeholder, neither directly nor through
+ * <code>@var</code> or <code>@def</code>, and all of them are known and deterministic, see
+ * {@link Expression#isDeterministic()}. Only the outermost placeholder independent Templates are
+ * registered.
+ * <p>
+ * The transformation result of such a Template still depends on the document and on the context it
+ * is transformed in. It can be reused for every placeholder set if the same document is transformed
+ * with the same MappingSpecification over and over again, which is what the results kept by an
+ * instance are meant for. Therefore an instance must only be used for a single document.
+ */
+public class PlaceholderIndependentTemplates {
+
+    private final Set<Template> templates;
+    private final Set<String> dependentVariables;
+    private final ConcurrentMap<Template, ConcurrentMap<List<Object>, Object>> results =
+        new MapMaker().weakKeys().makeMap();
+
+    private PlaceholderIndependentTemplates(Set<Template> templates, Set<String> dependentVariables) {
+        this.templates = templates;
+        this.dependentVariables = dependentVariables;
+    }
+
+    /**
+     * Analyzes which Templates of a MappingSpecification do not depend on the given placeholders.
+     *
+     * @param mapping the MappingSpecification
+     * @param placeholderNames names of the placeholders that vary between transformations
+     * @return the outermost placeholder independent Templates found
+     */
+    public static PlaceholderIndependentTemplates of(MappingSpecification mapping, Set<String> placeholderNames) {
+        Map<String, List<Expression>> variables = new HashMap<>();
+        Map<String, List<Expression>> definitions = new HashMap<>();
+        if (mapping.getHeader() != null) {
+            collectExpressions(mapping.getHeader(), variables, definitions);
+        }
+        collectExpressions(mapping.getAasEnvironmentMapping(), variables, definitions);
+
+        // a variable or definition depends on the placeholders if any of its declarations does
+        Set<String> dependentVariables = new HashSet<>(placeholderNames);
+        Set<String> dependentDefinitions = new HashSet<>();
+        boolean changed = true;
+        while (changed) {
+            changed = addDependent(variables, dependentVariables, dependentVariables, dependentDefinitions);
+            changed |= addDependent(definitions, dependentDefinitions, dependentVariables, dependentDefinitions);
+        }
+
+        List<Template> independentTemplates = new ArrayList<>();
+        collect(mapping.getAasEnvironmentMapping(), independentTemplates, dependentVariables, dependentDefinitions);
+        // templates are proxies which delegate equals and hashCode to the AAS model, so identity is used
+        Set<Template> templates = Collections.newSetFromMap(new IdentityHashMap<>());
+        templates.addAll(independentTemplates);
+        return new PlaceholderIndependentTemplates(templates, Collections.unmodifiableSet(dependentVariables));
+    }
+
+    /**
+     * @param template the Template to check
+     * @return true, if the transformation result of the Template does not depend on the placeholders
+     */
+    public boolean isIndependent(Template template) {
+        return templates.contains(template);
+    }
+
+    /**
+     * @return the number of outermost placeholder independent Templates
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    /**
+     * @return names of the variables whose value depends on the placeholders
+     */
+    public Set<String> getDependentVariables() {
+        return dependentVariables;
+    }
+
+    /**
+     * Returns the transformation result of a placeholder independent Template in a context, the result
+     * is computed only on first access for that context. The returned instance is shared and must not
+     * be modified.
+     *
+     * @param template a placeholder independent Template
+     * @param contextItem the context item the Template is transformed with
+     * @param variables the variables of the context, variables depending on placeholders are ignored
+     * @param definitions the definitions of the context
+     * @param transformation transformation of the Template, called at most once per Template and
+     *        context in sequential use
+     * @return the shared transformation result
+     */
+    public Object getResult(Template template, Object contextItem, Map<String, String> variables,
+        Map<String, Expression> definitions, Function<Template, Object> transformation) {
+        Map<String, String> independentVariables = new HashMap<>(variables);
+        independentVariables.keySet().removeAll(dependentVariables);
+        List<Object> context = Arrays.asList(contextItem, independentVariables, new HashMap<>(definitions));
+        ConcurrentMap<List<Object>, Object> resultsByContext = results.computeIfAbsent(template,
+            key -> new ConcurrentHashMap<>());
+        Object result = resultsByContext.get(context);
+        if (result == null) {
+            result = transformation.apply(template);
+            Object concurrentResult = resultsByContext.putIfAbsent(context, result);
+            if (concurrentResult != null) {
+                result = concurrentResult;
+            }
+        }
+        return result;
+    }
+
+    private static boolean addDependent(Map<String, List<Expression>> declarations, Set<String> dependent,
+        Set<String> dependentVariables, Set<String> dependentDefinitions) {
+        boolean changed = false;
+        for (Map.Entry<String, List<Expression>> declaration : declarations.entrySet()) {
+            if (!dependent.contains(declaration.getKey()) && declaration.getValue().stream()
+                .anyMatch(expression -> dependsOn(expression, dependentVariables, dependentDefinitions))) {
+                dependent.add(declaration.getKey());
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    private static boolean dependsOn(Expression expression, Set<String> dependentVariables,
+        Set<String> dependentDefinitions) {
+        if (expression instanceof VarExpr) {
+            return dependentVariables.contains(((VarExpr) expression).name());
+        }
+        if (expression instanceof DefExpr) {
+            return dependentDefinitions.contains(((DefExpr) expression).name());
+        }
+        if (expression == null) {
+            return false;
+        }
+        List<Expression> arguments = expression.getArguments();
+        // the result of unknown or nondeterministic expressions must not be reused
+        if (arguments == null || !expression.isDeterministic()) {
+            return true;
+        }
+        return arguments.stream()
+            .anyMatch(argument -> dependsOn(argument, dependentVariables, dependentDefinitions));
+    }
+
+    private static void collectExpressions(Object value, Map<String, List<Expression>> variables,
+        Map<String, List<Expression>> definitions) {
+        if (value instanceof List) {
+            ((List<?>) value).forEach(item -> collectExpressions(item, variables, definitions));
+            return;
+        }
+        if (!(value instanceof Template)) {
+            return;
+        }
+        Template template = (Template) value;
+        addAll(template.getVariables(), variables);
+        addAll(template.getTemplateDefinitions(), definitions);
+        List<Object> children = template instanceof Header ? null : StaticTemplates.getChildren(template);
+        if (children != null) {
+            children.forEach(child -> collectExpressions(child, variables, definitions));
+        }
+    }
+
+    private static void addAll(Map<String, Expression> declarations, Map<String, List<Expression>> target) {
+        if (declarations != null) {
+            declarations.forEach(
+                (name, expression) -> target.computeIfAbsent(name, key -> new ArrayList<>()).add(expression));
+        }
+    }
+
+    private static boolean collect(Object value, List<Template> independentTemplates, Set<String> dependentVariables,
+        Set<String> dependentDefinitions) {
+        if (value instanceof List) {
+            boolean allIndependent = true;
+            for (Object item : (List<?>) value) {
+                allIndependent &= collect(item, independentTemplates, dependentVariables, dependentDefinitions);
+            }
+            return allIndependent;
+        }
+        if (!(value instanceof Template)) {
+            // plain values are not transformed at all
+            return true;
+        }
+        Template template = (Template) value;
+        List<Object> children = StaticTemplates.getChildren(template);
+        if (children == null) {
+            // unknown structure, always transformed
+            return false;
+        }
+        List<Template> independentChildren = new ArrayList<>();
+        boolean allChildrenIndependent = true;
+        for (Object child : children) {
+            allChildrenIndependent &= collect(child, independentChildren, dependentVariables, dependentDefinitions);
+        }
+        if (allChildrenIndependent && !hasDependentDirectives(template, dependentVariables, dependentDefinitions)) {
+            independentTemplates.add(template);
+            return true;
+        }
+        independentTemplates.addAll(independentChildren);
+        return false;
+    }
+
+    private static boolean hasDependentDirectives(Template template, Set<String> dependentVariables,
+        Set<String> dependentDefinitions) {
+        List<Expression> expressions = new ArrayList<>();
+        expressions.add(template.getForeachExpression());
+        if (template.getBindSpecification() != null) {
+            expressions.addAll(template.getBindSpecification().getBindings().values());
+        }
+        if (template.getVariables() != null) {
+            expressions.addAll(template.getVariables().values());
+        }
+        if (template.getTemplateDefinitions() != null) {
+            expressions.addAll(template.getTemplateDefinitions().values());
+        }
+        return expressions.stream()
+            .anyMatch(expression -> dependsOn(expression, dependentVariables, dependentDefinitions));
+    }
+}
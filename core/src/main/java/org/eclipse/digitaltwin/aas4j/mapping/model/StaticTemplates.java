@@ -0,0 +1,162 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.mapping.model;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import com.google.common.collect.MapMaker;
+
+import io.adminshell.aas.v3.dataformat.core.ReflectionHelper;
+import io.adminshell.aas.v3.model.LangString;
+
+/**
+ * Registry of the static {@link Template}s of a {@link MappingSpecification}. A Template is static if
+ * neither the Template itself nor any of its descendants contains a <code>@bind</code>,
+ * <code>@foreach</code>, <code>@definitions</code> or <code>@variables</code> directive, so its
+ * transformation result does not depend on the transformed document. Only the outermost static
+ * Templates are registered.
+ * <p>
+ * The transformation result of a static Template can be materialized once and reused for every
+ * transformation of the same MappingSpecification.
+ */
+public class StaticTemplates {
+
+    private final Set<Template> templates;
+    private final ConcurrentMap<Template, Object> materialized = new MapMaker().weakKeys().makeMap();
+
+    private StaticTemplates(Set<Template> templates) {
+        this.templates = templates;
+    }
+
+    /**
+     * Collects the outermost static Templates contained in the given template of an
+     * AssetAdministrationShellEnvironment.
+     *
+     * @param template Template based object, usually the AssetAdministrationShellEnvironment of a
+     *        MappingSpecification
+     * @return the static Templates found
+     */
+    public static StaticTemplates of(Object template) {
+        List<Template> staticTemplates = new ArrayList<>();
+        collect(template, staticTemplates);
+        // templates are proxies which delegate equals and hashCode to the AAS model, so identity is used
+        Set<Template> templates = Collections.newSetFromMap(new IdentityHashMap<>());
+        templates.addAll(staticTemplates);
+        return new StaticTemplates(templates);
+    }
+
+    /**
+     * @param template the Template to check
+     * @return true, if the transformation result of the Template does not depend on any context
+     */
+    public boolean isStatic(Template template) {
+        return templates.contains(template);
+    }
+
+    /**
+     * @return the number of outermost static Templates
+     */
+    public int size() {
+        return templates.size();
+    }
+
+    /**
+     * Returns the transformation result of a static Template, the result is computed only on first
+     * access. The returned instance is shared and must not be modified.
+     *
+     * @param template a static Template
+     * @param transformation transformation of the Template, called at most once per Template in
+     *        sequential use
+     * @return the shared transformation result
+     */
+    public Object getMaterialized(Template template, Function<Template, Object> transformation) {
+        Object result = materialized.get(template);
+        if (result == null) {
+            result = transformation.apply(template);
+            Object concurrentResult = materialized.putIfAbsent(template, result);
+            if (concurrentResult != null) {
+                result = concurrentResult;
+            }
+        }
+        return result;
+    }
+
+    private static boolean collect(Object value, List<Template> staticTemplates) {
+        if (value instanceof List) {
+            boolean allStatic = true;
+            for (Object item : (List<?>) value) {
+                allStatic &= collect(item, staticTemplates);
+            }
+            return allStatic;
+        }
+        if (!(value instanceof Template)) {
+            // plain values are not transformed at all
+            return true;
+        }
+        Template template = (Template) value;
+        List<Object> children = getChildren(template);
+        if (children == null) {
+            // unknown structure, always transformed
+            return false;
+        }
+        List<Template> staticChildren = new ArrayList<>();
+        boolean allChildrenStatic = true;
+        for (Object child : children) {
+            allChildrenStatic &= collect(child, staticChildren);
+        }
+        if (allChildrenStatic && hasNoDirectives(template)) {
+            staticTemplates.add(template);
+            return true;
+        }
+        staticTemplates.addAll(staticChildren);
+        return false;
+    }
+
+    private static boolean hasNoDirectives(Template template) {
+        return template.getBindSpecification() == null && template.getForeachExpression() == null
+            && isEmpty(template.getTemplateDefinitions()) && isEmpty(template.getVariables());
+    }
+
+    private static boolean isEmpty(Map<?, ?> map) {
+        return map == null || map.isEmpty();
+    }
+
+    static List<Object> getChildren(Template template) {
+        if (template instanceof LangString) {
+            return Collections.emptyList();
+        }
+        Class<?> defaultImplementation = ReflectionHelper
+            .getDefaultImplementation(ReflectionHelper.getAasInterface(template.getClass()));
+        if (defaultImplementation == null) {
+            return null;
+        }
+        List<Object> children = new ArrayList<>();
+        try {
+            for (PropertyDescriptor propertyDescriptor : Introspector.getBeanInfo(defaultImplementation)
+                .getPropertyDescriptors()) {
+                if (propertyDescriptor.getReadMethod() != null && propertyDescriptor.getWriteMethod() != null) {
+                    children.add(template.getClass().getMethod(propertyDescriptor.getReadMethod().getName())
+                        .invoke(template));
+                }
+            }
+        } catch (IntrospectionException | IllegalAccessException | InvocationTargetException
+            | NoSuchMethodException e) {
+            throw new IllegalStateException("Unable to read properties of " + defaultImplementation.getName(), e);
+        }
+        return children;
+    }
+}
@@ -0,0 +1,410 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+
+import org.dom4j.Document;
+import org.dom4j.Element;
+
+import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
+import org.eclipse.digitaltwin.aas4j.mapping.model.Header;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.transform.postprocessor.AutoWireSubmodels;
+import org.eclipse.digitaltwin.aas4j.transform.validation.SchemaValidator;
+
+import com.google.common.io.CountingInputStream;
+
+import io.adminshell.aas.v3.dataformat.SerializationException;
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+import io.adminshell.aas.v3.model.Identifiable;
+
+public abstract class DocumentTransformer extends MappingSpecificationDocumentTransformer {
+    private TransformationResultCache resultCache;
+    private final List<TransformationListener> transformationListeners = new CopyOnWriteArrayList<>();
+
+    {
+        // ensure that references to the subModels are created within each AAS
+        addPostProcessor(new AutoWireSubmodels());
+    }
+
+    /**
+     * Transforms an XML file to AAS. We expect the XML file to be UTF-8 encoded.
+     *
+     * @param inStream
+     * @param mapping
+     * @return
+     * @throws TransformationException
+     */
+    public AssetAdministrationShellEnvironment execute(InputStream inStream, MappingSpecification mapping,
+        Map<String, String> initialVars)
+        throws TransformationException {
+        return execute(inStream, mapping, initialVars, (Consumer<Identifiable>) null);
+    }
+
+    /**
+     * Transforms an XML file to AAS and passes each completed {@link Identifiable} to the sink while
+     * the transformation is still running. Submodels and concept descriptions are passed as soon as
+     * they are transformed, shells and assets after the post processors have been executed. We expect
+     * the XML file to be UTF-8 encoded.
+     *
+     * @param inStream
+     * @param mapping
+     * @param initialVars
+     * @param sink Consumer of the completed Identifiables, never called concurrently. A slow sink
+     *        slows down the transformation.
+     * @return
+     * @throws TransformationException
+     */
+    public AssetAdministrationShellEnvironment execute(InputStream inStream, MappingSpecification mapping,
+        Map<String, String> initialVars, Consumer<? super Identifiable> sink)
+        throws TransformationException {
+        TransformationMetrics metrics = new TransformationMetrics();
+        try {
+            AssetAdministrationShellEnvironment aasEnvironment = execute(inStream, mapping, initialVars, sink,
+                metrics);
+            notifyCompleted(metrics);
+            return aasEnvironment;
+        } catch (TransformationException | RuntimeException e) {
+            notifyFailed(metrics, e);
+            throw e;
+        }
+    }
+
+    private AssetAdministrationShellEnvironment execute(InputStream inStream, MappingSpecification mapping,
+        Map<String, String> initialVars, Consumer<? super Identifiable> sink, TransformationMetrics metrics)
+        throws TransformationException {
+        prepareMapping(mapping);
+        // a missing stream is reported by readXmlDocument
+        CountingInputStream countingInStream = inStream != null ? new CountingInputStream(inStream) : null;
+        TransformationMetrics.PhaseMeasurement read = metrics.start(TransformationPhase.READ);
+        Document readXmlDocument = readXmlDocument(countingInStream);
+        read.stop();
+        metrics.setInputBytes(countingInStream.getCount());
+        TransformationMetrics.PhaseMeasurement validation = metrics.start(TransformationPhase.VALIDATE);
+        validateDocument(readXmlDocument);
+        validation.stop();
+        return transformValidated(readXmlDocument, mapping, initialVars, sink, metrics);
+    }
+
+    /**
+     * Transforms an already parsed and validated XML document to AAS, e.g. a document which has been
+     * validated as part of a container like an AMLX package. The document is neither read nor
+     * validated again.
+     *
+     * @param validatedDocument the document, which must have been validated by the
+     *        {@link #validateDocument(Document)} method of this transformer before
+     * @param mapping
+     * @param initialVars
+     * @return
+     * @throws TransformationException
+     */
+    public AssetAdministrationShellEnvironment transform(Document validatedDocument, MappingSpecification mapping,
+        Map<String, String> initialVars)
+        throws TransformationException {
+        TransformationMetrics metrics = new TransformationMetrics();
+        try {
+            prepareMapping(mapping);
+            AssetAdministrationShellEnvironment aasEnvironment = transformValidated(validatedDocument, mapping,
+                initialVars, null, metrics);
+            notifyCompleted(metrics);
+            return aasEnvironment;
+        } catch (TransformationException | RuntimeException e) {
+            notifyFailed(metrics, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Transforms an XML file to AAS using several mappings. The file is read, validated and indexed
+     * only once, the mappings are applied concurrently to the same document. We expect the XML file to
+     * be UTF-8 encoded.
+     *
+     * @param inStream
+     * @param mappings
+     * @param initialVars placeholder values, shared by all mappings
+     * @return one AAS env per mapping in the order of the mappings
+     * @throws TransformationException
+     */
+    public List<AssetAdministrationShellEnvironment> executeAll(InputStream inStream,
+        List<MappingSpecification> mappings, Map<String, String> initialVars)
+        throws TransformationException {
+        Document readXmlDocument = readXmlDocument(inStream);
+        validateDocument(readXmlDocument);
+        return transformAll(readXmlDocument, mappings, initialVars);
+    }
+
+    /**
+     * Transforms an already parsed and validated XML document to AAS using several mappings, see
+     * {@link #executeAll(InputStream, List, Map)}.
+     *
+     * @param validatedDocument the document, which must have been validated by the
+     *        {@link #validateDocument(Document)} method of this transformer before
+     * @param mappings
+     * @param initialVars placeholder values, shared by all mappings
+     * @return one AAS env per mapping in the order of the mappings
+     * @throws TransformationException
+     */
+    public List<AssetAdministrationShellEnvironment> transformAll(Document validatedDocument,
+        List<MappingSpecification> mappings, Map<String, String> initialVars)
+        throws TransformationException {
+        // document indexes are set up before the mappings are applied concurrently
+        for (MappingSpecification mapping : mappings) {
+            prepareMapping(mapping);
+            afterValidation(validatedDocument, mapping);
+        }
+        return createShellEnvs(validatedDocument, mappings, initialVars);
+    }
+
+    /**
+     * Transforms an XML file to AAS once for each placeholder set. The file is read, validated and
+     * indexed only once, the transformation results of Templates which do not depend on the
+     * placeholders are reused for all placeholder sets. We expect the XML file to be UTF-8 encoded.
+     *
+     * @param inStream
+     * @param mapping
+     * @param placeholderSets placeholder values, one AAS env is created for each of them
+     * @param consumer gets called with each AAS env in the order of the placeholder sets
+     * @throws TransformationException
+     */
+    public void executeForPlaceholders(InputStream inStream, MappingSpecification mapping,
+        Iterator<Map<String, String>> placeholderSets, Consumer<? super AssetAdministrationShellEnvironment> consumer)
+        throws TransformationException {
+        Document readXmlDocument = readXmlDocument(inStream);
+        validateDocument(readXmlDocument);
+        transformForPlaceholders(readXmlDocument, mapping, placeholderSets, consumer);
+    }
+
+    /**
+     * Transforms an already parsed and validated XML document to AAS once for each placeholder set, see
+     * {@link #executeForPlaceholders(InputStream, MappingSpecification, Iterator, Consumer)}.
+     *
+     * @param validatedDocument the document, which must have been validated by the
+     *        {@link #validateDocument(Document)} method of this transformer before
+     * @param mapping
+     * @param placeholderSets placeholder values, one AAS env is created for each of them
+     * @param consumer gets called with each AAS env in the order of the placeholder sets
+     * @throws TransformationException
+     */
+    public void transformForPlaceholders(Document validatedDocument, MappingSpecification mapping,
+        Iterator<Map<String, String>> placeholderSets, Consumer<? super AssetAdministrationShellEnvironment> consumer)
+        throws TransformationException {
+        prepareMapping(mapping);
+        afterValidation(validatedDocument, mapping);
+        createShellEnvs(validatedDocument, mapping, placeholderSets, consumer);
+    }
+
+    private void prepareMapping(MappingSpecification mapping) {
+        if (mapping.getHeader() == null) {
+            mapping.setHeader(new Header());
+        }
+        // the namespaces are bound per transformation, so that mappings binding the same prefix to other
+        // namespaces can be applied concurrently
+        Map<String, String> namespaces = mapping.getHeader().getNamespaces();
+        if (namespaces != null) {
+            namespaces.forEach(XPathHelper::validateNamespaceBinding);
+        }
+    }
+
+    private AssetAdministrationShellEnvironment transformValidated(Document validatedDocument,
+        MappingSpecification mapping, Map<String, String> initialVars, Consumer<? super Identifiable> sink,
+        TransformationMetrics metrics)
+        throws TransformationException {
+        if (!transformationListeners.isEmpty()) {
+            // counting needs a pass over the whole document, so it is only done if anybody is interested
+            metrics.setDocumentElements(countElements(validatedDocument.getRootElement()));
+        }
+        TransformationMetrics.PhaseMeasurement preparation = metrics.start(TransformationPhase.AFTER_VALIDATION);
+        afterValidation(validatedDocument, mapping);
+        preparation.stop();
+        return createShellEnv(validatedDocument, mapping, initialVars, sink, metrics);
+    }
+
+    private static long countElements(Element element) {
+        long count = 1;
+        for (Iterator<Element> children = element.elementIterator(); children.hasNext();) {
+            count += countElements(children.next());
+        }
+        return count;
+    }
+
+    /**
+     * Transforms an XML file to AAS in a background thread, which starts as soon as a subscriber
+     * subscribes. The subscriber receives each completed {@link Identifiable} while the transformation
+     * is still running, the transformation waits if the subscriber does not request further items.
+     * Only one subscriber is supported. We expect the XML file to be UTF-8 encoded.
+     *
+     * @param inStream
+     * @param mapping
+     * @param initialVars
+     * @return Publisher of the transformed Identifiables
+     */
+    public Flow.Publisher<Identifiable> publish(InputStream inStream, MappingSpecification mapping,
+        Map<String, String> initialVars) {
+        return new TransformationPublisher(
+            sink -> execute(inStream, mapping, initialVars, sink));
+    }
+
+    /**
+     * Transforms an XML file to AAS. We expect the XML file to be UTF-8 encoded.
+     *
+     * @param inStream
+     * @param mapping
+     * @return
+     * @throws TransformationException
+     */
+    public AssetAdministrationShellEnvironment execute(InputStream inStream, MappingSpecification mapping)
+        throws TransformationException {
+        return execute(inStream, mapping, null);
+    }
+
+    /**
+     * Transforms an XML file to AAS and writes the result as JSON to the given OutputStream without
+     * building the whole JSON document in memory. We expect the XML file to be UTF-8 encoded.
+     *
+     * @param inStream
+     * @param mapping
+     * @param initialVars
+     * @param outStream OutputStream the JSON is written to, should be buffered, it is flushed but not
+     *        closed
+     * @throws TransformationException
+     * @throws SerializationException If the resulting AAS env can not be serialized
+     * @throws IOException If writing to the OutputStream fails
+     */
+    public void execute(InputStream inStream, MappingSpecification mapping, Map<String, String> initialVars,
+        OutputStream outStream)
+        throws TransformationException, SerializationException, IOException {
+        TransformationMetrics metrics = new TransformationMetrics();
+        try {
+            if (resultCache == null || !TransformationResultCache.isCacheable(mapping, this)) {
+                AssetAdministrationShellEnvironment aasEnvironment = execute(inStream, mapping, initialVars, null,
+                    metrics);
+                serialize(outStream, aasEnvironment, metrics);
+                notifyCompleted(metrics);
+                return;
+            }
+            // the whole input is needed for the key, so it is read into memory
+            byte[] input = inStream.readAllBytes();
+            String key = TransformationResultCache.key(input, mapping, initialVars, this);
+            byte[] result = resultCache.get(key);
+            if (result == null) {
+                AssetAdministrationShellEnvironment aasEnvironment = execute(new ByteArrayInputStream(input), mapping,
+                    initialVars, null, metrics);
+                ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+                serialize(serialized, aasEnvironment, metrics);
+                result = serialized.toByteArray();
+                resultCache.put(key, result);
+                notifyCompleted(metrics);
+            }
+            outStream.write(result);
+        } catch (TransformationException | SerializationException | IOException | RuntimeException e) {
+            notifyFailed(metrics, e);
+            throw e;
+        }
+    }
+
+    private void serialize(OutputStream outStream, AssetAdministrationShellEnvironment aasEnvironment,
+        TransformationMetrics metrics) throws SerializationException, IOException {
+        TransformationMetrics.PhaseMeasurement serialization = metrics.start(TransformationPhase.SERIALIZATION);
+        new StreamingJsonSerializer().write(outStream, aasEnvironment);
+        serialization.stop();
+    }
+
+    /**
+     * Sets a cache which answers repeated requests of
+     * {@link #execute(InputStream, MappingSpecification, Map, OutputStream)} with a stored result, only
+     * mappings loaded by the MappingSpecificationParser can be cached. Nondeterministic mappings and
+     * transformers with lambda post processors are not cached, see
+     * {@link TransformationResultCache#isCacheable(MappingSpecification, DocumentTransformer)}.
+     *
+     * @param resultCache the cache, might be null to disable caching (the default)
+     */
+    public void setResultCache(TransformationResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+
+    /**
+     * Adds a listener which gets notified with the {@link TransformationMetrics} of each transformation
+     * executed by {@link #execute(InputStream, MappingSpecification, Map, Consumer)},
+     * {@link #transform(Document, MappingSpecification, Map)},
+     * {@link #execute(InputStream, MappingSpecification, Map, OutputStream)} and the methods delegating to
+     * them. Requests answered by the result cache are not reported.
+     *
+     * @param transformationListener the listener, e.g. a {@link LoggingTransformationListener}
+     */
+    public void addTransformationListener(TransformationListener transformationListener) {
+        transformationListeners.add(transformationListener);
+    }
+
+    private void notifyCompleted(TransformationMetrics metrics) {
+        metrics.commitEvent(this, null);
+        transformationListeners.forEach(listener -> listener.transformationCompleted(metrics));
+    }
+
+    private void notifyFailed(TransformationMetrics metrics, Exception exception) {
+        metrics.commitEvent(this, exception);
+        transformationListeners.forEach(listener -> listener.transformationFailed(metrics, exception));
+    }
+
+    /**
+     * Function called after document is validated and before shell environment gets created.
+     *
+     * @param readXmlDocument
+     * @param mapping
+     */
+    protected abstract void afterValidation(Document readXmlDocument, MappingSpecification mapping);
+
+    /**
+     * actual transformation done after a successful XML read and validation action
+     *
+     * @param readXmlDocument
+     * @param mapping
+     * @return
+     * @throws TransformationException
+     */
+
+    /**
+     * Parses and XML Document from InputStream.
+     *
+     * Note that the input stream will be read and closed by this method.
+     *
+     * The SAXReader is unable to parse the XML file if it uses the wrong encoding to read an input
+     * stream. We expect files in UTF-8 format only. Otherwise SAXReader relies on the System Charset,
+     * which i.e. in the case of Docker containers (sapmachine:11) can be: US-ASCII if the Locale is not
+     * set and `locale` output is: LANG= LANGUAGE= LC_CTYPE="POSIX" LC_NUMERIC="POSIX" LC_TIME="POSIX"
+     * LC_COLLATE="POSIX" LC_MONETARY="POSIX" LC_MESSAGES="POSIX" LC_PAPER="POSIX" LC_NAME="POSIX"
+     * LC_ADDRESS="POSIX" LC_TELEPHONE="POSIX" LC_MEASUREMENT="POSIX" LC_IDENTIFICATION="POSIX" LC_ALL=
+     *
+     * @param inStream
+     * @return
+     * @throws TransformationException
+     */
+    protected abstract Document readXmlDocument(InputStream inStream) throws TransformationException;
+
+    /**
+     * Validates a given XML file. We expect the XML file to be UTF-8 encoded.
+     *
+     *
+     * @param document read org.dom4j.Document
+     * @throws TransformationException If the input stream is not valid
+     */
+    protected void validateDocument(Document document) throws TransformationException {
+        getSchemaValidator().validate(document);
+    }
+
+    protected abstract SchemaValidator getSchemaValidator();
+
+}
@@ -0,0 +1,41 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import java.lang.invoke.MethodHandles;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * TransformationListener which logs a summary of the metrics of each transformation. The metrics of the
+ * most recent transformation are kept, so they can also be read programmatically.
+ */
+public class LoggingTransformationListener implements TransformationListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private volatile TransformationMetrics lastMetrics;
+
+    @Override
+    public void transformationCompleted(TransformationMetrics metrics) {
+        lastMetrics = metrics;
+        LOGGER.info("Transformation completed: {}", metrics);
+    }
+
+    @Override
+    public void transformationFailed(TransformationMetrics metrics, Exception exception) {
+        lastMetrics = metrics;
+        LOGGER.warn("Transformation failed with {}: {}", exception.getClass().getSimpleName(), metrics);
+    }
+
+    /**
+     * @return the metrics of the most recent transformation, null if no transformation has been executed
+     */
+    public TransformationMetrics getLastMetrics() {
+        return lastMetrics;
+    }
+}
@@ -0,0 +1,319 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.dom4j.Document;
+import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.digitaltwin.aas4j.mapping.MappingProfile;
+import org.eclipse.digitaltwin.aas4j.mapping.TemplateTransformer;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.mapping.model.PlaceholderIndependentTemplates;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+import io.adminshell.aas.v3.model.ConceptDescription;
+import io.adminshell.aas.v3.model.Identifiable;
+import io.adminshell.aas.v3.model.Submodel;
+
+public class MappingSpecificationDocumentTransformer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private List<Consumer<AssetAdministrationShellEnvironment>> postProcessors = new ArrayList<>();
+
+    private int parallelism = 1;
+
+    private Executor executor;
+
+    private ThreadPoolExecutor ownExecutor;
+
+    private MappingProfile profile;
+
+    public MappingSpecificationDocumentTransformer() {}
+
+    /**
+     * Map document based on the mapping configuration into one flat AAS env.
+     *
+     * @param document The XML document
+     * @param mappings The mapping configuration
+     * @return Flat AAS env
+     * @throws TransformationException If something goes wrong during transformation
+     */
+    protected AssetAdministrationShellEnvironment createShellEnv(Document document, MappingSpecification mappings,
+        Map<String, String> initialVars)
+        throws TransformationException {
+        return createShellEnv(document, mappings, initialVars, null);
+    }
+
+    /**
+     * Map document based on the mapping configuration into one flat AAS env and pass each
+     * {@link Identifiable} of the env to a sink as soon as it is completed. Submodels and concept
+     * descriptions are passed as soon as they are transformed, shells and assets after all post
+     * processors have been executed.
+     *
+     * @param document The XML document
+     * @param mappings The mapping configuration
+     * @param sink Consumer of the completed Identifiables, might be null. It is never called
+     *        concurrently, so it can slow down the transformation to apply backpressure.
+     * @return Flat AAS env
+     * @throws TransformationException If something goes wrong during transformation
+     */
+    protected AssetAdministrationShellEnvironment createShellEnv(Document document, MappingSpecification mappings,
+        Map<String, String> initialVars, Consumer<? super Identifiable> sink)
+        throws TransformationException {
+        return createShellEnv(document, mappings, initialVars, sink, new TransformationMetrics());
+    }
+
+    /**
+     * Map document based on the mapping configuration into one flat AAS env, see
+     * {@link #createShellEnv(Document, MappingSpecification, Map, Consumer)}, and record the template
+     * transformation and the post processors in the given metrics.
+     *
+     * @param document The XML document
+     * @param mappings The mapping configuration
+     * @param sink Consumer of the completed Identifiables, might be null
+     * @param metrics metrics of the running transformation
+     * @return Flat AAS env
+     * @throws TransformationException If something goes wrong during transformation
+     */
+    protected AssetAdministrationShellEnvironment createShellEnv(Document document, MappingSpecification mappings,
+        Map<String, String> initialVars, Consumer<? super Identifiable> sink, TransformationMetrics metrics)
+        throws TransformationException {
+        return createShellEnv(document, mappings, initialVars, sink, null, metrics);
+    }
+
+    /**
+     * Map one document based on the mapping configuration into one flat AAS env per placeholder set.
+     * The transformation results of Templates which do not depend on the placeholders are computed for
+     * the first placeholder set and copied for all following ones.
+     *
+     * @param document The XML document
+     * @param mappings The mapping configuration
+     * @param placeholderSets placeholder values, one AAS env is created for each of them
+     * @param consumer gets called with each AAS env in the order of the placeholder sets
+     * @throws TransformationException If something goes wrong during one of the transformations
+     */
+    protected void createShellEnvs(Document document, MappingSpecification mappings,
+        Iterator<Map<String, String>> placeholderSets, Consumer<? super AssetAdministrationShellEnvironment> consumer)
+        throws TransformationException {
+        // the analysis depends on which placeholders are given, usually all sets have the same names
+        Map<Set<String>, PlaceholderIndependentTemplates> independentTemplatesByNames = new HashMap<>();
+        while (placeholderSets.hasNext()) {
+            Map<String, String> placeholderValues = placeholderSets.next();
+            PlaceholderIndependentTemplates independentTemplates = independentTemplatesByNames.computeIfAbsent(
+                Set.copyOf(placeholderValues.keySet()), names -> {
+                    PlaceholderIndependentTemplates templates = PlaceholderIndependentTemplates.of(mappings, names);
+                    LOGGER.info("Reusing results of {} templates which do not depend on placeholders {}",
+                        templates.size(), names);
+                    return templates;
+                });
+            consumer.accept(createShellEnv(document, mappings, placeholderValues, null, independentTemplates,
+                new TransformationMetrics()));
+        }
+    }
+
+    private AssetAdministrationShellEnvironment createShellEnv(Document document, MappingSpecification mappings,
+        Map<String, String> initialVars, Consumer<? super Identifiable> sink,
+        PlaceholderIndependentTemplates independentTemplates, TransformationMetrics metrics)
+        throws TransformationException {
+        if (mappings.getAasEnvironmentMapping() != null) {
+
+            LOGGER.info("Transforming AAS Environment...");
+
+            TransformationMetrics.PhaseMeasurement templateTransformation = metrics
+                .start(TransformationPhase.TEMPLATE_TRANSFORMATION);
+            TemplateTransformer templateTransformer = new TemplateTransformer(getExecutor());
+            templateTransformer.setPlaceholderIndependentTemplates(independentTemplates);
+            templateTransformer.setProfile(profile);
+            if (sink != null) {
+                templateTransformer.setTopLevelElementListener(element -> {
+                    if (element instanceof Submodel || element instanceof ConceptDescription) {
+                        accept(sink, (Identifiable) element);
+                    }
+                });
+            }
+            AssetAdministrationShellEnvironment transformedEnvironment = templateTransformer.transform(mappings,
+                document, initialVars);
+            metrics.setInflatedTemplates(templateTransformer.getInflatedTemplates());
+            metrics.setEvaluatedExpressions(templateTransformer.getEvaluatedExpressions());
+            templateTransformation.stop();
+            TransformationMetrics.PhaseMeasurement postProcessing = metrics.start(TransformationPhase.POST_PROCESSING);
+            executePostProcessors(transformedEnvironment);
+            postProcessing.stop();
+            if (sink != null) {
+                // shells are completed by post processors, e.g. by adding submodel references
+                transformedEnvironment.getAssetAdministrationShells().forEach(shell -> accept(sink, shell));
+                transformedEnvironment.getAssets().forEach(asset -> accept(sink, asset));
+            }
+
+            return transformedEnvironment;
+        } else {
+            throw new IllegalArgumentException("No AAS Environment specified!");
+        }
+    }
+
+    /**
+     * Map one document based on several mapping configurations into one flat AAS env per mapping. The
+     * mappings are applied concurrently, all of them share the document and its indexes. Each
+     * transformation uses {@link #getParallelism()} threads for its top level templates.
+     *
+     * @param document The XML document
+     * @param mappings The mapping configurations
+     * @param initialVars placeholder values, shared by all mappings
+     * @return Flat AAS envs in the order of the mappings
+     * @throws TransformationException If something goes wrong during one of the transformations
+     */
+    protected List<AssetAdministrationShellEnvironment> createShellEnvs(Document document,
+        List<MappingSpecification> mappings, Map<String, String> initialVars) throws TransformationException {
+        if (mappings.size() == 1) {
+            return List.of(createShellEnv(document, mappings.get(0), initialVars));
+        }
+        ExecutorService fanOutExecutor = Executors.newFixedThreadPool(
+            Math.min(mappings.size(), Runtime.getRuntime().availableProcessors()),
+            new ThreadFactoryBuilder().setNameFormat("aas-fan-out-%d").setDaemon(true).build());
+        try {
+            List<Future<AssetAdministrationShellEnvironment>> futures = new ArrayList<>(mappings.size());
+            for (MappingSpecification mapping : mappings) {
+                futures.add(fanOutExecutor.submit(() -> createShellEnv(document, mapping, initialVars)));
+            }
+            List<AssetAdministrationShellEnvironment> environments = new ArrayList<>(mappings.size());
+            for (Future<AssetAdministrationShellEnvironment> future : futures) {
+                environments.add(getResult(future));
+            }
+            return environments;
+        } finally {
+            fanOutExecutor.shutdownNow();
+        }
+    }
+
+    private AssetAdministrationShellEnvironment getResult(Future<AssetAdministrationShellEnvironment> future)
+        throws TransformationException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TransformationException) {
+                throw (TransformationException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the transformation", e);
+        }
+    }
+
+    private void accept(Consumer<? super Identifiable> sink, Identifiable identifiable) {
+        synchronized (sink) {
+            sink.accept(identifiable);
+        }
+    }
+
+    private synchronized Executor getExecutor() {
+        if (executor != null || parallelism <= 1) {
+            return executor;
+        }
+        if (ownExecutor == null) {
+            // shared by all transformations of this transformer, idle threads terminate on their own
+            ownExecutor = new ThreadPoolExecutor(parallelism, parallelism, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(),
+                new ThreadFactoryBuilder().setNameFormat("aas-transformation-%d").setDaemon(true).build());
+            ownExecutor.allowCoreThreadTimeOut(true);
+        }
+        return ownExecutor;
+    }
+
+    private void executePostProcessors(AssetAdministrationShellEnvironment transformedEnvironment) {
+        postProcessors.stream().forEach(c -> c.accept(transformedEnvironment));
+    }
+
+    /**
+     * adds a function which gets called with the AssetAdministrationShellEnvironment result after the
+     * transformation process
+     */
+    public void addPostProcessor(Consumer<AssetAdministrationShellEnvironment> postProcessor) {
+        postProcessors.add(postProcessor);
+    }
+
+    List<Consumer<AssetAdministrationShellEnvironment>> getPostProcessors() {
+        return postProcessors;
+    }
+
+    /**
+     * Sets the number of threads used to transform the top level templates of the
+     * AssetAdministrationShellEnvironment (shells, assets, concept descriptions and submodels)
+     * concurrently. The result is assembled in the order of the templates, independent of the
+     * order in which the transformations finish. The threads are kept by this transformer for its
+     * following transformations and terminate when they are idle.
+     *
+     * @param parallelism number of threads, 1 (the default) transforms all templates sequentially
+     */
+    public synchronized void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, but was " + parallelism);
+        }
+        this.parallelism = parallelism;
+        if (ownExecutor != null && ownExecutor.getMaximumPoolSize() != parallelism) {
+            ownExecutor.shutdown();
+            ownExecutor = null;
+        }
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the Executor used to transform the top level templates concurrently instead of a thread
+     * pool of {@link #getParallelism()} threads owned by this transformer. It allows several
+     * transformers, e.g. one per request, to share one pool. The caller owns the Executor and shuts
+     * it down.
+     *
+     * @param executor Executor shared by all following transformations, might be null to use the
+     *        parallelism of this transformer (the default)
+     */
+    public synchronized void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Records the time spent per Template and expression of a mapping in all following transformations
+     * of that mapping, Templates of other mappings are not recorded.
+     *
+     * @param profile the profile created for the mapping by {@link MappingProfile#of}, might be null to
+     *        disable profiling (the default)
+     */
+    public void setProfile(MappingProfile profile) {
+        this.profile = profile;
+    }
+
+    public void setNamespaces(Map<String, String> namespaces) {
+        XPathHelper.getInstance().addNamespaceBindings(namespaces);
+    }
+
+}
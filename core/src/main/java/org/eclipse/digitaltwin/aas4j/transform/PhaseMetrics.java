@@ -0,0 +1,45 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import java.time.Duration;
+
+/**
+ * Duration and heap delta of one {@link TransformationPhase} of a transformation.
+ */
+public class PhaseMetrics {
+
+    private final TransformationPhase phase;
+    private final Duration duration;
+    private final long heapDeltaBytes;
+
+    PhaseMetrics(TransformationPhase phase, Duration duration, long heapDeltaBytes) {
+        this.phase = phase;
+        this.duration = duration;
+        this.heapDeltaBytes = heapDeltaBytes;
+    }
+
+    public TransformationPhase getPhase() {
+        return phase;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return difference of the used heap after and before the phase. This includes garbage which has
+     *         not been collected yet and is negative if a garbage collection happened during the phase.
+     */
+    public long getHeapDeltaBytes() {
+        return heapDeltaBytes;
+    }
+
+    @Override
+    public String toString() {
+        return phase + " " + duration.toMillis() + " ms, heap delta " + heapDeltaBytes / 1024 + " KB";
+    }
+}
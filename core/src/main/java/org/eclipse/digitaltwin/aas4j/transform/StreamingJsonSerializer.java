@@ -0,0 +1,119 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+
+import io.adminshell.aas.v3.dataformat.SerializationException;
+import io.adminshell.aas.v3.dataformat.json.JsonSerializer;
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+
+/**
+ * {@link JsonSerializer} which writes the AssetAdministrationShellEnvironment directly to the output
+ * instead of building an intermediate JSON tree and String. The output is the same as the one of
+ * {@link JsonSerializer#write(AssetAdministrationShellEnvironment)}, i.e. textual
+ * <code>"modelType": "Submodel"</code> properties are written as
+ * <code>"modelType": { "name": "Submodel" }</code> while streaming.
+ */
+public class StreamingJsonSerializer extends JsonSerializer {
+
+    private static final String MODEL_TYPE = "modelType";
+    private static final String MODEL_TYPE_NAME = "name";
+
+    @Override
+    public void write(OutputStream out, AssetAdministrationShellEnvironment aasEnvironment)
+        throws IOException, SerializationException {
+        write(out, DEFAULT_CHARSET, aasEnvironment);
+    }
+
+    @Override
+    public void write(OutputStream out, Charset charset, AssetAdministrationShellEnvironment aasEnvironment)
+        throws IOException, SerializationException {
+        // the writer is not closed, closing the stream is up to the caller
+        Writer writer = new OutputStreamWriter(out, charset);
+        write(writer, aasEnvironment);
+        writer.flush();
+    }
+
+    /**
+     * Writes the AssetAdministrationShellEnvironment as JSON to the given Writer, the Writer is flushed
+     * but not closed.
+     *
+     * @param writer Writer to write to, should be buffered
+     * @param aasEnvironment the AssetAdministrationShellEnvironment to serialize
+     * @throws IOException if writing fails
+     * @throws SerializationException if the AssetAdministrationShellEnvironment can not be serialized
+     */
+    public void write(Writer writer, AssetAdministrationShellEnvironment aasEnvironment)
+        throws IOException, SerializationException {
+        JsonGenerator generator = mapper.getFactory().createGenerator(writer)
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (JsonGenerator modelTypeGenerator = new ModelTypeGenerator(generator)) {
+            mapper.writeValue(modelTypeGenerator, aasEnvironment);
+        } catch (JsonProcessingException e) {
+            throw new SerializationException("error serializing AssetAdministrationShellEnvironment", e);
+        }
+    }
+
+    /**
+     * Rewrites textual modelType values to objects, as done by the ModelTypeProcessor for JSON trees.
+     */
+    private static class ModelTypeGenerator extends JsonGeneratorDelegate {
+
+        ModelTypeGenerator(JsonGenerator delegate) {
+            super(delegate, false);
+        }
+
+        @Override
+        public void writeString(String text) throws IOException {
+            if (isModelTypeValue()) {
+                writeModelType(text);
+            } else {
+                super.writeString(text);
+            }
+        }
+
+        @Override
+        public void writeString(SerializableString text) throws IOException {
+            if (isModelTypeValue()) {
+                writeModelType(text.getValue());
+            } else {
+                super.writeString(text);
+            }
+        }
+
+        @Override
+        public void writeString(char[] text, int offset, int len) throws IOException {
+            if (isModelTypeValue()) {
+                writeModelType(new String(text, offset, len));
+            } else {
+                super.writeString(text, offset, len);
+            }
+        }
+
+        private boolean isModelTypeValue() {
+            JsonStreamContext context = getOutputContext();
+            return context.inObject() && MODEL_TYPE.equals(context.getCurrentName());
+        }
+
+        private void writeModelType(String modelType) throws IOException {
+            super.writeStartObject();
+            super.writeFieldName(MODEL_TYPE_NAME);
+            super.writeString(modelType);
+            super.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+/**
+ * Gets notified about each transformation executed by a {@link DocumentTransformer} it has been added
+ * to, see {@link DocumentTransformer#addTransformationListener(TransformationListener)}. Listeners are
+ * called in the thread which executed the transformation, concurrent transformations call them
+ * concurrently.
+ */
+public interface TransformationListener {
+
+    /**
+     * Called after a transformation completed successfully.
+     *
+     * @param metrics the metrics of the transformation
+     */
+    void transformationCompleted(TransformationMetrics metrics);
+
+    /**
+     * Called after a transformation failed, before the exception is thrown to the caller.
+     *
+     * @param metrics the metrics of the phases completed before the failure
+     * @param exception the cause of the failure
+     */
+    default void transformationFailed(TransformationMetrics metrics, Exception exception) {}
+}
@@ -0,0 +1,162 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.digitaltwin.aas4j.transform.jfr.TransformationEvent;
+
+/**
+ * Metrics of one transformation: the duration and heap delta of each executed
+ * {@link TransformationPhase}, the size of the input, the number of elements of the XML document and
+ * the number of inflated templates and evaluated expressions. Sizes and counts which are not known
+ * are -1, e.g. the input size of a transformation of an already parsed document.
+ */
+public class TransformationMetrics {
+
+    private final List<PhaseMetrics> phases = new ArrayList<>();
+    private long inputBytes = -1;
+    private long documentElements = -1;
+    private long inflatedTemplates = -1;
+    private long evaluatedExpressions = -1;
+    // the event spans the transformation, it is committed when the transformation ends
+    private final TransformationEvent event = new TransformationEvent();
+
+    {
+        event.begin();
+    }
+
+    /**
+     * Measurement of a running phase, the phase is recorded when it is stopped.
+     */
+    class PhaseMeasurement {
+
+        private final TransformationPhase phase;
+        private final long startNanos = System.nanoTime();
+        private final long startHeap = usedHeap();
+
+        private PhaseMeasurement(TransformationPhase phase) {
+            this.phase = phase;
+        }
+
+        void stop() {
+            PhaseMetrics phaseMetrics = new PhaseMetrics(phase, Duration.ofNanos(System.nanoTime() - startNanos),
+                usedHeap() - startHeap);
+            synchronized (phases) {
+                phases.add(phaseMetrics);
+            }
+        }
+    }
+
+    PhaseMeasurement start(TransformationPhase phase) {
+        return new PhaseMeasurement(phase);
+    }
+
+    /**
+     * Commits the {@link TransformationEvent} of the transformation, if it is enabled in a running
+     * Flight Recorder and exceeds its threshold.
+     *
+     * @param transformer the transformer which executed the transformation
+     * @param failure the exception which terminated the transformation, or null
+     */
+    void commitEvent(DocumentTransformer transformer, Exception failure) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.setTransformer(transformer.getClass().getName());
+            event.setInputBytes(inputBytes);
+            event.setDocumentElements(documentElements);
+            event.setInflatedTemplates(inflatedTemplates);
+            event.setEvaluatedExpressions(evaluatedExpressions);
+            event.setReadDuration(getDuration(TransformationPhase.READ).toNanos());
+            event.setValidateDuration(getDuration(TransformationPhase.VALIDATE).toNanos());
+            event.setTemplateTransformationDuration(getDuration(TransformationPhase.TEMPLATE_TRANSFORMATION).toNanos());
+            event.setPostProcessingDuration(getDuration(TransformationPhase.POST_PROCESSING).toNanos());
+            event.setSerializationDuration(getDuration(TransformationPhase.SERIALIZATION).toNanos());
+            event.setFailure(failure == null ? null : failure.toString());
+            event.commit();
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * @return the metrics of the executed phases in the order of their execution
+     */
+    public List<PhaseMetrics> getPhases() {
+        synchronized (phases) {
+            return Collections.unmodifiableList(new ArrayList<>(phases));
+        }
+    }
+
+    /**
+     * @param phase the phase
+     * @return the duration of the phase, zero if the phase has not been executed
+     */
+    public Duration getDuration(TransformationPhase phase) {
+        return getPhases().stream().filter(phaseMetrics -> phaseMetrics.getPhase() == phase)
+            .map(PhaseMetrics::getDuration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    /**
+     * @return the sum of the durations of all executed phases
+     */
+    public Duration getTotalDuration() {
+        return getPhases().stream().map(PhaseMetrics::getDuration).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    public long getInputBytes() {
+        return inputBytes;
+    }
+
+    void setInputBytes(long inputBytes) {
+        this.inputBytes = inputBytes;
+    }
+
+    public long getDocumentElements() {
+        return documentElements;
+    }
+
+    void setDocumentElements(long documentElements) {
+        this.documentElements = documentElements;
+    }
+
+    /**
+     * @return number of Template instances created, see
+     *         {@link org.eclipse.digitaltwin.aas4j.mapping.TemplateTransformer#getInflatedTemplates()}
+     */
+    public long getInflatedTemplates() {
+        return inflatedTemplates;
+    }
+
+    void setInflatedTemplates(long inflatedTemplates) {
+        this.inflatedTemplates = inflatedTemplates;
+    }
+
+    /**
+     * @return number of expressions evaluated by the templates, see
+     *         {@link org.eclipse.digitaltwin.aas4j.mapping.TemplateTransformer#getEvaluatedExpressions()}
+     */
+    public long getEvaluatedExpressions() {
+        return evaluatedExpressions;
+    }
+
+    void setEvaluatedExpressions(long evaluatedExpressions) {
+        this.evaluatedExpressions = evaluatedExpressions;
+    }
+
+    @Override
+    public String toString() {
+        return "total " + getTotalDuration().toMillis() + " ms, input " + inputBytes + " bytes, " + documentElements
+            + " elements, " + inflatedTemplates + " templates inflated, " + evaluatedExpressions
+            + " expressions evaluated, phases " + getPhases();
+    }
+}
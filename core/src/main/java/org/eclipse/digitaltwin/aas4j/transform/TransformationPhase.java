@@ -0,0 +1,25 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+/**
+ * The phases of a transformation executed by a {@link DocumentTransformer}, in the order of their
+ * execution.
+ */
+public enum TransformationPhase {
+    /** parsing the input into an XML document */
+    READ,
+    /** schema validation of the XML document */
+    VALIDATE,
+    /** preparation of the XML document for the mapping, e.g. indexing */
+    AFTER_VALIDATION,
+    /** transformation of the templates of the mapping */
+    TEMPLATE_TRANSFORMATION,
+    /** execution of the post processors */
+    POST_PROCESSING,
+    /** JSON serialization of the result, only for transformations which write to an OutputStream */
+    SERIALIZATION
+}
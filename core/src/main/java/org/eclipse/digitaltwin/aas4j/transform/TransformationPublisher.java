@@ -0,0 +1,62 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import io.adminshell.aas.v3.model.Identifiable;
+
+/**
+ * {@link Flow.Publisher} which executes a transformation in a background thread as soon as a
+ * subscriber subscribes and publishes each completed {@link Identifiable}. Backpressure is applied
+ * by blocking the transformation while the buffer of the subscriber is full.
+ */
+class TransformationPublisher implements Flow.Publisher<Identifiable> {
+
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactoryBuilder()
+        .setNameFormat("aas-transformation-publisher-%d").setDaemon(true).build();
+
+    /**
+     * A transformation which passes its results to a sink.
+     */
+    @FunctionalInterface
+    interface Transformation {
+        void execute(Consumer<? super Identifiable> sink) throws TransformationException;
+    }
+
+    private final Transformation transformation;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    TransformationPublisher(Transformation transformation) {
+        this.transformation = transformation;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Identifiable> subscriber) {
+        SubmissionPublisher<Identifiable> publisher = new SubmissionPublisher<>();
+        publisher.subscribe(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            publisher.closeExceptionally(new IllegalStateException("Only one subscriber is supported"));
+            return;
+        }
+        THREAD_FACTORY.newThread(() -> {
+            try {
+                transformation.execute(publisher::submit);
+                publisher.close();
+            } catch (TransformationException | RuntimeException e) {
+                publisher.closeExceptionally(e);
+            }
+        }).start();
+    }
+}
@@ -0,0 +1,323 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+
+/**
+ * Local disk cache of serialized transformation results. An entry is identified by the SHA-256 hash
+ * of the input bytes, the content of the mapping file, the placeholder values, the transformer, its
+ * post processors and the version of their code, so byte-identical transformation requests are
+ * answered from the cache without parsing anything. Code without an implementation version, e.g. a
+ * development build, is identified by the hash of its class files.
+ * <p>
+ * Only deterministic mappings are cached, see {@link MappingSpecification#isDeterministic()}, and only
+ * if all post processors are named classes, as lambdas can not be told apart between runs.
+ * <p>
+ * The cache is bounded by the summed size of the cached files, the least recently used entries are
+ * deleted first. The order of use survives restarts as the modification time of a file is updated on
+ * each hit. One directory must not be shared by several cache instances at the same time.
+ */
+public class TransformationResultCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    /**
+     * Default bound of the summed size of all cached results in bytes
+     */
+    public static final long DEFAULT_MAXIMUM_BYTES = 1024L * 1024 * 1024;
+
+    private static final String SUFFIX = ".json";
+    // unique per process, so that results of code which can not be identified are not reused by others
+    private static final String UNKNOWN_VERSION = UUID.randomUUID().toString();
+    private static final Map<String, String> CODE_VERSIONS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final long maximumBytes;
+    // file sizes by key in the order of use
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * @param directory directory of the cache, created if it does not exist, existing entries are reused
+     * @param maximumBytes maximum summed size of the cached results in bytes
+     * @throws IOException if the directory can not be created or read
+     */
+    public TransformationResultCache(Path directory, long maximumBytes) throws IOException {
+        if (maximumBytes < 0) {
+            throw new IllegalArgumentException("Maximum size must not be negative, but was " + maximumBytes);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maximumBytes = maximumBytes;
+        loadEntries();
+    }
+
+    /**
+     * Checks whether the results of a mapping and transformer can be cached at all.
+     *
+     * @param mapping the mapping
+     * @param transformer the transformer
+     * @return true, if the mapping is deterministic and all post processors of the transformer are
+     *         named classes
+     */
+    public static boolean isCacheable(MappingSpecification mapping, DocumentTransformer transformer) {
+        if (!mapping.isDeterministic()) {
+            return false;
+        }
+        for (Consumer<AssetAdministrationShellEnvironment> postProcessor : transformer.getPostProcessors()) {
+            Class<?> type = postProcessor.getClass();
+            if (type.isSynthetic() || type.isAnonymousClass() || type.isLocalClass()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Computes the key of a transformation request.
+     *
+     * @param input the bytes of the transformed file
+     * @param mapping the mapping, which must have been loaded from a file
+     * @param placeholderValues placeholder values, might be null
+     * @param transformer the transformer, as the transformers differ in their post processing, which
+     *        should be checked with {@link #isCacheable(MappingSpecification, DocumentTransformer)}
+     * @return the key
+     */
+    public static String key(byte[] input, MappingSpecification mapping, Map<String, String> placeholderValues,
+        DocumentTransformer transformer) {
+        if (mapping.getContentHash() == null) {
+            throw new IllegalArgumentException("Only mappings loaded from a file can be cached");
+        }
+        Hasher hasher = Hashing.sha256().newHasher();
+        putCodeVersion(hasher, TransformationResultCache.class);
+        putCodeVersion(hasher, transformer.getClass());
+        List<Consumer<AssetAdministrationShellEnvironment>> postProcessors = transformer.getPostProcessors();
+        hasher.putInt(postProcessors.size());
+        for (Consumer<AssetAdministrationShellEnvironment> postProcessor : postProcessors) {
+            putCodeVersion(hasher, postProcessor.getClass());
+        }
+        putString(hasher, mapping.getContentHash());
+        Map<String, String> sortedValues = placeholderValues == null ? Map.of() : new TreeMap<>(placeholderValues);
+        hasher.putInt(sortedValues.size());
+        sortedValues.forEach((name, value) -> {
+            putString(hasher, name);
+            putString(hasher, value);
+        });
+        return hasher.putBytes(input).hash().toString();
+    }
+
+    /**
+     * @param key key of the transformation request
+     * @return the serialized environment, null if it is not cached
+     */
+    public synchronized byte[] get(String key) {
+        Long size = entries.get(key);
+        if (size != null) {
+            Path file = getFile(key);
+            try {
+                byte[] result = Files.readAllBytes(file);
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                hitCount++;
+                return result;
+            } catch (IOException e) {
+                LOGGER.warn("Unable to read cached result {}, it is removed", file, e);
+                remove(key);
+            }
+        }
+        missCount++;
+        return null;
+    }
+
+    /**
+     * Stores a serialized environment, the least recently used entries are removed if the maximum size
+     * is exceeded.
+     *
+     * @param key key of the transformation request
+     * @param serializedEnvironment the serialized environment
+     */
+    public synchronized void put(String key, byte[] serializedEnvironment) {
+        if (serializedEnvironment.length > maximumBytes) {
+            return;
+        }
+        try {
+            // written to a temporary file first, so a crash never leaves a truncated entry
+            Path temporaryFile = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temporaryFile, serializedEnvironment);
+            Files.move(temporaryFile, getFile(key), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to cache result {}", key, e);
+            return;
+        }
+        Long previousSize = entries.put(key, (long) serializedEnvironment.length);
+        totalBytes += serializedEnvironment.length - (previousSize == null ? 0 : previousSize);
+        evict();
+    }
+
+    /**
+     * @return number of cached results
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return summed size of the cached results in bytes
+     */
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    /**
+     * @return hit, miss and eviction counts of this instance
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hitCount, missCount, 0, 0, 0, evictionCount);
+    }
+
+    /**
+     * Deletes all cached results.
+     */
+    public synchronized void invalidateAll() {
+        for (String key : new ArrayList<>(entries.keySet())) {
+            remove(key);
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, Long>> leastRecentlyUsed = entries.entrySet().iterator();
+        while (totalBytes > maximumBytes && leastRecentlyUsed.hasNext()) {
+            Map.Entry<String, Long> entry = leastRecentlyUsed.next();
+            delete(getFile(entry.getKey()));
+            totalBytes -= entry.getValue();
+            leastRecentlyUsed.remove();
+            evictionCount++;
+        }
+    }
+
+    private void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            totalBytes -= size;
+            delete(getFile(key));
+        }
+    }
+
+    private void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to delete cached result {}", file, e);
+        }
+    }
+
+    private void loadEntries() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        Map<Path, FileTime> lastModified = new LinkedHashMap<>();
+        for (Path file : files) {
+            lastModified.put(file, Files.getLastModifiedTime(file));
+        }
+        files.sort(Comparator.comparing(lastModified::get));
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            long size = Files.size(file);
+            entries.put(fileName.substring(0, fileName.length() - SUFFIX.length()), size);
+            totalBytes += size;
+        }
+        evict();
+        LOGGER.debug("Loaded {} cached results with {} bytes from {}", entries.size(), totalBytes, directory);
+    }
+
+    private Path getFile(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        hasher.putInt(bytes.length).putBytes(bytes);
+    }
+
+    private static void putCodeVersion(Hasher hasher, Class<?> type) {
+        putString(hasher, type.getName());
+        putString(hasher, getCodeVersion(type));
+    }
+
+    private static String getCodeVersion(Class<?> type) {
+        String version = type.getPackage() == null ? null : type.getPackage().getImplementationVersion();
+        if (version != null) {
+            return version;
+        }
+        CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            // e.g. generated classes, they are identified by the code of the library
+            return type == TransformationResultCache.class ? UNKNOWN_VERSION
+                : getCodeVersion(TransformationResultCache.class);
+        }
+        return CODE_VERSIONS.computeIfAbsent(codeSource.getLocation().toString(),
+            TransformationResultCache::hashClassFiles);
+    }
+
+    // development builds are not versioned, so the class files are hashed once per code location
+    private static String hashClassFiles(String location) {
+        try {
+            Path path = Paths.get(new URL(location).toURI());
+            Hasher hasher = Hashing.sha256().newHasher();
+            List<Path> files;
+            try (Stream<Path> stream = Files.walk(path)) {
+                files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                putString(hasher, path.relativize(file).toString());
+                hasher.putBytes(Files.readAllBytes(file));
+            }
+            return hasher.hash().toString();
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            LOGGER.warn("Unable to hash the code at {}, cached results are only reused by this process", location,
+                e);
+            return UNKNOWN_VERSION;
+        }
+    }
+}
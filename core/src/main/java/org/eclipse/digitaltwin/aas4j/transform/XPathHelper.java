@@ -0,0 +1,276 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import java.lang.invoke.MethodHandles;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.dom4j.Node;
+import org.dom4j.XPath;
+import org.eclipse.digitaltwin.aas4j.exceptions.NoResultByXPathException;
+import org.eclipse.digitaltwin.aas4j.transform.jfr.XPathEvaluationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Strings;
+
+public class XPathHelper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private XPathHelper() {}
+
+    // the helper is shared by transformations running on several threads
+    private static volatile XPathHelper instance;
+
+    public static XPathHelper getInstance() {
+        XPathHelper helper = instance;
+        if (helper == null) {
+            synchronized (XPathHelper.class) {
+                helper = instance;
+                if (helper == null) {
+                    helper = new XPathHelper();
+                    instance = helper;
+                }
+            }
+        }
+        return helper;
+    }
+
+    /**
+     * Based on the given XPath expression, get a list of {@link org.dom4j.Node}. Filtered for Namespace
+     * CAEX.
+     *
+     * @param parentNode Base node to start the XPath search
+     * @param xpathExpression The XPath expression to match
+     * @return List of child nodes matching the expression
+     */
+    public List<Node> getNodes(Node parentNode, String xpathExpression) {
+        return getNodes(parentNode, xpathExpression, null);
+    }
+
+    /**
+     * Based on the given XPath expression, get a list of {@link org.dom4j.Node}, see
+     * {@link #getNodes(Node, String)}.
+     *
+     * @param parentNode Base node to start the XPath search
+     * @param xpathExpression The XPath expression to match
+     * @param namespaces namespace bindings of the current transformation, which take precedence over
+     *        the shared bindings, might be null
+     * @return List of child nodes matching the expression
+     */
+    public List<Node> getNodes(Node parentNode, String xpathExpression, Map<String, String> namespaces) {
+        XPathEvaluationEvent event = new XPathEvaluationEvent();
+        event.begin();
+        List<Node> nodes = createXPath(parentNode, xpathExpression, namespaces).selectNodes(parentNode);
+        commit(event, xpathExpression, nodes.size());
+        return nodes;
+    }
+
+    public String getStringValueOrNull(Node node, String xPath) {
+        return getStringValueOrNull(node, xPath, null);
+    }
+
+    /**
+     * @param node Base node to start the XPath search
+     * @param xPath The XPath expression to evaluate
+     * @param namespaces namespace bindings of the current transformation, which take precedence over
+     *        the shared bindings, might be null
+     * @return the string value of the result, null if the result is neither a String nor a Node
+     */
+    public String getStringValueOrNull(Node node, String xPath, Map<String, String> namespaces) {
+        XPathEvaluationEvent event = new XPathEvaluationEvent();
+        event.begin();
+        Object result = createXPath(node, xPath, namespaces).evaluate(node);
+        commit(event, xPath, result);
+        if (result instanceof String) {
+            return (String) result;
+        }
+        if (result instanceof Node) {
+            return ((Node) result).getStringValue();
+        }
+
+        return null;
+    }
+
+    public String getStringValue(Node node, String xPath) throws NoResultByXPathException {
+        String value = getStringValueOrNull(node, xPath);
+        if (value != null) {
+            return value;
+        }
+
+        throw new NoResultByXPathException(xPath);
+    }
+
+    public List<String> getStringValues(Node rootNode, String xPath) {
+        XPathEvaluationEvent event = new XPathEvaluationEvent();
+        event.begin();
+        Object result = createXPath(rootNode, xPath).evaluate(rootNode);
+        commit(event, xPath, result);
+        if (result instanceof String) {
+            return Collections.singletonList((String) result);
+        }
+        if (result instanceof Node) {
+            return Collections.singletonList(((Node) result).getStringValue());
+        }
+        if (result instanceof Number) {
+            return Collections.singletonList(String.valueOf(result));
+        }
+        // Per .evaluate documentation the result object is never null
+        return ((List<?>) result).stream().map(Node.class::cast).map(Node::getStringValue).collect(Collectors.toList());
+    }
+
+    private static void commit(XPathEvaluationEvent event, String xpathExpression, Object result) {
+        commit(event, xpathExpression, result instanceof List ? ((List<?>) result).size() : 1);
+    }
+
+    // the event is only populated if it is enabled and exceeds its threshold, the allocation is usually
+    // eliminated by escape analysis, so a disabled event costs next to nothing
+    private static void commit(XPathEvaluationEvent event, String xpathExpression, int results) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.setExpression(xpathExpression);
+            event.setResults(results);
+            event.commit();
+        }
+    }
+
+    /**
+     * Create a XPath, with the shared namespace bindings set.
+     *
+     * @param parentNode Base node to start the search
+     * @param xpathExpression The XPath expression to match
+     * @return The searched Node if found, otherwise null
+     */
+    protected XPath createXPath(Node parentNode, String xpathExpression) {
+        return createXPath(parentNode, xpathExpression, null);
+    }
+
+    /**
+     * Create a XPath, with the shared namespace bindings and the bindings of the current transformation
+     * set. Compiled XPaths are cached per thread, as they are not safe for concurrent use, and discarded
+     * if the shared namespace bindings change or the XPath is requested with other bindings of a
+     * transformation.
+     *
+     * @param parentNode Base node to start the search
+     * @param xpathExpression The XPath expression to match
+     * @param transformationNamespaces namespace bindings of the current transformation, which take
+     *        precedence over the shared bindings, might be null. The map is identified by identity and
+     *        must not be modified while it is used.
+     * @return The searched Node if found, otherwise null
+     */
+    protected XPath createXPath(Node parentNode, String xpathExpression,
+        Map<String, String> transformationNamespaces) {
+        XPathCache cache = xpathCache.get();
+        int currentNamespaceVersion = namespaceVersion.get();
+        if (cache.namespaceVersion != currentNamespaceVersion) {
+            cache.xpaths.clear();
+            cache.namespaceVersion = currentNamespaceVersion;
+        }
+        CachedXPath cached = cache.xpaths.get(xpathExpression);
+        if (cached == null || cached.transformationNamespaces != transformationNamespaces) {
+            XPath xpath = parentNode.createXPath(xpathExpression);
+            if (transformationNamespaces == null || transformationNamespaces.isEmpty()) {
+                xpath.setNamespaceURIs(namespaces);
+            } else {
+                Map<String, String> combined = new HashMap<>(namespaces);
+                combined.putAll(transformationNamespaces);
+                xpath.setNamespaceURIs(combined);
+            }
+            cached = new CachedXPath(xpath, transformationNamespaces);
+            cache.xpaths.put(xpathExpression, cached);
+        }
+        return cached.xpath;
+    }
+
+    private final Map<String, String> namespaces = new ConcurrentSkipListMap<>();
+    private final AtomicInteger namespaceVersion = new AtomicInteger();
+    private final ThreadLocal<XPathCache> xpathCache = ThreadLocal.withInitial(XPathCache::new);
+
+    private static class XPathCache {
+
+        private static final int MAX_SIZE = 1024;
+
+        private int namespaceVersion;
+        private final Map<String, CachedXPath> xpaths = new LinkedHashMap<>(16, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedXPath> eldest) {
+                return size() > MAX_SIZE;
+            }
+        };
+    }
+
+    private static class CachedXPath {
+
+        private final XPath xpath;
+        private final Map<String, String> transformationNamespaces;
+
+        private CachedXPath(XPath xpath, Map<String, String> transformationNamespaces) {
+            this.xpath = xpath;
+            this.transformationNamespaces = transformationNamespaces;
+        }
+    }
+
+    /**
+     * @param nsPrefix prefix to use
+     * @param nsUri namespace bound to the prefix
+     */
+    public void setNamespaceBinding(String nsPrefix, String nsUri) {
+        String validNsUri = validateNamespaceBinding(nsPrefix, nsUri);
+
+        String currentUri = namespaces.get(nsPrefix);
+        if (currentUri == null) {
+            namespaces.put(nsPrefix, validNsUri);
+            namespaceVersion.incrementAndGet();
+        } else if (!currentUri.equals(validNsUri)) {
+            LOGGER.warn(String.format("Prefix '%s' already set to '%s', will be overriden with '%s'", nsPrefix,
+                currentUri, validNsUri));
+            namespaces.put(nsPrefix, validNsUri);
+            namespaceVersion.incrementAndGet();
+        } else {
+            LOGGER.debug("Prefix '{}' already set to '{}'.", nsPrefix, currentUri);
+        }
+    }
+
+    /**
+     * @param nsPrefix prefix to use
+     * @param nsUri namespace bound to the prefix
+     * @return the validated namespace
+     * @throws IllegalArgumentException if the prefix is empty or the namespace is not a valid URI
+     */
+    static String validateNamespaceBinding(String nsPrefix, String nsUri) {
+        if (Strings.isNullOrEmpty(nsPrefix)) {
+            throw new IllegalArgumentException("No valid Prefix (null or empty).");
+        }
+        try {
+            return URI.create(nsUri).toString();
+        } catch (Exception e) {
+            throw new IllegalArgumentException("No valid Namespace.", e);
+        }
+    }
+
+    /**
+     * @return Returns an unmodifiable view of the current namespace bindings.
+     */
+    public Map<String, String> getNamespaceBindings() {
+        return Collections.unmodifiableMap(namespaces);
+    }
+
+    /**
+     * @param bindingsToAdd
+     */
+    void addNamespaceBindings(Map<String, String> bindingsToAdd) {
+        if (bindingsToAdd != null) {
+            bindingsToAdd.forEach((k, v) -> setNamespaceBinding(k, v));
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of the compilation of an XML schema, which happens once per schema and JVM.
+ */
+@Name("org.eclipse.digitaltwin.aas4j.SchemaCompilation")
+@Label("Schema Compilation")
+@Category(TransformationEvent.CATEGORY)
+@Description("Compilation of the XML schema used to validate input documents")
+@Enabled(false)
+public class SchemaCompilationEvent extends Event {
+
+    @Label("Schema URL")
+    private String schemaUrl;
+
+    public void setSchemaUrl(String schemaUrl) {
+        this.schemaUrl = schemaUrl;
+    }
+}
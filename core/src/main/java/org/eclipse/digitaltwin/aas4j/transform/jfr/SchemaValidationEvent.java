@@ -0,0 +1,40 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event of the validation of an input document against its XML schema.
+ */
+@Name("org.eclipse.digitaltwin.aas4j.SchemaValidation")
+@Label("Schema Validation")
+@Category(TransformationEvent.CATEGORY)
+@Description("Validation of an input document against its XML schema")
+@Enabled(false)
+@StackTrace(false)
+public class SchemaValidationEvent extends Event {
+
+    @Label("Schema URL")
+    private String schemaUrl;
+
+    @Label("Valid")
+    private boolean valid;
+
+    public void setSchemaUrl(String schemaUrl) {
+        this.schemaUrl = schemaUrl;
+    }
+
+    public void setValid(boolean valid) {
+        this.valid = valid;
+    }
+}
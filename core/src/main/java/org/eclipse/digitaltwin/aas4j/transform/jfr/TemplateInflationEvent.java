@@ -0,0 +1,52 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of one inflation of a Template, including its nested Templates. Only
+ * inflations exceeding the threshold, 10 ms by default, are recorded.
+ */
+@Name("org.eclipse.digitaltwin.aas4j.TemplateInflation")
+@Label("Template Inflation")
+@Category(TransformationEvent.CATEGORY)
+@Description("Inflation of one Template of a mapping into AAS instances")
+@Enabled(false)
+@Threshold("10 ms")
+@StackTrace(false)
+public class TemplateInflationEvent extends Event {
+
+    @Label("Template Type")
+    @Description("Simple name of the AAS interface of the Template")
+    private String templateType;
+
+    @Label("Id Short")
+    @Description("idShort of the Template if it is not bound by an expression")
+    private String idShort;
+
+    @Label("Instances")
+    private int instances;
+
+    public void setTemplateType(String templateType) {
+        this.templateType = templateType;
+    }
+
+    public void setIdShort(String idShort) {
+        this.idShort = idShort;
+    }
+
+    public void setInstances(int instances) {
+        this.instances = instances;
+    }
+}
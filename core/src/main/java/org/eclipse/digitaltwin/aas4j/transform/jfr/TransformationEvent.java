@@ -0,0 +1,116 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of one document transformation with the durations of its phases. The event
+ * spans the whole transformation, so it can be correlated with GC and I/O events of the same thread.
+ */
+@Name(TransformationEvent.NAME)
+@Label("Document Transformation")
+@Category(TransformationEvent.CATEGORY)
+@Description("Transformation of one input document into an AAS environment")
+@Enabled(false)
+@StackTrace(false)
+public class TransformationEvent extends Event {
+
+    public static final String NAME = "org.eclipse.digitaltwin.aas4j.Transformation";
+    public static final String CATEGORY = "AAS Transformation";
+
+    @Label("Transformer")
+    private String transformer;
+
+    @Label("Input Size")
+    @DataAmount
+    private long inputBytes;
+
+    @Label("Document Elements")
+    private long documentElements;
+
+    @Label("Inflated Templates")
+    private long inflatedTemplates;
+
+    @Label("Evaluated Expressions")
+    private long evaluatedExpressions;
+
+    @Label("Read")
+    @Timespan
+    private long readDuration;
+
+    @Label("Validate")
+    @Timespan
+    private long validateDuration;
+
+    @Label("Template Transformation")
+    @Timespan
+    private long templateTransformationDuration;
+
+    @Label("Post Processing")
+    @Timespan
+    private long postProcessingDuration;
+
+    @Label("Serialization")
+    @Timespan
+    private long serializationDuration;
+
+    @Label("Failure")
+    @Description("Exception which terminated the transformation, null if it succeeded")
+    private String failure;
+
+    public void setTransformer(String transformer) {
+        this.transformer = transformer;
+    }
+
+    public void setInputBytes(long inputBytes) {
+        this.inputBytes = inputBytes;
+    }
+
+    public void setDocumentElements(long documentElements) {
+        this.documentElements = documentElements;
+    }
+
+    public void setInflatedTemplates(long inflatedTemplates) {
+        this.inflatedTemplates = inflatedTemplates;
+    }
+
+    public void setEvaluatedExpressions(long evaluatedExpressions) {
+        this.evaluatedExpressions = evaluatedExpressions;
+    }
+
+    public void setReadDuration(long readDuration) {
+        this.readDuration = readDuration;
+    }
+
+    public void setValidateDuration(long validateDuration) {
+        this.validateDuration = validateDuration;
+    }
+
+    public void setTemplateTransformationDuration(long templateTransformationDuration) {
+        this.templateTransformationDuration = templateTransformationDuration;
+    }
+
+    public void setPostProcessingDuration(long postProcessingDuration) {
+        this.postProcessingDuration = postProcessingDuration;
+    }
+
+    public void setSerializationDuration(long serializationDuration) {
+        this.serializationDuration = serializationDuration;
+    }
+
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+}
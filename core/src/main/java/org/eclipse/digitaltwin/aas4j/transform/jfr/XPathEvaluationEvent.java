@@ -0,0 +1,44 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event of one XPath evaluation. Only evaluations exceeding the threshold, 1 ms by
+ * default, are recorded.
+ */
+@Name("org.eclipse.digitaltwin.aas4j.XPathEvaluation")
+@Label("XPath Evaluation")
+@Category(TransformationEvent.CATEGORY)
+@Description("Evaluation of an XPath expression on the input document")
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+public class XPathEvaluationEvent extends Event {
+
+    @Label("Expression")
+    private String expression;
+
+    @Label("Results")
+    @Description("Number of selected nodes or values")
+    private int results;
+
+    public void setExpression(String expression) {
+        this.expression = expression;
+    }
+
+    public void setResults(int results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,157 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform.postprocessor;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.adminshell.aas.v3.dataformat.core.ReflectionHelper;
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+import io.adminshell.aas.v3.model.Key;
+import io.adminshell.aas.v3.model.LangString;
+import io.adminshell.aas.v3.model.Qualifier;
+import io.adminshell.aas.v3.model.Reference;
+
+/**
+ * PostProcessor which replaces structurally equal instances of immutable-by-convention types
+ * ({@link Reference}, {@link Key}, {@link LangString} and {@link Qualifier} by default) within one
+ * {@link AssetAdministrationShellEnvironment} by a single shared instance. Large transformations
+ * tend to produce the same semanticIds and descriptions over and over again, so sharing them reduces
+ * the memory footprint of the result.
+ * <p>
+ * Shared instances must not be modified afterwards, as a modification would be visible at every
+ * place the instance is used. Register this post processor after all post processors which modify
+ * the environment.
+ */
+public class InternEqualSubtrees implements Consumer<AssetAdministrationShellEnvironment> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
+
+    private static final Map<Class<?>, PropertyDescriptor[]> PROPERTY_DESCRIPTORS = new ConcurrentHashMap<>();
+
+    private final Set<Class<?>> internedTypes;
+    private volatile long savedInstances;
+
+    public InternEqualSubtrees() {
+        this(Key.class, Reference.class, LangString.class, Qualifier.class);
+    }
+
+    /**
+     * @param internedTypes types whose instances are shared if they are equal, instances of these types
+     *        must implement equals and hashCode based on their content
+     */
+    public InternEqualSubtrees(Class<?>... internedTypes) {
+        this.internedTypes = Set.of(internedTypes);
+    }
+
+    @Override
+    public void accept(AssetAdministrationShellEnvironment t) {
+        // the state of one execution is kept local, so environments can be processed concurrently
+        Execution execution = new Execution();
+        execution.internProperties(t);
+        savedInstances = execution.savedInstances;
+        LOGGER.info("Shared {} structurally equal instances using {} distinct instances.", execution.savedInstances,
+            execution.canonicalInstances.size());
+    }
+
+    /**
+     * @return number of instances which have been replaced by an equal shared instance during the last
+     *         execution of this post processor
+     */
+    public long getSavedInstances() {
+        return savedInstances;
+    }
+
+    private class Execution {
+
+        private final Map<Object, Object> canonicalInstances = new HashMap<>();
+        private long savedInstances;
+
+        private Object intern(Object value) {
+            if (value instanceof List) {
+                // the lists of the AAS model are only modified by replacing items with equal instances
+                @SuppressWarnings("unchecked")
+                List<Object> list = (List<Object>) value;
+                ListIterator<Object> iterator = list.listIterator();
+                while (iterator.hasNext()) {
+                    Object item = iterator.next();
+                    Object internedItem = intern(item);
+                    if (internedItem != item) {
+                        iterator.set(internedItem);
+                    }
+                }
+                return value;
+            }
+            if (value == null || !isModelObject(value.getClass())) {
+                return value;
+            }
+            if (!isInternedType(value.getClass())) {
+                internProperties(value);
+                return value;
+            }
+            Object canonical = canonicalInstances.get(value);
+            if (canonical == null) {
+                // children are interned first, so that the canonical instance only refers to shared instances
+                internProperties(value);
+                canonicalInstances.put(value, value);
+                return value;
+            }
+            if (canonical != value) {
+                savedInstances++;
+            }
+            return canonical;
+        }
+
+        private void internProperties(Object bean) {
+            for (PropertyDescriptor propertyDescriptor : getPropertyDescriptors(bean.getClass())) {
+                try {
+                    Object value = propertyDescriptor.getReadMethod().invoke(bean);
+                    Object internedValue = intern(value);
+                    if (internedValue != value) {
+                        propertyDescriptor.getWriteMethod().invoke(bean, internedValue);
+                    }
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                    LOGGER.warn("Unable to intern property {} of {}.", propertyDescriptor.getName(),
+                        bean.getClass().getName(), e);
+                }
+            }
+        }
+    }
+
+    private boolean isModelObject(Class<?> type) {
+        return LangString.class.isAssignableFrom(type) || ReflectionHelper.isModelInterfaceOrDefaultImplementation(type);
+    }
+
+    private boolean isInternedType(Class<?> type) {
+        return internedTypes.stream().anyMatch(internedType -> internedType.isAssignableFrom(type));
+    }
+
+    private static PropertyDescriptor[] getPropertyDescriptors(Class<?> type) {
+        return PROPERTY_DESCRIPTORS.computeIfAbsent(type, key -> {
+            try {
+                return Arrays.stream(Introspector.getBeanInfo(key).getPropertyDescriptors())
+                    .filter(pd -> pd.getReadMethod() != null && pd.getWriteMethod() != null)
+                    .toArray(PropertyDescriptor[]::new);
+            } catch (IntrospectionException e) {
+                throw new IllegalStateException("Unable to introspect " + key.getName(), e);
+            }
+        });
+    }
+}
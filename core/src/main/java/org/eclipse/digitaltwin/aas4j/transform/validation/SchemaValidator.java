@@ -0,0 +1,105 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform.validation;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.XMLConstants;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+
+import org.dom4j.Document;
+import org.xml.sax.SAXException;
+
+import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
+import org.eclipse.digitaltwin.aas4j.exceptions.UnableToReadXmlException;
+import org.eclipse.digitaltwin.aas4j.transform.jfr.SchemaCompilationEvent;
+import org.eclipse.digitaltwin.aas4j.transform.jfr.SchemaValidationEvent;
+
+public abstract class SchemaValidator {
+
+    // compiled schemas are immutable and thread-safe, keyed by the external form of their URL
+    private static final Map<String, Schema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private URL schemaUrl;
+
+    public SchemaValidator(URL schemaUrl) {
+        this.schemaUrl = schemaUrl;
+    }
+
+    public abstract void validate(Document document) throws TransformationException;
+
+    public URL getSchemaURL() {
+        return schemaUrl;
+    }
+
+    /**
+     * Compiles the schema ahead of the first validation, e.g. to warm up a long running process.
+     *
+     * @throws TransformationException If the schema can not be compiled
+     */
+    public void loadSchema() throws TransformationException {
+        try {
+            getSchema();
+        } catch (SAXException | RuntimeException e) {
+            throw new UnableToReadXmlException("Unable to load schema " + schemaUrl, e);
+        }
+    }
+
+    /**
+     * Returns the compiled schema of {@link #getSchemaURL()}, each schema is compiled only once per JVM
+     * and shared by all validators.
+     *
+     * @return the compiled schema
+     * @throws SAXException If the schema can not be compiled
+     */
+    protected Schema getSchema() throws SAXException {
+        String key = schemaUrl.toExternalForm();
+        Schema schema = SCHEMAS.get(key);
+        if (schema == null) {
+            SchemaCompilationEvent event = new SchemaCompilationEvent();
+            event.begin();
+            schema = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI).newSchema(schemaUrl);
+            SCHEMAS.putIfAbsent(key, schema);
+            event.end();
+            if (event.shouldCommit()) {
+                event.setSchemaUrl(key);
+                event.commit();
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * Starts the {@link SchemaValidationEvent} of a validation, which is committed by
+     * {@link #commitValidationEvent(SchemaValidationEvent, boolean)}.
+     *
+     * @return the started event
+     */
+    protected SchemaValidationEvent beginValidationEvent() {
+        SchemaValidationEvent event = new SchemaValidationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commits the event of a validation, if it is enabled in a running Flight Recorder.
+     *
+     * @param event the event started by {@link #beginValidationEvent()}
+     * @param valid whether the document is valid
+     */
+    protected void commitValidationEvent(SchemaValidationEvent event, boolean valid) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.setSchemaUrl(schemaUrl.toExternalForm());
+            event.setValid(valid);
+            event.commit();
+        }
+    }
+
+}
@@ -28,6 +28,13 @@ class ExpressionsTest {
         assertEquals(new HashSet<Object>(),intersection);
     }
 
+    @Test
+    void getFunctionByNameCreatesEachFunctionOnce() {
+        assertSame(Expressions.getFunctionByName("plus"), Expressions.getFunctionByName("plus"));
+        assertNull(Expressions.getFunctionByName("unknown"));
+        assertNull(Expressions.getFunctionByName(null));
+    }
+
     @Test
     void getConstantByName() {
         assertEquals(Math.PI, Expressions.getConstantByName("pi").evaluate(null));
@@ -9,7 +9,11 @@ import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
 
@@ -73,4 +77,36 @@ public class MappingSpecificationParserTest {
         assertThrows(InvalidFormatException.class, () -> parser
             .loadMappingSpecification("src/test/resources/mappings/simpleMapping_w_invaliddefault.json"));
     }
+
+    @Test
+    void smileHasSameSemanticsAsJson() throws IOException {
+        // contains { "modelType": { "name": ... } } objects
+        byte[] json = Files.readAllBytes(Paths.get("src/test/resources/config/simpleConfig.json"));
+        ByteArrayOutputStream smile = new ByteArrayOutputStream();
+        parser.convertToSmile(json, smile);
+
+        assertThat(MappingSpecificationParser.isSmile(smile.toByteArray())).isTrue();
+        assertThat(smile.size()).isLessThan(json.length);
+        ByteArrayOutputStream fromJson = new ByteArrayOutputStream();
+        parser.convertToJson(json, fromJson);
+        ByteArrayOutputStream fromSmile = new ByteArrayOutputStream();
+        parser.convertToJson(smile.toByteArray(), fromSmile);
+        assertEquals(fromJson.toString(StandardCharsets.UTF_8), fromSmile.toString(StandardCharsets.UTF_8));
+
+        AssetAdministrationShellEnvironment fromSmileMapping = parser.loadMappingSpecification(smile.toByteArray())
+            .getAasEnvironmentMapping();
+        AssetAdministrationShellEnvironment fromJsonMapping = parser.loadMappingSpecification(json)
+            .getAasEnvironmentMapping();
+        assertEquals(fromJsonMapping.getSubmodels().size(), fromSmileMapping.getSubmodels().size());
+        assertEquals(fromJsonMapping.getSubmodels().get(0).getSubmodelElements().size(),
+            fromSmileMapping.getSubmodels().get(0).getSubmodelElements().size());
+    }
+
+    @Test
+    void invalidSpecificationIsNotConverted() {
+        ByteArrayOutputStream smile = new ByteArrayOutputStream();
+        assertThrows(IOException.class, () -> parser.convertToSmile(
+            Files.readAllBytes(Paths.get("src/test/resources/mappings/simpleMapping_w_invaliddefault.json")), smile));
+        assertEquals(0, smile.size());
+    }
 }
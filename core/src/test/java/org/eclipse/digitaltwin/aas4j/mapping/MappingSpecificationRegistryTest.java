@@ -0,0 +1,133 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.mapping;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+import org.eclipse.digitaltwin.aas4j.TestUtils;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.transform.GenericDocumentTransformer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+class MappingSpecificationRegistryTest {
+
+    private static final String MAPPING = "src/test/resources/mappings/generic/genericXpathTest.json";
+    private static final String INPUT = "src/test/resources/mappings/generic/generic.xml";
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestUtils.resetBindings();
+    }
+
+    @Test
+    void getParsesChangedFilesOnly() throws Exception {
+        Path file = Files.copy(Paths.get(MAPPING), directory.resolve("mapping.json"));
+        MappingSpecificationRegistry registry = new MappingSpecificationRegistry();
+
+        MappingSpecification first = registry.get(file);
+        assertSame(first, registry.get(file));
+
+        // touched, but the content is the same
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        assertSame(first, registry.get(file));
+
+        Files.write(file, "\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 20_000));
+        MappingSpecification changed = registry.get(file);
+        assertNotSame(first, changed);
+        assertEquals(MappingSpecificationParser.contentHash(Files.readAllBytes(file)), changed.getContentHash());
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void snapshotIsReadByAnotherRegistry() throws Exception {
+        Path snapshots = directory.resolve("snapshots");
+        MappingSpecification parsed = new MappingSpecificationRegistry(snapshots).get(Paths.get(MAPPING));
+        assertTrue(Files.isRegularFile(snapshots.resolve(parsed.getContentHash() + ".sml")));
+
+        MappingSpecificationParser parser = Mockito.spy(new MappingSpecificationParser());
+        MappingSpecification restored = new MappingSpecificationRegistry(parser, snapshots).get(Paths.get(MAPPING));
+
+        Mockito.verify(parser).loadSnapshot(ArgumentMatchers.any(), ArgumentMatchers.eq(parsed.getContentHash()));
+        Mockito.verify(parser, Mockito.never()).compileMappingSpecification(ArgumentMatchers.any(),
+            ArgumentMatchers.any());
+        Mockito.verify(parser, Mockito.never()).loadMappingSpecification(ArgumentMatchers.any(byte[].class));
+        assertEquals(parsed.getContentHash(), restored.getContentHash());
+        assertArrayEquals(transform(parsed), transform(restored));
+    }
+
+    @Test
+    void snapshotKeepsNormalizedModelTypes() throws Exception {
+        String resource = "config/simpleConfig.json";
+        MappingSpecification parsed = new MappingSpecificationParser()
+            .loadMappingSpecification("src/test/resources/" + resource);
+
+        new MappingSpecificationRegistry(directory).getResource(resource, getClass().getClassLoader());
+        MappingSpecification restored = new MappingSpecificationRegistry(directory)
+            .getResource(resource, getClass().getClassLoader());
+
+        assertEquals(parsed.getContentHash(), restored.getContentHash());
+        assertEquals(parsed.getAasEnvironmentMapping().getSubmodels().size(),
+            restored.getAasEnvironmentMapping().getSubmodels().size());
+        assertEquals(parsed.getAasEnvironmentMapping().getAssetAdministrationShells().size(),
+            restored.getAasEnvironmentMapping().getAssetAdministrationShells().size());
+    }
+
+    @Test
+    void unreadableSnapshotIsReplaced() throws Exception {
+        byte[] content = Files.readAllBytes(Paths.get(MAPPING));
+        Path snapshot = directory.resolve(MappingSpecificationParser.contentHash(content) + ".sml");
+        Files.write(snapshot, new byte[] {1, 2, 3});
+
+        MappingSpecification mapping = new MappingSpecificationRegistry(directory)
+            .get(new ByteArrayInputStream(content));
+
+        assertEquals(MappingSpecificationParser.contentHash(content), mapping.getContentHash());
+        assertTrue(Files.size(snapshot) > 3);
+    }
+
+    @Test
+    void getStreamSharesEqualContent() throws Exception {
+        byte[] content = Files.readAllBytes(Paths.get(MAPPING));
+        MappingSpecificationRegistry registry = new MappingSpecificationRegistry();
+
+        assertSame(registry.get(new ByteArrayInputStream(content)), registry.get(new ByteArrayInputStream(content)));
+        assertThrows(FileNotFoundException.class,
+            () -> registry.getResource("does/not/exist.json", getClass().getClassLoader()));
+    }
+
+    private static byte[] transform(MappingSpecification mapping) throws Exception {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (InputStream input = Files.newInputStream(Paths.get(INPUT))) {
+            new GenericDocumentTransformer().execute(input, mapping, Map.of("genericPlaceholder", "1"), result);
+        }
+        return result.toByteArray();
+    }
+}
@@ -0,0 +1,133 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.mapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.mapping.model.Template;
+import org.eclipse.digitaltwin.aas4j.transform.GenericDocumentTransformer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+
+class MappingSpecificationWatcherTest {
+
+    private static final String MAPPING = "src/test/resources/mappings/generic/genericXpathTest.json";
+    private static final String NAMESPACE_MAPPING = "src/test/resources/mappings/generic/placeholderMatrixTest.json";
+    private static final String XML_INPUT = "src/test/resources/mappings/generic/generic.xml";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reloadsChangedFile() throws Exception {
+        Path file = Files.copy(Paths.get(MAPPING), directory.resolve("mapping.json"));
+        BlockingQueue<MappingSpecification> reloaded = new LinkedBlockingQueue<>();
+        try (MappingSpecificationWatcher watcher = new MappingSpecificationWatcher(file)) {
+            watcher.addReloadListener(reloaded::add);
+            MappingSpecification original = watcher.get();
+
+            Files.write(file, "\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+            MappingSpecification changed = reloaded.poll(10, TimeUnit.SECONDS);
+            assertSame(changed, watcher.get());
+            assertNotEquals(original.getContentHash(), changed.getContentHash());
+        }
+    }
+
+    @Test
+    void keepsPreviousVersionIfChangedFileIsInvalid() throws Exception {
+        Path file = Files.copy(Paths.get(MAPPING), directory.resolve("mapping.json"));
+        try (MappingSpecificationWatcher watcher = new MappingSpecificationWatcher(file)) {
+            MappingSpecification original = watcher.get();
+
+            Files.write(file, "{ \"aasEnvironmentMapping\": ".getBytes(StandardCharsets.UTF_8));
+            watcher.reload();
+
+            assertSame(original, watcher.get());
+        }
+    }
+
+    @Test
+    void unchangedContentIsNotParsedAgain() throws Exception {
+        Path file = Files.copy(Paths.get(MAPPING), directory.resolve("mapping.json"));
+        BlockingQueue<MappingSpecification> reloaded = new LinkedBlockingQueue<>();
+        try (MappingSpecificationWatcher watcher = new MappingSpecificationWatcher(file)) {
+            watcher.addReloadListener(reloaded::add);
+            MappingSpecification original = watcher.get();
+
+            Files.write(file, Files.readAllBytes(Paths.get(MAPPING)));
+            watcher.reload();
+
+            assertSame(original, watcher.get());
+            assertTrue(reloaded.isEmpty());
+            assertEquals(original.getContentHash(), watcher.get().getContentHash());
+        }
+    }
+
+    @Test
+    void inFlightTransformationKeepsNamespacesOfItsVersion() throws Exception {
+        Path file = Files.copy(Paths.get(NAMESPACE_MAPPING), directory.resolve("mapping.json"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (MappingSpecificationWatcher watcher = new MappingSpecificationWatcher(file)) {
+            MappingSpecification original = watcher.get();
+            // the serial number submodel waits until the changed version has been transformed
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Template serialSubmodel = (Template) original.getAasEnvironmentMapping().getSubmodels().get(1);
+            serialSubmodel.setVariables(Map.of("blocker", ctx -> {
+                started.countDown();
+                Uninterruptibles.awaitUninterruptibly(release);
+                return "";
+            }));
+            Future<AssetAdministrationShellEnvironment> inFlight = executor.submit(() -> transform(original));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            Files.write(file, new String(Files.readAllBytes(file), StandardCharsets.UTF_8)
+                .replace("http://ns.org/", "http://other.org/").getBytes(StandardCharsets.UTF_8));
+            watcher.reload();
+            MappingSpecification changed = watcher.get();
+            assertNotSame(original, changed);
+            assertEquals(1, transform(changed).getSubmodels().size());
+            release.countDown();
+
+            AssetAdministrationShellEnvironment result = inFlight.get(10, TimeUnit.SECONDS);
+            assertEquals(3, result.getSubmodels().size());
+            assertEquals(7, result.getSubmodels().get(2).getSubmodelElements().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static AssetAdministrationShellEnvironment transform(MappingSpecification mapping) throws Exception {
+        try (InputStream inputStream = Files.newInputStream(Paths.get(XML_INPUT))) {
+            return new GenericDocumentTransformer().execute(inputStream, mapping, Map.of("serialNumber", "1"));
+        }
+    }
+}
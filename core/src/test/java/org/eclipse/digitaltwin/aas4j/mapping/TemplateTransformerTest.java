@@ -0,0 +1,452 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.mapping;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.XMLConstants;
+
+import org.dom4j.Document;
+import org.dom4j.io.SAXReader;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.mapping.model.PlaceholderIndependentTemplates;
+import org.eclipse.digitaltwin.aas4j.mapping.model.Template;
+import org.eclipse.digitaltwin.aas4j.transform.GenericDocumentTransformer;
+import org.eclipse.digitaltwin.aas4j.transform.XPathHelper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.adminshell.aas.v3.dataformat.SerializationException;
+import io.adminshell.aas.v3.dataformat.json.JsonSerializer;
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+import io.adminshell.aas.v3.model.File;
+import io.adminshell.aas.v3.model.KeyElements;
+import io.adminshell.aas.v3.model.Property;
+import io.adminshell.aas.v3.model.Submodel;
+import io.adminshell.aas.v3.model.SubmodelElement;
+import io.adminshell.aas.v3.model.SubmodelElementCollection;
+
+public class TemplateTransformerTest {
+
+    private MappingSpecificationParser parser;
+    private TemplateTransformer aasMappingTransformer;
+
+    // static {
+    // System.setProperty(SimpleLogger.DEFAULT_LOG_LEVEL_KEY, "DEBUG");
+    // }
+
+    @BeforeEach
+    void setup() {
+        parser = new MappingSpecificationParser();
+        aasMappingTransformer = new TemplateTransformer();
+    }
+
+    @Test
+    void testNestedForeachEvaluations() throws IOException {
+        // ARRANGE
+        MappingSpecification mapSpec = parser
+            .loadMappingSpecification("src/test/resources/mappings/generic/foreachTest.json");
+
+        // ACT
+        AssetAdministrationShellEnvironment transform = aasMappingTransformer.transform(mapSpec, null, null);
+
+        // ASSERT
+        List<Submodel> transformedSubmodels = transform.getSubmodels();
+        Assertions.assertEquals(3, transformedSubmodels.size());
+        Assertions.assertNull(transformedSubmodels.get(0).getIdentification());
+        List<SubmodelElement> submodelElements = transformedSubmodels.get(0).getSubmodelElements();
+        Assertions.assertEquals(3, submodelElements.size());
+        Assertions.assertEquals(2, submodelElements.stream().filter(File.class::isInstance).count());
+        Assertions.assertEquals(1,
+            submodelElements.stream().filter(SubmodelElementCollection.class::isInstance).count());
+        SubmodelElementCollection SMEC = (SubmodelElementCollection) submodelElements.stream()
+            .filter(SubmodelElementCollection.class::isInstance).findFirst().get();
+        Assertions.assertEquals(3,
+            SMEC.getValues().stream().filter(io.adminshell.aas.v3.model.Property.class::isInstance).count());
+        Assertions.assertEquals(0, SMEC.getValues().stream()
+            .filter(io.adminshell.aas.v3.model.MultiLanguageProperty.class::isInstance).count());
+    }
+
+    @Test
+    void testForeachEvaluationsTargetNotAList() throws IOException {
+        // ARRANGE
+        MappingSpecification mapSpec = parser
+            .loadMappingSpecification("src/test/resources/mappings/generic/foreachTest2.json");
+
+        // ACT
+        AssetAdministrationShellEnvironment transform = aasMappingTransformer.transform(mapSpec, null, null);
+
+        // ASSERT
+        Submodel submodel = transform.getSubmodels().get(0);
+        String singleIdentifier = submodel.getIdentification().getIdentifier();
+        Assertions.assertEquals("https://test.org/transform_for_first_in_list", singleIdentifier);
+    }
+
+    @Test
+    void testBindingsEvaluation() throws IOException {
+        // ARRANGE
+        MappingSpecification mapSpec = parser
+            .loadMappingSpecification("src/test/resources/mappings/generic/bindingsTest.json");
+
+        // ACT
+        AssetAdministrationShellEnvironment transform = aasMappingTransformer.transform(mapSpec, null, null);
+
+        // ASSERT
+        Submodel submodel = transform.getSubmodels().get(0);
+        String identifier = submodel.getIdentification().getIdentifier();
+        Assertions.assertEquals("https://test.org/id_via_bind", identifier);
+
+        String fileIdShort = submodel.getSubmodelElements().get(0).getIdShort();
+        Assertions.assertEquals("idshort_via_bind", fileIdShort);
+
+        Property prop = (Property) submodel.getSubmodelElements().get(1);
+        KeyElements type = prop.getValueId().getKeys().get(0).getType();
+        Assertions.assertEquals(KeyElements.GLOBAL_REFERENCE, type);
+    }
+
+    @Test
+    void testBindingsEvaluationWithInvalidBindings() throws IOException {
+        // ARRANGE
+        MappingSpecification mapSpec = parser
+            .loadMappingSpecification("src/test/resources/mappings/generic/bindingsTest_w_errors.json");
+
+        // ACT
+        AssetAdministrationShellEnvironment transform = aasMappingTransformer.transform(mapSpec, null, null);
+
+        // ASSERT
+        Submodel submodel = transform.getSubmodels().get(0);
+        Property prop = (Property) submodel.getSubmodelElements().get(1);
+        KeyElements type = prop.getValueId().getKeys().get(0).getType();
+        Assertions.assertNull(type);
+    }
+
+    @Test
+    void testXpathTransformation() throws Exception {
+        // ARRANGE
+        MappingSpecification mapSpec = parser
+            .loadMappingSpecification("src/test/resources/mappings/generic/genericXpathTest.json");
+
+        Document testDoc = null;
+        try (InputStream testResource = Files
+            .newInputStream(Paths.get("src/test/resources/mappings/generic/generic.xml"))) {
+
+            // ACT
+            AssetAdministrationShellEnvironment transform = new GenericDocumentTransformer().execute(testResource,
+                mapSpec);
+            // ASSERT
+            Assertions.assertEquals(2, transform.getSubmodels().size());
+        }
+
+    }
+
+    @Test
+    void testProfile() throws Exception {
+        // ARRANGE
+        MappingSpecification mapSpec = parser
+            .loadMappingSpecification("src/test/resources/mappings/generic/genericXpathTest.json");
+        MappingProfile profile = MappingProfile.of(mapSpec);
+        GenericDocumentTransformer transformer = new GenericDocumentTransformer();
+        transformer.setProfile(profile);
+
+        try (InputStream testResource = Files
+            .newInputStream(Paths.get("src/test/resources/mappings/generic/generic.xml"))) {
+            // ACT
+            transformer.execute(testResource, mapSpec);
+        }
+
+        // ASSERT
+        MappingProfile.TemplateProfile root = profile.getRoot();
+        Assertions.assertEquals("/aasEnvironmentMapping", root.getPath());
+        Assertions.assertEquals(1, root.getCalls());
+        MappingProfile.TemplateProfile submodel = root.getChildren().stream()
+            .filter(child -> child.getPath().equals("/aasEnvironmentMapping/submodels/0")).findFirst().get();
+        Assertions.assertEquals("Submodel", submodel.getType());
+        Assertions.assertEquals(1, submodel.getCalls());
+        Assertions.assertEquals(2, submodel.getForeachItems());
+        // nested expressions follow the directive, labeled with their argument index
+        Assertions.assertEquals(List.of("@foreach", "@foreach/0", "@bind/idShort", "@bind/idShort/0"),
+            locations(submodel));
+        Assertions.assertEquals(2, submodel.getExpressions().get(2).getCalls());
+        Assertions.assertEquals("XPathExpr", submodel.getExpressions().get(2).getType());
+        Assertions.assertEquals(2, submodel.getExpressions().get(3).getCalls());
+        MappingProfile.TemplateProfile property = submodel.getChildren().get(0);
+        Assertions.assertEquals("/aasEnvironmentMapping/submodels/0/submodelElements/0", property.getPath());
+        Assertions.assertEquals(2, property.getCalls());
+        Assertions.assertEquals(6, property.getForeachItems());
+        Assertions.assertTrue(submodel.getCumulativeMillis() >= property.getCumulativeMillis());
+        Assertions.assertTrue(profile.toText().contains("submodelElements/0"));
+        Assertions.assertTrue(profile.toJson().contains("\"path\" : \"/aasEnvironmentMapping/submodels/0\""));
+    }
+
+    @Test
+    void testProfileSelfTimeWithParallelism() throws Exception {
+        // ARRANGE
+        MappingSpecification mapSpec = parser
+            .loadMappingSpecification("src/test/resources/mappings/generic/genericXpathTest.json");
+        MappingProfile profile = MappingProfile.of(mapSpec);
+        GenericDocumentTransformer transformer = new GenericDocumentTransformer();
+        transformer.setParallelism(4);
+        transformer.setProfile(profile);
+
+        try (InputStream testResource = Files
+            .newInputStream(Paths.get("src/test/resources/mappings/generic/generic.xml"))) {
+            // ACT
+            transformer.execute(testResource, mapSpec);
+        }
+
+        // ASSERT
+        // the submodels are inflated by the pool, the self time of each template is measured on its thread
+        MappingProfile.TemplateProfile root = profile.getRoot();
+        MappingProfile.TemplateProfile submodel = root.getChildren().stream()
+            .filter(child -> child.getPath().equals("/aasEnvironmentMapping/submodels/0")).findFirst().get();
+        MappingProfile.TemplateProfile property = submodel.getChildren().get(0);
+        for (MappingProfile.TemplateProfile templateProfile : List.of(root, submodel, property)) {
+            Assertions.assertTrue(templateProfile.getSelfMillis() > 0, templateProfile.getPath());
+            Assertions.assertTrue(templateProfile.getSelfMillis() <= templateProfile.getCumulativeMillis(),
+                templateProfile.getPath());
+        }
+        Assertions.assertTrue(submodel.getSelfMillis() + property.getCumulativeMillis()
+            <= submodel.getCumulativeMillis() + 0.001);
+    }
+
+    @Test
+    void testProfileCountsReusedTemplates() throws Exception {
+        // ARRANGE
+        MappingSpecification mapSpec = parser
+            .loadMappingSpecification("src/test/resources/mappings/generic/staticTemplatesTest.json");
+        MappingProfile profile = MappingProfile.of(mapSpec);
+        TemplateTransformer transformer = new TemplateTransformer();
+        transformer.setProfile(profile);
+
+        // ACT
+        transformer.transform(mapSpec, null, null);
+        transformer.transform(mapSpec, null, null);
+
+        // ASSERT
+        MappingProfile.TemplateProfile conceptDescription = profile.getRoot().getChildren().stream()
+            .filter(child -> child.getPath().equals("/aasEnvironmentMapping/conceptDescriptions/0")).findFirst()
+            .get();
+        Assertions.assertEquals(2, conceptDescription.getCalls());
+        Assertions.assertEquals(1, conceptDescription.getReused());
+        MappingProfile.TemplateProfile submodel = profile.getRoot().getChildren().stream()
+            .filter(child -> child.getPath().equals("/aasEnvironmentMapping/submodels/0")).findFirst().get();
+        MappingProfile.TemplateProfile property = submodel.getChildren().get(0);
+        // computed for the first of the three submodels only, then copied
+        Assertions.assertEquals(6, property.getCalls());
+        Assertions.assertEquals(5, property.getReused());
+        Assertions.assertEquals(0, submodel.getReused());
+        Assertions.assertTrue(profile.toJson().contains("\"reused\" : 5"));
+    }
+
+    private List<String> locations(MappingProfile.TemplateProfile templateProfile) {
+        List<String> locations = new ArrayList<>();
+        templateProfile.getExpressions().forEach(expression -> locations.add(expression.getLocation()));
+        return locations;
+    }
+
+    @Test
+    void testConcurrentTransformationKeepsTemplateOrder() throws Exception {
+        // ARRANGE
+        MappingSpecification mapSpec = parser
+            .loadMappingSpecification("src/test/resources/mappings/generic/genericXpathTest.json");
+        GenericDocumentTransformer sequentialTransformer = new GenericDocumentTransformer();
+        GenericDocumentTransformer concurrentTransformer = new GenericDocumentTransformer();
+        concurrentTransformer.setParallelism(4);
+
+        // ACT
+        AssetAdministrationShellEnvironment sequential;
+        try (InputStream testResource = Files
+            .newInputStream(Paths.get("src/test/resources/mappings/generic/generic.xml"))) {
+            sequential = sequentialTransformer.execute(testResource, mapSpec);
+        }
+        AssetAdministrationShellEnvironment concurrent;
+        try (InputStream testResource = Files
+            .newInputStream(Paths.get("src/test/resources/mappings/generic/generic.xml"))) {
+            concurrent = concurrentTransformer.execute(testResource, mapSpec);
+        }
+
+        // ASSERT
+        JsonSerializer serializer = new JsonSerializer();
+        Assertions.assertEquals(serializer.write(sequential), serializer.write(concurrent));
+    }
+
+    @Test
+    void testStaticTemplatesAreCopied() throws Exception {
+        // ARRANGE
+        MappingSpecification mapSpec = parser
+            .loadMappingSpecification("src/test/resources/mappings/generic/staticTemplatesTest.json");
+
+        // ACT
+        AssetAdministrationShellEnvironment first = aasMappingTransformer.transform(mapSpec, null, null);
+        AssetAdministrationShellEnvironment second = new TemplateTransformer().transform(mapSpec, null, null);
+
+        // ASSERT
+        // the concept description and the property in the @foreach submodel
+        Assertions.assertEquals(2, mapSpec.getStaticTemplates().size());
+        Assertions.assertEquals(3, first.getSubmodels().size());
+        Property property1 = (Property) first.getSubmodels().get(0).getSubmodelElements().get(0);
+        Property property2 = (Property) first.getSubmodels().get(1).getSubmodelElements().get(0);
+        Assertions.assertEquals("staticProperty", property1.getIdShort());
+        Assertions.assertEquals("static description", property1.getDescriptions().get(0).getValue());
+        Assertions.assertEquals(property1, property2);
+        Assertions.assertNotSame(property1, property2);
+        Assertions.assertNotSame(property1.getSemanticId(), property2.getSemanticId());
+        Assertions.assertNotSame(first.getConceptDescriptions().get(0), second.getConceptDescriptions().get(0));
+        JsonSerializer serializer = new JsonSerializer();
+        Assertions.assertEquals(serializer.write(first), serializer.write(second));
+    }
+
+    @Test
+    void testPlaceholderIndependentTemplatesAreReused() throws Exception {
+        // ARRANGE
+        MappingSpecification mapSpec = parser
+            .loadMappingSpecification("src/test/resources/mappings/generic/placeholderMatrixTest.json");
+        List<Map<String, String>> placeholderSets = List.of(Map.of("serialNumber", "1"),
+            Map.of("serialNumber", "2"), Map.of("serialNumber", "3"));
+
+        // ACT
+        List<AssetAdministrationShellEnvironment> results = new ArrayList<>();
+        try (InputStream testResource = Files
+            .newInputStream(Paths.get("src/test/resources/mappings/generic/generic.xml"))) {
+            new GenericDocumentTransformer().executeForPlaceholders(testResource, mapSpec,
+                placeholderSets.iterator(), results::add);
+        }
+
+        // ASSERT
+        // the @foreach submodel and the @foreach property of the serial number submodel
+        Assertions.assertEquals(2,
+            PlaceholderIndependentTemplates.of(mapSpec, Set.of("serialNumber")).size());
+        Assertions.assertEquals(3, results.size());
+        JsonSerializer serializer = new JsonSerializer();
+        for (int i = 0; i < placeholderSets.size(); i++) {
+            AssetAdministrationShellEnvironment expected;
+            try (InputStream testResource = Files
+                .newInputStream(Paths.get("src/test/resources/mappings/generic/generic.xml"))) {
+                expected = new GenericDocumentTransformer().execute(testResource, mapSpec, placeholderSets.get(i));
+            }
+            Assertions.assertEquals(serializer.write(expected), serializer.write(results.get(i)));
+        }
+        Assertions.assertEquals("serial_2", results.get(1).getSubmodels().get(2).getIdShort());
+        Assertions.assertNotSame(results.get(0).getSubmodels().get(0), results.get(1).getSubmodels().get(0));
+    }
+
+    @Test
+    void testNondeterministicTemplatesAreNotReused() throws Exception {
+        // ARRANGE
+        MappingSpecification mapSpec = parser
+            .loadMappingSpecification("src/test/resources/mappings/generic/placeholderNondeterministicTest.json");
+        List<Map<String, String>> placeholderSets = List.of(Map.of("serialNumber", "1"),
+            Map.of("serialNumber", "2"));
+
+        // ACT
+        List<AssetAdministrationShellEnvironment> results = new ArrayList<>();
+        try (InputStream testResource = Files
+            .newInputStream(Paths.get("src/test/resources/mappings/generic/generic.xml"))) {
+            new GenericDocumentTransformer().executeForPlaceholders(testResource, mapSpec,
+                placeholderSets.iterator(), results::add);
+        }
+
+        // ASSERT
+        // only the submodel with a seeded UUID
+        Assertions.assertEquals(1, PlaceholderIndependentTemplates.of(mapSpec, Set.of("serialNumber")).size());
+        Assertions.assertNotEquals(results.get(0).getSubmodels().get(0).getIdentification().getIdentifier(),
+            results.get(1).getSubmodels().get(0).getIdentification().getIdentifier());
+        Assertions.assertEquals(results.get(0).getSubmodels().get(1).getIdentification().getIdentifier(),
+            results.get(1).getSubmodels().get(1).getIdentification().getIdentifier());
+
+        // expressions which do not report their arguments are assumed to depend on the placeholders
+        Template seeded = (Template) mapSpec.getAasEnvironmentMapping().getSubmodels().get(1).getIdentification();
+        seeded.getBindSpecification().setBinding("id", ctx -> "custom");
+        Assertions.assertEquals(0, PlaceholderIndependentTemplates.of(mapSpec, Set.of("serialNumber")).size());
+    }
+
+    @Test
+    void testVarsEvaluation() throws IOException, SerializationException {
+        // ARRANGE
+        MappingSpecification mapSpec = parser
+            .loadMappingSpecification("src/test/resources/mappings/generic/variablesTest.json");
+
+        // ACT
+        AssetAdministrationShellEnvironment transform = aasMappingTransformer.transform(mapSpec, null, null);
+
+        // ASSERT
+        Submodel submodel = transform.getSubmodels().get(0);
+        String idShort = submodel.getIdShort();
+        Assertions.assertEquals("myvarforidshort", idShort);
+
+        Property property1 = (Property) transform.getSubmodels().get(0).getSubmodelElements().get(0);
+        Assertions.assertEquals("myoverriddenvarforidshort", property1.getIdShort());
+        Assertions.assertEquals("myvarforlateruse", property1.getValue());
+        Property property2 = (Property) transform.getSubmodels().get(0).getSubmodelElements().get(1);
+        Assertions.assertEquals("myoverriddenvarforidshort", property2.getIdShort());
+        Assertions.assertEquals("myvarforlateruse", property2.getValue());
+        Property property3 = (Property) transform.getSubmodels().get(0).getSubmodelElements().get(2);
+        Assertions.assertEquals("myoverriddenvarforidshort", property3.getIdShort());
+        Assertions.assertEquals("myvarforlateruse", property3.getValue());
+    }
+
+    @Test
+    void testDefinitionsVsVariablesTransformation() throws Exception {
+        // ARRANGE
+        MappingSpecification mapSpec = parser
+            .loadMappingSpecification("src/test/resources/mappings/generic/example_definitions_vs_vars.json");
+
+        Document testDoc = null;
+        try (InputStream testResource = Files
+            .newInputStream(Paths.get("src/test/resources/mappings/generic/generic.xml"))) {
+
+            SAXReader reader = new SAXReader();
+            reader.setEncoding("UTF-8");
+            reader.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            reader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            testDoc = reader.read(testResource);
+        }
+
+        XPathHelper.getInstance().setNamespaceBinding("ns", "http://ns.org/");
+        // ACT
+        AssetAdministrationShellEnvironment transform = aasMappingTransformer.transform(mapSpec, testDoc, null);
+
+        // ASSERT
+        Submodel submodel = transform.getSubmodels().get(0);
+        Assertions.assertNotNull(submodel);
+        // context is same, var and def evaluates as same
+        Assertions.assertEquals("a", submodel.getIdShort());// id => var
+        Assertions.assertEquals("a", submodel.getCategory());// category => def
+
+        // context now differs, var (transformed to idShort) is static and def
+        // reevaluates again, now to "b" since the context changed
+        SubmodelElement submodelElement = submodel.getSubmodelElements().get(0);
+        Assertions.assertEquals("a", submodelElement.getIdShort());// id => var
+        Assertions.assertEquals("b", submodelElement.getCategory());// category => def
+
+    }
+
+    @Test
+    void testBindingsNonStringValues() throws Exception {
+        // ARRANGE
+        MappingSpecification mapSpec = parser
+            .loadMappingSpecification("src/test/resources/mappings/generic/bindingsTest_nonStrings.json");
+
+        // ACT
+        AssetAdministrationShellEnvironment transform = aasMappingTransformer.transform(mapSpec, null, null);
+
+        // ASSERT
+        Submodel submodel = transform.getSubmodels().get(0);
+        SubmodelElementCollection smc = (SubmodelElementCollection) submodel.getSubmodelElements().get(0);
+        Assertions.assertTrue(smc.getOrdered());
+        Assertions.assertTrue(smc.getAllowDuplicates());
+
+    }
+
+}
@@ -0,0 +1,345 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.dom4j.Document;
+import org.eclipse.digitaltwin.aas4j.TestUtils;
+import org.eclipse.digitaltwin.aas4j.exceptions.TransformationException;
+import org.eclipse.digitaltwin.aas4j.exceptions.ValidationException;
+import org.eclipse.digitaltwin.aas4j.mapping.MappingSpecificationParser;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.transform.jfr.TemplateInflationEvent;
+import org.eclipse.digitaltwin.aas4j.transform.jfr.TransformationEvent;
+import org.eclipse.digitaltwin.aas4j.transform.jfr.XPathEvaluationEvent;
+import org.junit.Assert;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.adminshell.aas.v3.dataformat.json.JsonSerializer;
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+import io.adminshell.aas.v3.model.Identifiable;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GenericDocumentTransformerTest {
+
+    public static final String XML_INPUT = "src/test/resources/ua/aasfull.xml";
+    public static final String JSON_CONFIG = "src/test/resources/ua/genericSampleConfig.json";
+    public static final String SPARQL_XML_INPUT = "src/test/resources/xml/groupable.xml";
+    public static final String NESTED_FOR_EACH_JSON_CONFIG = "src/test/resources/mappings/generic/nestedForEach.json";
+    public static final String GENERIC_XML_INPUT = "src/test/resources/mappings/generic/generic.xml";
+    public static final String GENERIC_XPATH_JSON_CONFIG = "src/test/resources/mappings/generic/genericXpathTest.json";
+    public static final String PLACEHOLDER_MATRIX_JSON_CONFIG =
+        "src/test/resources/mappings/generic/placeholderMatrixTest.json";
+    public static final String STATIC_ONLY_JSON_CONFIG = "src/test/resources/mappings/generic/staticOnlyTest.json";
+
+
+    private InputStream testInputStream;
+
+    @BeforeAll
+    static void setUpBeforeClass() throws Exception {}
+
+    @AfterAll
+    static void tearDownAfterClass() throws Exception {}
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestUtils.resetBindings();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {}
+
+    @Test
+    void testNsBindings() throws TransformationException, IOException {
+        testInputStream = Files.newInputStream(Paths.get(XML_INPUT));
+        DocumentTransformer transformer = new GenericDocumentTransformer();
+
+        MappingSpecification mapping = new MappingSpecificationParser().loadMappingSpecification(JSON_CONFIG);
+
+        AssetAdministrationShellEnvironment transform = transformer.execute(testInputStream, mapping);
+        Assert.assertNotNull(transform);
+        Assert.assertEquals(71, transform.getSubmodels().size());
+    }
+
+    @Test
+    void testNestedForEach() throws IOException, TransformationException {
+        testInputStream = Files.newInputStream(Paths.get(SPARQL_XML_INPUT));
+        DocumentTransformer transformer = new GenericDocumentTransformer();
+
+        MappingSpecification mapping = new MappingSpecificationParser().loadMappingSpecification(NESTED_FOR_EACH_JSON_CONFIG);
+
+        AssetAdministrationShellEnvironment transform = transformer.execute(testInputStream, mapping);
+
+        assertEquals(2, transform.getSubmodels().size());
+        assertTrue(transform.getSubmodels().stream().anyMatch(sm -> sm.getIdShort().equals("131")));
+    }
+
+    @Test
+    void testExecuteWithSink() throws IOException, TransformationException {
+        testInputStream = Files.newInputStream(Paths.get(XML_INPUT));
+        DocumentTransformer transformer = new GenericDocumentTransformer();
+        transformer.setParallelism(4);
+
+        MappingSpecification mapping = new MappingSpecificationParser().loadMappingSpecification(JSON_CONFIG);
+
+        List<Identifiable> emitted = new ArrayList<>();
+        AssetAdministrationShellEnvironment transform = transformer.execute(testInputStream, mapping, null,
+            emitted::add);
+
+        assertEquals(71, emitted.size());
+        assertTrue(emitted.containsAll(transform.getSubmodels()));
+    }
+
+    @Test
+    void testExecuteStaticMappingWithSink() throws Exception {
+        MappingSpecification mapping = new MappingSpecificationParser().loadMappingSpecification(
+            STATIC_ONLY_JSON_CONFIG);
+        DocumentTransformer transformer = new GenericDocumentTransformer();
+
+        for (int run = 0; run < 2; run++) {
+            List<Identifiable> emitted = new ArrayList<>();
+            AssetAdministrationShellEnvironment transform;
+            try (InputStream inputStream = Files.newInputStream(Paths.get(GENERIC_XML_INPUT))) {
+                transform = transformer.execute(inputStream, mapping, null, emitted::add);
+            }
+
+            // the sink gets the returned copies, not the shared results of the static templates
+            assertEquals(2, emitted.size());
+            assertSame(transform.getConceptDescriptions().get(0), emitted.get(0));
+            assertSame(transform.getSubmodels().get(0), emitted.get(1));
+        }
+    }
+
+    @Test
+    void testExecuteWithSharedExecutor() throws Exception {
+        MappingSpecification mapping = new MappingSpecificationParser().loadMappingSpecification(JSON_CONFIG);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        AtomicInteger tasks = new AtomicInteger();
+        Executor executor = command -> {
+            tasks.incrementAndGet();
+            pool.execute(command);
+        };
+        try {
+            List<AssetAdministrationShellEnvironment> transforms = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                DocumentTransformer transformer = new GenericDocumentTransformer();
+                transformer.setExecutor(executor);
+                try (InputStream inputStream = Files.newInputStream(Paths.get(XML_INPUT))) {
+                    transforms.add(transformer.execute(inputStream, mapping));
+                }
+            }
+
+            assertTrue(tasks.get() > 0);
+            assertFalse(pool.isShutdown());
+            assertEquals(transforms.get(0).getSubmodels().size(), transforms.get(1).getSubmodels().size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testExecuteAll() throws Exception {
+        MappingSpecificationParser parser = new MappingSpecificationParser();
+        AssetAdministrationShellEnvironment expected;
+        try (InputStream inputStream = Files.newInputStream(Paths.get(XML_INPUT))) {
+            expected = new GenericDocumentTransformer().execute(inputStream,
+                parser.loadMappingSpecification(JSON_CONFIG));
+        }
+
+        testInputStream = Files.newInputStream(Paths.get(XML_INPUT));
+        List<MappingSpecification> mappings = List.of(parser.loadMappingSpecification(JSON_CONFIG),
+            parser.loadMappingSpecification(JSON_CONFIG), parser.loadMappingSpecification(JSON_CONFIG));
+        List<AssetAdministrationShellEnvironment> transforms = new GenericDocumentTransformer()
+            .executeAll(testInputStream, mappings, null);
+
+        assertEquals(3, transforms.size());
+        String expectedJson = new JsonSerializer().write(expected);
+        for (AssetAdministrationShellEnvironment transform : transforms) {
+            assertEquals(expectedJson, new JsonSerializer().write(transform));
+        }
+    }
+
+    @Test
+    void testExecuteAllWithConflictingNamespaces() throws Exception {
+        MappingSpecificationParser parser = new MappingSpecificationParser();
+        byte[] content = Files.readAllBytes(Paths.get(PLACEHOLDER_MATRIX_JSON_CONFIG));
+        MappingSpecification mapping = parser.loadMappingSpecification(content);
+        // the same prefix is bound to another namespace, so its XPaths select nothing
+        MappingSpecification otherMapping = parser.loadMappingSpecification(new String(content, StandardCharsets.UTF_8)
+            .replace("http://ns.org/", "http://other.org/").getBytes(StandardCharsets.UTF_8));
+
+        testInputStream = Files.newInputStream(Paths.get(GENERIC_XML_INPUT));
+        List<AssetAdministrationShellEnvironment> transforms = new GenericDocumentTransformer()
+            .executeAll(testInputStream, List.of(mapping, otherMapping), null);
+
+        assertEquals(3, transforms.get(0).getSubmodels().size());
+        assertEquals(7, transforms.get(0).getSubmodels().get(2).getSubmodelElements().size());
+        assertEquals(1, transforms.get(1).getSubmodels().size());
+        assertEquals(1, transforms.get(1).getSubmodels().get(0).getSubmodelElements().size());
+    }
+
+    @Test
+    void testTransformationListener() throws Exception {
+        DocumentTransformer transformer = new GenericDocumentTransformer();
+        LoggingTransformationListener listener = new LoggingTransformationListener();
+        transformer.addTransformationListener(listener);
+        MappingSpecification mapping = new MappingSpecificationParser()
+            .loadMappingSpecification(GENERIC_XPATH_JSON_CONFIG);
+
+        testInputStream = Files.newInputStream(Paths.get(GENERIC_XML_INPUT));
+        transformer.execute(testInputStream, mapping);
+
+        TransformationMetrics metrics = listener.getLastMetrics();
+        assertEquals(List.of(TransformationPhase.READ, TransformationPhase.VALIDATE,
+            TransformationPhase.AFTER_VALIDATION, TransformationPhase.TEMPLATE_TRANSFORMATION,
+            TransformationPhase.POST_PROCESSING),
+            metrics.getPhases().stream().map(PhaseMetrics::getPhase).collect(Collectors.toList()));
+        assertEquals(Files.size(Paths.get(GENERIC_XML_INPUT)), metrics.getInputBytes());
+        assertEquals(9, metrics.getDocumentElements());
+        // the environment, 2 submodels and 6 properties
+        assertEquals(9, metrics.getInflatedTemplates());
+        // 3 foreach expressions, 2 idShort bindings of the submodels and 2 bindings of each property
+        assertEquals(17, metrics.getEvaluatedExpressions());
+    }
+
+    @Test
+    void testTransformationListenerOnFailure() throws Exception {
+        ValidationException failure = new ValidationException("invalid");
+        DocumentTransformer transformer = new GenericDocumentTransformer() {
+            @Override
+            public void validateDocument(Document document) throws TransformationException {
+                throw failure;
+            }
+        };
+        List<Exception> failures = new ArrayList<>();
+        transformer.addTransformationListener(new TransformationListener() {
+            @Override
+            public void transformationCompleted(TransformationMetrics metrics) {}
+
+            @Override
+            public void transformationFailed(TransformationMetrics metrics, Exception exception) {
+                assertEquals(List.of(TransformationPhase.READ),
+                    metrics.getPhases().stream().map(PhaseMetrics::getPhase).collect(Collectors.toList()));
+                failures.add(exception);
+            }
+        });
+        MappingSpecification mapping = new MappingSpecificationParser()
+            .loadMappingSpecification(GENERIC_XPATH_JSON_CONFIG);
+
+        testInputStream = Files.newInputStream(Paths.get(GENERIC_XML_INPUT));
+        assertSame(failure, Assertions.assertThrows(TransformationException.class,
+            () -> transformer.execute(testInputStream, mapping)));
+        assertEquals(List.of(failure), failures);
+    }
+
+    @Test
+    void testFlightRecorderEvents() throws Exception {
+        DocumentTransformer transformer = new GenericDocumentTransformer();
+        MappingSpecification mapping = new MappingSpecificationParser()
+            .loadMappingSpecification(GENERIC_XPATH_JSON_CONFIG);
+        Path recordingFile = Files.createTempFile("transformation", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(TransformationEvent.class);
+            recording.enable(TemplateInflationEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(XPathEvaluationEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            testInputStream = Files.newInputStream(Paths.get(GENERIC_XML_INPUT));
+            transformer.execute(testInputStream, mapping);
+            recording.stop();
+            recording.dump(recordingFile);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+            List<RecordedEvent> transformations = events.stream()
+                .filter(event -> event.getEventType().getName().equals(TransformationEvent.NAME))
+                .collect(Collectors.toList());
+            assertEquals(1, transformations.size());
+            RecordedEvent transformation = transformations.get(0);
+            assertEquals(GenericDocumentTransformer.class.getName(), transformation.getString("transformer"));
+            assertEquals(Files.size(Paths.get(GENERIC_XML_INPUT)), transformation.getLong("inputBytes"));
+            assertTrue(transformation.getDuration("templateTransformationDuration").toNanos() > 0);
+            // the environment, the submodel template and the property template of each of the 2 submodels
+            List<RecordedEvent> inflations = events.stream()
+                .filter(event -> event.getEventType().getName().endsWith("TemplateInflation"))
+                .collect(Collectors.toList());
+            assertEquals(4, inflations.size());
+            // the environment, 2 submodels and 6 properties
+            assertEquals(9, inflations.stream().mapToInt(event -> event.getInt("instances")).sum());
+            assertTrue(events.stream().filter(event -> event.getEventType().getName().endsWith("XPathEvaluation"))
+                .anyMatch(event -> event.getString("expression") != null));
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+    }
+
+    @Test
+    void testPublish() throws Exception {
+        testInputStream = Files.newInputStream(Paths.get(XML_INPUT));
+        DocumentTransformer transformer = new GenericDocumentTransformer();
+
+        MappingSpecification mapping = new MappingSpecificationParser().loadMappingSpecification(JSON_CONFIG);
+
+        List<Identifiable> published = new ArrayList<>();
+        CompletableFuture<List<Identifiable>> completed = new CompletableFuture<>();
+        transformer.publish(testInputStream, mapping, null).subscribe(new Flow.Subscriber<Identifiable>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Identifiable item) {
+                published.add(item);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                completed.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.complete(published);
+            }
+        });
+
+        assertEquals(71, completed.get(30, TimeUnit.SECONDS).size());
+    }
+
+}
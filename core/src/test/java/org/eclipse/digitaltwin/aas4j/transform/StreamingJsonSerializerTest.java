@@ -0,0 +1,65 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.eclipse.digitaltwin.aas4j.TestUtils;
+import org.eclipse.digitaltwin.aas4j.mapping.MappingSpecificationParser;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.adminshell.aas.v3.dataformat.json.JsonSerializer;
+import io.adminshell.aas.v3.model.AssetAdministrationShellEnvironment;
+
+class StreamingJsonSerializerTest {
+
+    public static final String XML_INPUT = "src/test/resources/ua/aasfull.xml";
+    public static final String JSON_CONFIG = "src/test/resources/ua/genericSampleConfig.json";
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestUtils.resetBindings();
+    }
+
+    @Test
+    void testSameOutputAsJsonSerializer() throws Exception {
+        MappingSpecification mapping = new MappingSpecificationParser().loadMappingSpecification(JSON_CONFIG);
+        AssetAdministrationShellEnvironment shellEnv;
+        try (InputStream xmlInputStream = Files.newInputStream(Paths.get(XML_INPUT))) {
+            shellEnv = new GenericDocumentTransformer().execute(xmlInputStream, mapping);
+        }
+
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        new StreamingJsonSerializer().write(streamed, shellEnv);
+
+        assertEquals(new JsonSerializer().write(shellEnv), streamed.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExecuteWithOutputStream() throws Exception {
+        MappingSpecification mapping = new MappingSpecificationParser().loadMappingSpecification(JSON_CONFIG);
+        AssetAdministrationShellEnvironment shellEnv;
+        try (InputStream xmlInputStream = Files.newInputStream(Paths.get(XML_INPUT))) {
+            shellEnv = new GenericDocumentTransformer().execute(xmlInputStream, mapping);
+        }
+
+        TestUtils.resetBindings();
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        try (InputStream xmlInputStream = Files.newInputStream(Paths.get(XML_INPUT))) {
+            new GenericDocumentTransformer().execute(xmlInputStream, mapping, null, streamed);
+        }
+
+        assertEquals(new JsonSerializer().write(shellEnv), streamed.toString(StandardCharsets.UTF_8));
+    }
+}
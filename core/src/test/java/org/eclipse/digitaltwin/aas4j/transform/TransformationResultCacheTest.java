@@ -0,0 +1,159 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import org.dom4j.Document;
+import org.eclipse.digitaltwin.aas4j.TestUtils;
+import org.eclipse.digitaltwin.aas4j.mapping.MappingSpecificationParser;
+import org.eclipse.digitaltwin.aas4j.mapping.model.MappingSpecification;
+import org.eclipse.digitaltwin.aas4j.transform.postprocessor.InternEqualSubtrees;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransformationResultCacheTest {
+
+    private static final String MAPPING = "src/test/resources/mappings/generic/genericXpathTest.json";
+    private static final String RANDOM_MAPPING =
+        "src/test/resources/mappings/generic/placeholderNondeterministicTest.json";
+    private static final String INPUT = "src/test/resources/mappings/generic/generic.xml";
+
+    @TempDir
+    Path cacheDirectory;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestUtils.resetBindings();
+    }
+
+    @Test
+    void testKey() throws Exception {
+        MappingSpecification mapping = new MappingSpecificationParser().loadMappingSpecification(MAPPING);
+        byte[] input = Files.readAllBytes(Paths.get(INPUT));
+        GenericDocumentTransformer transformer = new GenericDocumentTransformer();
+
+        String key = TransformationResultCache.key(input, mapping, Map.of("a", "1", "b", "2"), transformer);
+
+        assertNotNull(mapping.getContentHash());
+        assertEquals(key, TransformationResultCache.key(input, new MappingSpecificationParser()
+            .loadMappingSpecification(MAPPING), Map.of("b", "2", "a", "1"), transformer));
+        assertNotEquals(key, TransformationResultCache.key(input, mapping, Map.of("a", "1", "b", "3"), transformer));
+        assertNotEquals(key, TransformationResultCache.key(input, mapping, Map.of("a", "1b", "", "2"), transformer));
+        assertNotEquals(key,
+            TransformationResultCache.key(new byte[] {1}, mapping, Map.of("a", "1", "b", "2"), transformer));
+        GenericDocumentTransformer postProcessingTransformer = new GenericDocumentTransformer();
+        postProcessingTransformer.addPostProcessor(new InternEqualSubtrees());
+        assertNotEquals(key,
+            TransformationResultCache.key(input, mapping, Map.of("a", "1", "b", "2"), postProcessingTransformer));
+    }
+
+    @Test
+    void testNondeterministicTransformationsAreNotCached() throws Exception {
+        MappingSpecificationParser parser = new MappingSpecificationParser();
+        MappingSpecification mapping = parser.loadMappingSpecification(MAPPING);
+        MappingSpecification randomMapping = parser.loadMappingSpecification(RANDOM_MAPPING);
+        byte[] input = Files.readAllBytes(Paths.get(INPUT));
+        GenericDocumentTransformer transformer = new GenericDocumentTransformer();
+        TransformationResultCache cache = new TransformationResultCache(cacheDirectory,
+            TransformationResultCache.DEFAULT_MAXIMUM_BYTES);
+        transformer.setResultCache(cache);
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        transformer.execute(new ByteArrayInputStream(input), randomMapping, null, first);
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        transformer.execute(new ByteArrayInputStream(input), randomMapping, null, second);
+
+        assertNotEquals(first.toString(StandardCharsets.UTF_8), second.toString(StandardCharsets.UTF_8));
+        assertEquals(0, cache.size());
+        assertTrue(TransformationResultCache.isCacheable(mapping, transformer));
+        assertFalse(TransformationResultCache.isCacheable(randomMapping, transformer));
+        transformer.addPostProcessor(environment -> environment.getSubmodels().clear());
+        assertFalse(TransformationResultCache.isCacheable(mapping, transformer));
+    }
+
+    @Test
+    void testExecuteUsesCache() throws Exception {
+        MappingSpecification mapping = new MappingSpecificationParser().loadMappingSpecification(MAPPING);
+        byte[] input = Files.readAllBytes(Paths.get(INPUT));
+        GenericDocumentTransformer transformer = Mockito.spy(new GenericDocumentTransformer());
+        TransformationResultCache cache = new TransformationResultCache(cacheDirectory,
+            TransformationResultCache.DEFAULT_MAXIMUM_BYTES);
+        transformer.setResultCache(cache);
+
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        transformer.execute(new ByteArrayInputStream(input), mapping, Map.of("genericPlaceholder", "1"), first);
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+        transformer.execute(new ByteArrayInputStream(input), mapping, Map.of("genericPlaceholder", "1"), second);
+        ByteArrayOutputStream other = new ByteArrayOutputStream();
+        transformer.execute(new ByteArrayInputStream(input), mapping, Map.of("genericPlaceholder", "2"), other);
+
+        assertArrayEquals(first.toByteArray(), second.toByteArray());
+        assertNotEquals(first.toString(StandardCharsets.UTF_8), other.toString(StandardCharsets.UTF_8));
+        // the cached request is neither parsed nor transformed
+        Mockito.verify(transformer, Mockito.times(2)).readXmlDocument(ArgumentMatchers.any());
+        Mockito.verify(transformer, Mockito.times(2)).afterValidation(ArgumentMatchers.any(Document.class),
+            ArgumentMatchers.any());
+        assertEquals(1, cache.getStats().hitCount());
+        assertEquals(2, cache.getStats().missCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntriesAreEvicted() throws Exception {
+        TransformationResultCache cache = new TransformationResultCache(cacheDirectory, 30);
+        cache.put("a", new byte[10]);
+        cache.put("b", new byte[10]);
+        cache.put("c", new byte[10]);
+        assertNotNull(cache.get("a"));
+
+        cache.put("d", new byte[10]);
+
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertNotNull(cache.get("d"));
+        assertEquals(30, cache.getTotalBytes());
+        assertEquals(1, cache.getStats().evictionCount());
+
+        // entries larger than the cache are not stored at all
+        cache.put("e", new byte[31]);
+        assertNull(cache.get("e"));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void testEntriesAreReloaded() throws Exception {
+        TransformationResultCache cache = new TransformationResultCache(cacheDirectory, 100);
+        cache.put("a", "{}".getBytes(StandardCharsets.UTF_8));
+
+        TransformationResultCache reloaded = new TransformationResultCache(cacheDirectory, 100);
+
+        assertEquals(1, reloaded.size());
+        assertArrayEquals("{}".getBytes(StandardCharsets.UTF_8), reloaded.get("a"));
+
+        reloaded.invalidateAll();
+        assertEquals(0, reloaded.size());
+        assertEquals(0, Files.list(cacheDirectory).count());
+    }
+}
@@ -0,0 +1,62 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.transform.postprocessor;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.adminshell.aas.v3.dataformat.json.JsonSerializer;
+import io.adminshell.aas.v3.model.KeyElements;
+import io.adminshell.aas.v3.model.KeyType;
+import io.adminshell.aas.v3.model.LangString;
+import io.adminshell.aas.v3.model.Property;
+import io.adminshell.aas.v3.model.Reference;
+import io.adminshell.aas.v3.model.impl.DefaultAssetAdministrationShellEnvironment;
+import io.adminshell.aas.v3.model.impl.DefaultKey;
+import io.adminshell.aas.v3.model.impl.DefaultProperty;
+import io.adminshell.aas.v3.model.impl.DefaultReference;
+import io.adminshell.aas.v3.model.impl.DefaultSubmodel;
+
+class InternEqualSubtreesTest {
+
+    @Test
+    void testAccept() throws Exception {
+        DefaultAssetAdministrationShellEnvironment env = new DefaultAssetAdministrationShellEnvironment();
+        DefaultSubmodel defaultSubmodel = new DefaultSubmodel();
+        defaultSubmodel.setSemanticId(createReference("mySemanticId"));
+        for (int i = 0; i < 3; i++) {
+            defaultSubmodel.getSubmodelElements().add(new DefaultProperty.Builder()
+                .idShort("property" + i)
+                .semanticId(createReference("mySemanticId"))
+                .description(new LangString("description", "en"))
+                .build());
+        }
+        env.getSubmodels().add(defaultSubmodel);
+        String expected = new JsonSerializer().write(env);
+
+        InternEqualSubtrees internEqualSubtrees = new InternEqualSubtrees();
+        internEqualSubtrees.accept(env);
+
+        // 3 references and 2 descriptions are replaced by the first equal instance
+        Assertions.assertEquals(5, internEqualSubtrees.getSavedInstances());
+        Reference semanticId = defaultSubmodel.getSemanticId();
+        List<Property> properties = List.of((Property) defaultSubmodel.getSubmodelElements().get(0),
+            (Property) defaultSubmodel.getSubmodelElements().get(1),
+            (Property) defaultSubmodel.getSubmodelElements().get(2));
+        properties.forEach(property -> Assertions.assertSame(semanticId, property.getSemanticId()));
+        properties.forEach(property -> Assertions.assertSame(properties.get(0).getDescriptions().get(0),
+            property.getDescriptions().get(0)));
+        Assertions.assertEquals(expected, new JsonSerializer().write(env));
+    }
+
+    private Reference createReference(String value) {
+        return new DefaultReference.Builder().key(new DefaultKey.Builder().idType(KeyType.IRI)
+            .type(KeyElements.GLOBAL_REFERENCE).value(value).build()).build();
+    }
+
+}
@@ -19,14 +19,20 @@ public class BrowsePathExpr implements Expression {
         this.args = args;
     }
 
+    @Override
+    public List<Expression> getArguments() {
+        return args;
+    }
+
     @Override
     public String evaluate(TransformationContext ctx) {
 
         // Node context is not relevant to Browsepath functionality
-        List<String> path = args.stream().map(arg -> arg.evaluate(ctx)).filter(val -> val instanceof String).map(val -> (String) val)
+        List<String> path = args.stream().map(arg -> TransformationContext.evaluateNested(arg, ctx))
+            .filter(val -> val instanceof String).map(val -> (String) val)
             .collect(Collectors.toList());
         String[] pathElems = new String[path.size()];
-        String nodeId = BrowsepathXPathBuilder.getInstance().getNodeIdFromBrowsePath(path.toArray(pathElems));
+        String nodeId = BrowsepathXPathBuilder.getInstanceFor(ctx.getContextItem()).getNodeIdFromBrowsePath(path.toArray(pathElems));
         if (!path.isEmpty() && nodeId != null) {
             return nodeId;
         } else {
@@ -22,17 +22,22 @@ public class UaChildrenExpr implements Expression {
         this.args = args;
     }
 
+    @Override
+    public List<Expression> getArguments() {
+        return args;
+    }
+
     @Override
     public List<Node> evaluate(TransformationContext ctx) {
         if (!(ctx.getContextItem() instanceof Node)) {
             throw new IllegalArgumentException("no Node Context is given.");
         }
-        List<String> path = args.stream().map(arg -> arg.evaluate(ctx))
+        List<String> path = args.stream().map(arg -> TransformationContext.evaluateNested(arg, ctx))
             .filter(val -> val instanceof String).map(val -> (String) val).collect(Collectors.toList());
         String[] pathElems = new String[path.size()];
-        Node uaNode = BrowsepathXPathBuilder.getInstance().getNodeFromBrowsePath(path.toArray(pathElems));
+        Node uaNode = BrowsepathXPathBuilder.getInstanceFor(ctx.getContextItem()).getNodeFromBrowsePath(path.toArray(pathElems));
         if (uaNode instanceof Element) {
-            return BrowsepathXPathBuilder.getInstance().getUaChildren((Element) uaNode);
+            return BrowsepathXPathBuilder.getInstanceFor(ctx.getContextItem()).getUaChildren((Element) uaNode);
         } else {
             throw new IllegalArgumentException(
                 "@uaBrowsePath should be array of path elements as String, and should match exactly one UaNode.");
@@ -0,0 +1,26 @@
+/* 
+  SPDX-FileCopyrightText: (C)2021 SAP SE or an affiliate company and aas-transformation-library contributors. All rights reserved. 
+
+  SPDX-License-Identifier: Apache-2.0 
+ */
+package org.eclipse.digitaltwin.aas4j.expressions;
+
+import java.util.List;
+
+/**
+ * Provides the OPC UA specific expressions.
+ */
+public class UaExpressionProvider implements ExpressionProvider {
+
+    @Override
+    public Expression createExpression(String symbol, List<Expression> args) {
+        switch (symbol) {
+            case "uaBrowsePath":
+                return new BrowsePathExpr(args);
+            case "uaChildren":
+                return new UaChildrenExpr(args);
+            default:
+                return null;
+        }
+    }
+}
@@ -7,6 +7,7 @@ package org.eclipse.digitaltwin.aas4j.ua.transform;
 
 import java.lang.invoke.MethodHandles;
 import java.util.*;
+import java.util.concurrent.ConcurrentMap;
 import java.util.stream.Collectors;
 
 import org.dom4j.Document;
@@ -17,6 +18,8 @@ import org.eclipse.digitaltwin.aas4j.transform.XPathHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.collect.MapMaker;
+
 public class BrowsepathXPathBuilder implements XPathBuilder {
 
     private final XPathHelper xpathHelper;
@@ -24,7 +27,9 @@ public class BrowsepathXPathBuilder implements XPathBuilder {
     private final Set<String> hierarchyReferences;
     private String hierarchyIsConstraint;
     private Document root;
-    private static BrowsepathXPathBuilder instance;
+    private static volatile BrowsepathXPathBuilder instance;
+    private static final ConcurrentMap<Document, BrowsepathXPathBuilder> INSTANCES = new MapMaker().weakKeys()
+        .makeMap();
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
     private BrowsepathXPathBuilder(Document root) {
@@ -46,11 +51,29 @@ public class BrowsepathXPathBuilder implements XPathBuilder {
             hierarchyIsConstraint += "@ReferenceType=\"" + ref + "\" or ";
         }
         hierarchyIsConstraint = hierarchyIsConstraint.substring(0, hierarchyIsConstraint.length() - 3) + ") and @IsForward= \"false\"";
-        instance = this;
     }
 
     static void updateInstance(Document doc) {
-        instance = new BrowsepathXPathBuilder(doc);
+        // a document which is transformed with several mappings is indexed only once
+        instance = INSTANCES.computeIfAbsent(doc, BrowsepathXPathBuilder::new);
+    }
+
+    /**
+     * Returns the builder of the NodeSet the context item belongs to, so that NodeSets can be
+     * transformed concurrently. Falls back to the builder of the most recently loaded NodeSet if the
+     * context item is not part of a loaded NodeSet.
+     *
+     * @param contextItem usually the context item of the current TransformationContext
+     * @return the builder for the NodeSet of the context item
+     */
+    public static BrowsepathXPathBuilder getInstanceFor(Object contextItem) {
+        if (contextItem instanceof Node && ((Node) contextItem).getDocument() != null) {
+            BrowsepathXPathBuilder builder = INSTANCES.get(((Node) contextItem).getDocument());
+            if (builder != null) {
+                return builder;
+            }
+        }
+        return getInstance();
     }
 
     public static BrowsepathXPathBuilder getInstance() {
@@ -27,15 +27,12 @@ public class UANodeSetTransformer extends DocumentTransformer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-    private SchemaValidator nodesetValidator;
-
-    public UANodeSetTransformer() {
-        this.nodesetValidator = new UANodeSetSchemaValidator();
-    }
+    // created on first validation, transformations of already validated documents do not need it
+    private volatile SchemaValidator nodesetValidator;
 
     @Override
     public void validateDocument(Document document) throws TransformationException {
-        this.nodesetValidator.validate(document);
+        getSchemaValidator().validate(document);
     }
 
     @Override
@@ -53,7 +50,13 @@ public class UANodeSetTransformer extends DocumentTransformer {
 
     @Override
     public SchemaValidator getSchemaValidator() {
-        return this.nodesetValidator;
+        SchemaValidator validator = this.nodesetValidator;
+        if (validator == null) {
+            // validators are stateless, so concurrent first calls may create one each
+            validator = new UANodeSetSchemaValidator();
+            this.nodesetValidator = validator;
+        }
+        return validator;
     }
 
     @Override
@@ -8,13 +8,12 @@ package org.eclipse.digitaltwin.aas4j.ua.transform.validation;
 import java.lang.invoke.MethodHandles;
 
 import javax.xml.XMLConstants;
-import javax.xml.validation.Schema;
-import javax.xml.validation.SchemaFactory;
 import javax.xml.validation.Validator;
 
 import org.dom4j.Document;
 import org.dom4j.io.DocumentSource;
 import org.eclipse.digitaltwin.aas4j.exceptions.UnableToReadXmlException;
+import org.eclipse.digitaltwin.aas4j.transform.jfr.SchemaValidationEvent;
 import org.eclipse.digitaltwin.aas4j.transform.validation.SchemaValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -35,16 +34,16 @@ public class UANodeSetSchemaValidator extends SchemaValidator {
             LOGGER.debug("Validating UA NodeSet input...");
         }
 
+        SchemaValidationEvent event = beginValidationEvent();
         try {
-            SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
-            Schema schema = factory.newSchema(getSchemaURL());
-
-            Validator validator = schema.newValidator();
+            Validator validator = getSchema().newValidator();
             // Prevent allowing external entities in untrusted documents to be processed
             validator.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
             validator.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
             validator.validate(new DocumentSource(document));
+            commitValidationEvent(event, true);
         } catch (Exception e) {
+            commitValidationEvent(event, false);
             throw new UnableToReadXmlException("Error during UA NodeSet validation", e);
         }
     }